@@ -0,0 +1,41 @@
+package com.weather.alert.cluster;
+
+import com.weather.common.model.MemberLease;
+import com.weather.common.model.WeatherReportChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+// Hands work for a location to the instance that owns it
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AlertClusterClient {
+    public static final String FORWARDED_HEADER = "X-Alert-Forwarded";
+
+    private final RestTemplate restTemplate;
+
+    // Tells the owner to re-read the alert from shared storage after it was created or changed here
+    public void syncAlert(MemberLease owner, String alertId) {
+        try {
+            restTemplate.postForLocation(owner.getUrl() + "/internal/alerts/{alertId}/sync", null, alertId);
+        } catch (Exception e) {
+            // Otherwise the owner only sees the change at its next rebalance
+            log.warn("Failed to sync alert {} to {}: {}", alertId, owner.getInstanceId(), e.getMessage());
+        }
+    }
+
+    public void forwardEvent(MemberLease owner, WeatherReportChange change) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FORWARDED_HEADER, "true");
+        try {
+            restTemplate.postForLocation(owner.getUrl() + "/internal/alerts/events", new HttpEntity<>(change, headers));
+        } catch (Exception e) {
+            log.warn("Failed to forward report change for {} to {}: {}",
+                    change.getCell(), owner.getInstanceId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.weather.alert.cluster;
+
+import com.weather.common.model.MemberLease;
+import com.weather.storage.service.LocalStorageService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Lease-based membership through the shared storage directory. Every instance renews its own
+// lease a few times per lease period and rebuilds the ring from the unexpired leases; an instance
+// that stops renewing drops out once its lease expires, one that shuts down cleanly leaves at once.
+@Component
+@Slf4j
+public class ClusterMembership {
+    private static final String GROUP = "alert-service";
+
+    private final LocalStorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String instanceId;
+    private final String url;
+    private final long leaseMillis;
+    private final int virtualNodes;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile ShardRing ring;
+    private volatile boolean started;
+
+    public ClusterMembership(
+            LocalStorageService storageService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${alert.cluster.instance-id:}") String instanceId,
+            @Value("${alert.cluster.advertise-url:http://localhost:${server.port:8083}}") String url,
+            @Value("${alert.cluster.lease-ms:15000}") long leaseMillis,
+            @Value("${alert.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.storageService = storageService;
+        this.eventPublisher = eventPublisher;
+        this.instanceId = instanceId.isEmpty() ? UUID.randomUUID().toString() : instanceId;
+        this.url = url;
+        this.leaseMillis = leaseMillis;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ShardRing(Collections.singletonList(self()), virtualNodes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        log.info("Joining alert cluster as {} at {}", instanceId, url);
+        heartbeat();
+        long interval = Math.max(1, leaseMillis / 3);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void leave() {
+        heartbeats.shutdownNow();
+        storageService.deleteMemberLease(GROUP, instanceId);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public ShardRing getRing() {
+        return ring;
+    }
+
+    // Alerts are sharded by location so each cell's weather is fetched by one instance only
+    public boolean owns(String cell) {
+        MemberLease owner = ring.ownerOf(cell);
+        return owner == null || instanceId.equals(owner.getInstanceId());
+    }
+
+    public MemberLease ownerOf(String cell) {
+        return ring.ownerOf(cell);
+    }
+
+    private void heartbeat() {
+        try {
+            storageService.saveMemberLease(self());
+            List<MemberLease> members = storageService.getMemberLeases(GROUP);
+            if (members.stream().noneMatch(member -> instanceId.equals(member.getInstanceId()))) {
+                members.add(self());
+            }
+            ShardRing next = new ShardRing(members, virtualNodes);
+            if (!started || !next.hasSameMembers(ring)) {
+                started = true;
+                ring = next;
+                log.info("Alert cluster members: {}", members.stream()
+                        .map(MemberLease::getInstanceId).sorted().collect(Collectors.toList()));
+                eventPublisher.publishEvent(new ShardRingChangedEvent(next));
+            }
+        } catch (Exception e) {
+            log.error("Alert cluster heartbeat failed", e);
+        }
+    }
+
+    private MemberLease self() {
+        return new MemberLease(GROUP, instanceId, url, System.currentTimeMillis() + leaseMillis);
+    }
+}
@@ -0,0 +1,70 @@
+package com.weather.alert.cluster;
+
+import com.weather.common.model.MemberLease;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Immutable consistent-hash ring over the live members. Each member owns many virtual points,
+// so a join or leave only moves about 1/n of the keys and load stays even.
+public final class ShardRing {
+    private final List<MemberLease> members;
+    private final TreeMap<Long, MemberLease> points = new TreeMap<>();
+
+    public ShardRing(List<MemberLease> members, int virtualNodes) {
+        List<MemberLease> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(MemberLease::getInstanceId));
+        this.members = Collections.unmodifiableList(sorted);
+        for (MemberLease member : sorted) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(member.getInstanceId() + "#" + i), member);
+            }
+        }
+    }
+
+    public List<MemberLease> getMembers() {
+        return members;
+    }
+
+    public MemberLease ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, MemberLease> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    // Same membership means the same ring, so changes in lease expiry alone don't rebalance
+    public boolean hasSameMembers(ShardRing other) {
+        if (other == null || other.members.size() != members.size()) {
+            return false;
+        }
+        for (int i = 0; i < members.size(); i++) {
+            if (!members.get(i).getInstanceId().equals(other.members.get(i).getInstanceId())
+                    || !members.get(i).getUrl().equals(other.members.get(i).getUrl())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a followed by a splitmix finalizer so similar keys spread around the ring
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash;
+    }
+}
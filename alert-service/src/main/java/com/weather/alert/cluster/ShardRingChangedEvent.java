@@ -0,0 +1,14 @@
+package com.weather.alert.cluster;
+
+// Published whenever the set of live alert-service instances changes
+public class ShardRingChangedEvent {
+    private final ShardRing ring;
+
+    public ShardRingChangedEvent(ShardRing ring) {
+        this.ring = ring;
+    }
+
+    public ShardRing getRing() {
+        return ring;
+    }
+}
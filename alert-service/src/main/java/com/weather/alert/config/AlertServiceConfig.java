@@ -1,19 +1,64 @@
 package com.weather.alert.config;
 
+import com.weather.common.geo.GeoGrid;
 import com.weather.storage.service.LocalStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class AlertServiceConfig {
+    @Value("${weather.geo.precision:5}")
+    private int geoPrecision;
+
+    @Value("${alert.check.parallelism:8}")
+    private int checkParallelism;
+
+    @Value("${alert.events.parallelism:4}")
+    private int eventParallelism;
+
+    @Value("${alert.check.timeout-ms:5000}")
+    private int checkTimeoutMillis;
+
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // Bounded so one slow location can't hold a fetch thread for the whole tick
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(checkTimeoutMillis);
+        requestFactory.setReadTimeout(checkTimeoutMillis);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        // Calls here only go to other backend services, so Smile goes ahead of JSON: request bodies
+        // are written as Smile and Accept lists it first. A peer without Smile still answers JSON.
+        restTemplate.getMessageConverters().removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+        restTemplate.getMessageConverters().add(0, new MappingJackson2SmileHttpMessageConverter());
+        return restTemplate;
+    }
+
+    // Pushed report changes and forwards to other instances
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService alertCheckExecutor() {
+        return Executors.newFixedThreadPool(eventParallelism);
+    }
+
+    // Polling ticks only, so pushed changes never queue ahead of a tick's locations
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService alertTickExecutor() {
+        return Executors.newFixedThreadPool(checkParallelism);
     }
 
     @Bean
     public LocalStorageService storageService() {
         return new LocalStorageService();
     }
+
+    @Bean
+    public GeoGrid geoGrid() {
+        return new GeoGrid(geoPrecision);
+    }
 }
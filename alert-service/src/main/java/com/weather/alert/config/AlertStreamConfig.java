@@ -0,0 +1,40 @@
+package com.weather.alert.config;
+
+import com.weather.alert.websocket.AlertStreamHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class AlertStreamConfig implements WebSocketConfigurer {
+    private final AlertStreamHandler alertStreamHandler;
+
+    @Value("${alert.websocket.max-text-message-bytes:8192}")
+    private int maxTextMessageBytes;
+
+    @Value("${alert.websocket.idle-timeout-ms:120000}")
+    private long idleTimeoutMillis;
+
+    // /api/alerts/ws is what the UI connects to through the gateway; /alerts/ws is the stripped route
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(alertStreamHandler, "/api/alerts/ws", "/alerts/ws").setAllowedOrigins("*");
+    }
+
+    // Small per-connection buffers keep memory flat with tens of thousands of subscribers
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxTextMessageBytes);
+        container.setMaxBinaryMessageBufferSize(maxTextMessageBytes);
+        container.setMaxSessionIdleTimeout(idleTimeoutMillis);
+        return container;
+    }
+}
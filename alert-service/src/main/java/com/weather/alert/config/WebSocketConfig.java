@@ -1,18 +1,57 @@
 package com.weather.alert.config;
 
+import com.weather.alert.websocket.StompSessionLimits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+// STOMP over SockJS at /weather-alerts, as before; raw WebSocket clients connect to
+// /weather-alerts/websocket. /topic/alerts carries every notification (alert.websocket.broadcast),
+// while /topic/alerts/{alertId} and /topic/locations/{cell} carry only matching ones, batched into
+// a JSON array per flush interval by StompTopicPublisher. StompSessionLimits bounds each session's
+// subscriptions and queued messages.
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final StompSessionLimits sessionLimits;
+
+    @Value("${alert.websocket.heartbeat-ms:25000}")
+    private long heartbeatMillis;
+
+    @Value("${alert.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${alert.websocket.send-buffer-limit-bytes:524288}")
+    private int sendBufferLimitBytes;
+
+    @Value("${alert.websocket.outbound-threads:8}")
+    private int outboundThreads;
+
+    @Value("${alert.websocket.outbound-queue:10000}")
+    private int outboundQueue;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] {heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -20,4 +59,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/weather-alerts").setAllowedOrigins("*").withSockJS();
     }
+
+    // Slow clients are cut off once a send stalls or their buffer fills instead of backing up
+    // the outbound channel for everyone
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferLimitBytes)
+                .addDecoratorFactory(sessionLimits);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(sessionLimits.inboundInterceptor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundThreads)
+                .maxPoolSize(outboundThreads)
+                .queueCapacity(outboundQueue);
+        registration.interceptors(sessionLimits.outboundInterceptor());
+    }
 }
@@ -1,7 +1,12 @@
 package com.weather.alert.controller;
 
 import com.weather.common.model.Alert;
+import com.weather.alert.cluster.ClusterMembership;
+import com.weather.alert.engine.AlertEvaluationEngine;
+import com.weather.alert.evaluation.AlertMatchIndex;
 import com.weather.alert.model.AlertRequest;
+import com.weather.alert.model.ClusterStatus;
+import com.weather.alert.model.EvaluationEngineStatus;
 import com.weather.alert.service.AlertService;
 import com.weather.storage.service.LocalStorageService;
 import com.weather.common.model.AlertNotification;
@@ -19,15 +24,22 @@ import java.util.List;
 public class AlertController {
     private final AlertService alertService;
     private final LocalStorageService storageService;
+    private final ClusterMembership membership;
+    private final AlertMatchIndex matchIndex;
+    private final AlertEvaluationEngine evaluationEngine;
 
     @PostMapping
     public ResponseEntity<Alert> createAlert(@RequestBody AlertRequest request) {
         try {
             Alert alert = alertService.createAlert(
                     request.getConditions(),
-                    request.getCombinator()
+                    request.getCombinator(),
+                    request.getLocation()
             );
             return ResponseEntity.ok(alert);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected alert: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error creating alert", e);
             return ResponseEntity.internalServerError().build();
@@ -68,4 +80,19 @@ public class AlertController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterStatus> getClusterStatus() {
+        return ResponseEntity.ok(ClusterStatus.builder()
+                .instanceId(membership.getInstanceId())
+                .members(membership.getRing().getMembers())
+                .ownedLocations(matchIndex.getCells().size())
+                .ownedAlerts(matchIndex.size())
+                .build());
+    }
+
+    @GetMapping("/engine")
+    public ResponseEntity<EvaluationEngineStatus> getEngineStatus() {
+        return ResponseEntity.ok(evaluationEngine.getStatus());
+    }
+}
@@ -0,0 +1,44 @@
+package com.weather.alert.controller;
+
+import com.weather.alert.cluster.AlertClusterClient;
+import com.weather.alert.service.AlertService;
+import com.weather.common.model.WeatherReportChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Service-to-service calls. Kept off /api/alerts, which the gateway routes publicly: anyone
+// reaching these could fire notifications with a made-up report.
+@RestController
+@RequestMapping("/internal/alerts")
+@Slf4j
+@RequiredArgsConstructor
+public class InternalAlertController {
+    private final AlertService alertService;
+
+    // Called by the report service whenever it stores a report
+    @PostMapping("/events")
+    public ResponseEntity<Void> onWeatherReportChanged(
+            @RequestBody WeatherReportChange change,
+            @RequestHeader(value = AlertClusterClient.FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        try {
+            alertService.onWeatherReportChanged(change, forwarded);
+            return ResponseEntity.accepted().build();
+        } catch (Exception e) {
+            log.error("Error handling report change", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/{alertId}/sync")
+    public ResponseEntity<Void> syncAlert(@PathVariable("alertId") String alertId) {
+        try {
+            alertService.syncAlert(alertId);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            log.error("Error syncing alert", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.weather.alert.engine;
+
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.metrics.AlertMeters;
+import com.weather.alert.model.EvaluationEngineStatus;
+import com.weather.alert.model.TickMetrics;
+import com.weather.alert.service.AlertService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs the polling ticks on its own scheduler thread. Each tick splits the owned locations into
+// chunks that run on the tick executor, and stops starting new locations once the tick deadline
+// passes. The next tick is only scheduled after the current one finishes, so ticks never overlap;
+// if a tick overran, the ticks it missed are coalesced into the next slot instead of run back to back.
+// Locations go least recently checked first, so under sustained overload the ones a tick didn't
+// reach lead the next one rather than missing every deadline. The tick executor is separate from
+// the push path's, so a burst of pushed changes can't use up a tick's deadline.
+@Component
+@Slf4j
+public class AlertEvaluationEngine {
+    private final AlertService alertService;
+    private final AlertMatchIndex matchIndex;
+    private final ExecutorService alertTickExecutor;
+    private final AlertMeters meters;
+    private final long intervalMillis;
+    private final long deadlineMillis;
+    private final int chunkSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alert-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong ticksCoalesced = new AtomicLong();
+    private final AtomicLong ticksTimedOut = new AtomicLong();
+    private final AtomicLong alertsEvaluated = new AtomicLong();
+    private final AtomicLong notifications = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> lastChecked = new ConcurrentHashMap<>();
+    private volatile TickMetrics lastTick;
+    private long scheduledAt;
+
+    public AlertEvaluationEngine(
+            AlertService alertService,
+            AlertMatchIndex matchIndex,
+            ExecutorService alertTickExecutor,
+            AlertMeters meters,
+            @Value("${alert.check.interval:60000}") long intervalMillis,
+            @Value("${alert.check.deadline-ms:0}") long deadlineMillis,
+            @Value("${alert.check.chunk-size:64}") int chunkSize) {
+        this.alertService = alertService;
+        this.matchIndex = matchIndex;
+        this.alertTickExecutor = alertTickExecutor;
+        this.meters = meters;
+        this.intervalMillis = intervalMillis;
+        // Leaves headroom before the next tick unless configured otherwise
+        this.deadlineMillis = deadlineMillis > 0 ? Math.min(deadlineMillis, intervalMillis) : intervalMillis * 8 / 10;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduledAt = System.currentTimeMillis() + intervalMillis;
+        scheduler.schedule(this::runTick, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public EvaluationEngineStatus getStatus() {
+        return EvaluationEngineStatus.builder()
+                .intervalMillis(intervalMillis)
+                .deadlineMillis(deadlineMillis)
+                .ticks(ticks.get())
+                .ticksCoalesced(ticksCoalesced.get())
+                .ticksTimedOut(ticksTimedOut.get())
+                .alertsEvaluated(alertsEvaluated.get())
+                .notifications(notifications.get())
+                .lastTick(lastTick)
+                .build();
+    }
+
+    private void runTick() {
+        try {
+            tick();
+        } catch (Exception e) {
+            log.error("Alert tick failed", e);
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    private void scheduleNext() {
+        long now = System.currentTimeMillis();
+        long next = scheduledAt + intervalMillis;
+        if (next <= now) {
+            long missed = (now - next) / intervalMillis + 1;
+            ticksCoalesced.addAndGet(missed);
+            next += missed * intervalMillis;
+            log.warn("Alert tick overran its interval, coalescing {} missed ticks", missed);
+        }
+        scheduledAt = next;
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::runTick, next - now, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void tick() throws InterruptedException {
+        long started = System.currentTimeMillis();
+        long deadline = started + deadlineMillis;
+        List<String> cells = leastRecentlyCheckedFirst();
+
+        AtomicInteger evaluated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong alerts = new AtomicLong();
+        AtomicLong notified = new AtomicLong();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < cells.size(); from += chunkSize) {
+            List<String> chunk = cells.subList(from, Math.min(cells.size(), from + chunkSize));
+            chunks.add(alertTickExecutor.submit(() -> {
+                for (String cell : chunk) {
+                    if (System.currentTimeMillis() >= deadline || Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    int sent = alertService.checkLocation(cell);
+                    lastChecked.put(cell, System.currentTimeMillis());
+                    if (sent < 0) {
+                        failed.incrementAndGet();
+                    } else {
+                        alerts.addAndGet(matchIndex.size(cell));
+                        notified.addAndGet(sent);
+                    }
+                    evaluated.incrementAndGet();
+                }
+            }));
+        }
+
+        boolean timedOut = false;
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | CancellationException e) {
+                timedOut = true;
+                chunk.cancel(true);
+            } catch (ExecutionException e) {
+                log.error("Alert tick chunk failed", e.getCause());
+            }
+        }
+        int reached = evaluated.get();
+        boolean incomplete = timedOut || reached < cells.size();
+        meters.tick(System.currentTimeMillis() - started, incomplete);
+        if (incomplete) {
+            ticksTimedOut.incrementAndGet();
+            log.warn("Alert tick deadline of {}ms passed with {} of {} locations checked",
+                    deadlineMillis, reached, cells.size());
+        }
+
+        ticks.incrementAndGet();
+        alertsEvaluated.addAndGet(alerts.get());
+        notifications.addAndGet(notified.get());
+        lastTick = TickMetrics.builder()
+                .tick(ticks.get())
+                .startedAt(Instant.ofEpochMilli(started))
+                .lagMillis(Math.max(0, started - scheduledAt))
+                .durationMillis(System.currentTimeMillis() - started)
+                .locations(cells.size())
+                .locationsEvaluated(reached - failed.get())
+                .locationsFailed(failed.get())
+                .locationsTimedOut(cells.size() - reached)
+                .alertsEvaluated(alerts.get())
+                .notifications(notified.get())
+                .build();
+        log.debug("Alert tick {}", lastTick);
+    }
+
+    private List<String> leastRecentlyCheckedFirst() {
+        Set<String> owned = matchIndex.getCells();
+        lastChecked.keySet().retainAll(owned);
+        List<String> cells = new ArrayList<>(owned);
+        // Never checked sorts first
+        cells.sort(Comparator.comparingLong(cell -> lastChecked.getOrDefault(cell, 0L)));
+        return cells;
+    }
+}
@@ -0,0 +1,115 @@
+package com.weather.alert.evaluation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Active alerts by grid cell. Changes rebuild only the affected cell's immutable index,
+// so matching never blocks on alert churn in other cells.
+@Component
+@Slf4j
+public class AlertMatchIndex {
+    // Guarded by this
+    private final Map<String, Map<String, CompiledAlert>> alertsByCell = new HashMap<>();
+    private final Map<String, String> cellByAlert = new HashMap<>();
+
+    private final Map<String, CellMatchIndex> cells = new ConcurrentHashMap<>();
+
+    public void add(CompiledAlert alert) {
+        addAll(Collections.singletonList(alert));
+    }
+
+    public synchronized void addAll(Collection<CompiledAlert> alerts) {
+        Set<String> touched = new HashSet<>();
+        for (CompiledAlert alert : alerts) {
+            String cell = alert.getAlert().getCell();
+            if (cell == null) {
+                log.debug("Not indexing alert {} without a location", alert.getId());
+                continue;
+            }
+            String previous = detach(alert.getId());
+            if (previous != null) {
+                touched.add(previous);
+            }
+            alertsByCell.computeIfAbsent(cell, key -> new LinkedHashMap<>()).put(alert.getId(), alert);
+            cellByAlert.put(alert.getId(), cell);
+            touched.add(cell);
+        }
+        touched.forEach(this::rebuild);
+    }
+
+    // Swaps the whole index for the given alerts, e.g. after the shard assignment changed
+    public synchronized void replaceAll(Collection<CompiledAlert> alerts) {
+        alertsByCell.clear();
+        cellByAlert.clear();
+        Set<String> previous = new HashSet<>(cells.keySet());
+        addAll(alerts);
+        previous.removeAll(alertsByCell.keySet());
+        previous.forEach(cells::remove);
+    }
+
+    public synchronized void remove(String alertId) {
+        String cell = detach(alertId);
+        if (cell != null) {
+            rebuild(cell);
+        }
+    }
+
+    public Set<String> getCells() {
+        return Collections.unmodifiableSet(cells.keySet());
+    }
+
+    public int size(String cell) {
+        CellMatchIndex index = cells.get(cell);
+        return index == null ? 0 : index.size();
+    }
+
+    public int size() {
+        return cells.values().stream().mapToInt(CellMatchIndex::size).sum();
+    }
+
+    public synchronized Optional<CompiledAlert> find(String alertId) {
+        String cell = cellByAlert.get(alertId);
+        return cell == null ? Optional.empty() : Optional.ofNullable(alertsByCell.get(cell).get(alertId));
+    }
+
+    // Alerts in the cell whose combined conditions hold for the snapshot's value vector
+    public List<CompiledAlert> match(String cell, double[] values) {
+        return match(cell, values, new ArrayList<>());
+    }
+
+    // Same, appended to the given list
+    public List<CompiledAlert> match(String cell, double[] values, List<CompiledAlert> matched) {
+        CellMatchIndex index = cells.get(cell);
+        return index == null ? matched : index.match(values, matched);
+    }
+
+    private String detach(String alertId) {
+        String cell = cellByAlert.remove(alertId);
+        if (cell != null) {
+            alertsByCell.get(cell).remove(alertId);
+        }
+        return cell;
+    }
+
+    private void rebuild(String cell) {
+        Map<String, CompiledAlert> alerts = alertsByCell.get(cell);
+        if (alerts == null || alerts.isEmpty()) {
+            alertsByCell.remove(cell);
+            cells.remove(cell);
+        } else {
+            cells.put(cell, new CellMatchIndex(alerts.values()));
+        }
+    }
+}
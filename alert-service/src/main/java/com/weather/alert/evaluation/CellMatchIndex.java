@@ -0,0 +1,283 @@
+package com.weather.alert.evaluation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Immutable matching structure for the alerts of one grid cell. One-sided conditions are kept
+// in a sorted threshold array per field and comparison, so the satisfied ones are a prefix or
+// suffix found by binary search. Between conditions are intervals sorted by lower bound with a
+// max-upper tree on top, so stabbing only descends into subtrees that hold a match. Each
+// satisfied condition bumps its alert's counter, which completes AND (all) or OR (one) alerts:
+// O(log n + k) per snapshot for k satisfied conditions.
+final class CellMatchIndex {
+    // Threshold buckets are indexed by field and operator; the BETWEEN bucket stays empty
+    private static final int OPERATORS = ComparisonOperator.values().length;
+
+    private final CompiledAlert[] alerts;
+    private final int[] alertRequired; // satisfied conditions needed: all for AND, one for OR
+    private final double[][] thresholds; // [bucket(field, operator)], ascending
+    private final int[][] thresholdAlerts; // parallel to thresholds
+    private final double[][] intervalLowers; // [field], ascending
+    private final double[][] intervalUppers;
+    private final int[][] intervalAlerts;
+    private final double[][] intervalMaxUppers; // [field], max upper per tree node
+
+    // Per-match scratch counters, reset lazily by generation so a match costs O(k) not O(n)
+    private final int[] alertGeneration;
+    private final int[] alertHits;
+    private int generation;
+
+    CellMatchIndex(Collection<CompiledAlert> compiledAlerts) {
+        alerts = compiledAlerts.toArray(new CompiledAlert[0]);
+        alertRequired = new int[alerts.length];
+
+        int[] thresholdCounts = new int[WeatherField.COUNT * OPERATORS];
+        int[] intervalCounts = new int[WeatherField.COUNT];
+        for (CompiledAlert alert : alerts) {
+            for (int i = 0; i < alert.getConditionCount(); i++) {
+                int field = alert.getField(i).ordinal();
+                if (alert.getOperator(i) == ComparisonOperator.BETWEEN) {
+                    intervalCounts[field]++;
+                } else {
+                    thresholdCounts[bucket(field, alert.getOperator(i))]++;
+                }
+            }
+        }
+
+        thresholds = new double[thresholdCounts.length][];
+        thresholdAlerts = new int[thresholdCounts.length][];
+        for (int bucket = 0; bucket < thresholdCounts.length; bucket++) {
+            thresholds[bucket] = new double[thresholdCounts[bucket]];
+            thresholdAlerts[bucket] = new int[thresholdCounts[bucket]];
+        }
+        intervalLowers = new double[WeatherField.COUNT][];
+        intervalUppers = new double[WeatherField.COUNT][];
+        intervalAlerts = new int[WeatherField.COUNT][];
+        intervalMaxUppers = new double[WeatherField.COUNT][];
+        for (int field = 0; field < WeatherField.COUNT; field++) {
+            intervalLowers[field] = new double[intervalCounts[field]];
+            intervalUppers[field] = new double[intervalCounts[field]];
+            intervalAlerts[field] = new int[intervalCounts[field]];
+        }
+
+        int[] thresholdsFilled = new int[thresholdCounts.length];
+        int[] intervalsFilled = new int[WeatherField.COUNT];
+        for (int a = 0; a < alerts.length; a++) {
+            CompiledAlert alert = alerts[a];
+            alertRequired[a] = alert.isRequireAll() ? alert.getConditionCount() : 1;
+            for (int i = 0; i < alert.getConditionCount(); i++) {
+                int field = alert.getField(i).ordinal();
+                if (alert.getOperator(i) == ComparisonOperator.BETWEEN) {
+                    int position = intervalsFilled[field]++;
+                    intervalLowers[field][position] = alert.getLowerThreshold(i);
+                    intervalUppers[field][position] = alert.getUpperThreshold(i);
+                    intervalAlerts[field][position] = a;
+                } else {
+                    int bucket = bucket(field, alert.getOperator(i));
+                    int position = thresholdsFilled[bucket]++;
+                    thresholds[bucket][position] = alert.getLowerThreshold(i);
+                    thresholdAlerts[bucket][position] = a;
+                }
+            }
+        }
+
+        for (int bucket = 0; bucket < thresholds.length; bucket++) {
+            sort(thresholds[bucket], thresholdAlerts[bucket], 0, thresholds[bucket].length - 1);
+        }
+        for (int field = 0; field < WeatherField.COUNT; field++) {
+            sortIntervals(field);
+        }
+
+        alertGeneration = new int[alerts.length];
+        alertHits = new int[alerts.length];
+    }
+
+    int size() {
+        return alerts.length;
+    }
+
+    // Appends to the caller's list, so evaluation can reuse one
+    synchronized List<CompiledAlert> match(double[] values, List<CompiledAlert> matched) {
+        if (++generation == 0) {
+            Arrays.fill(alertGeneration, 0);
+            generation = 1;
+        }
+        for (int field = 0; field < WeatherField.COUNT; field++) {
+            double value = values[field];
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            int greater = bucket(field, ComparisonOperator.GREATER_THAN);
+            hitRange(greater, 0, lowerBound(thresholds[greater], value), matched);
+            int greaterOrEqual = bucket(field, ComparisonOperator.GREATER_OR_EQUAL);
+            hitRange(greaterOrEqual, 0, upperBound(thresholds[greaterOrEqual], value), matched);
+            int less = bucket(field, ComparisonOperator.LESS_THAN);
+            hitRange(less, upperBound(thresholds[less], value), thresholds[less].length, matched);
+            int lessOrEqual = bucket(field, ComparisonOperator.LESS_OR_EQUAL);
+            hitRange(lessOrEqual, lowerBound(thresholds[lessOrEqual], value), thresholds[lessOrEqual].length, matched);
+            int equal = bucket(field, ComparisonOperator.EQUAL);
+            hitRange(equal,
+                    upperBound(thresholds[equal], value - ComparisonOperator.EQUALITY_TOLERANCE),
+                    lowerBound(thresholds[equal], value + ComparisonOperator.EQUALITY_TOLERANCE),
+                    matched);
+
+            int candidates = upperBound(intervalLowers[field], value);
+            if (candidates > 0) {
+                stab(field, 1, 0, intervalLowers[field].length - 1, candidates, value, matched);
+            }
+        }
+        return matched;
+    }
+
+    private void hitRange(int bucket, int from, int to, List<CompiledAlert> matched) {
+        int[] alertIds = thresholdAlerts[bucket];
+        for (int i = from; i < to; i++) {
+            hit(alertIds[i], matched);
+        }
+    }
+
+    // Reports intervals among the first `limit` (lower <= value) whose upper is >= value
+    private void stab(int field, int node, int from, int to, int limit, double value, List<CompiledAlert> matched) {
+        if (from >= limit || intervalMaxUppers[field][node] < value) {
+            return;
+        }
+        if (from == to) {
+            hit(intervalAlerts[field][from], matched);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        stab(field, 2 * node, from, mid, limit, value, matched);
+        stab(field, 2 * node + 1, mid + 1, to, limit, value, matched);
+    }
+
+    private void hit(int alert, List<CompiledAlert> matched) {
+        if (alertGeneration[alert] != generation) {
+            alertGeneration[alert] = generation;
+            alertHits[alert] = 0;
+        }
+        if (++alertHits[alert] == alertRequired[alert]) {
+            matched.add(alerts[alert]);
+        }
+    }
+
+    private void sortIntervals(int field) {
+        int size = intervalLowers[field].length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        double[] lowers = intervalLowers[field];
+        sort(lowers, order, 0, size - 1);
+        double[] uppers = new double[size];
+        int[] alertIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            uppers[i] = intervalUppers[field][order[i]];
+            alertIds[i] = intervalAlerts[field][order[i]];
+        }
+        intervalUppers[field] = uppers;
+        intervalAlerts[field] = alertIds;
+
+        double[] maxUppers = new double[Math.max(1, 4 * size)];
+        if (size > 0) {
+            buildMaxUppers(maxUppers, uppers, 1, 0, size - 1);
+        }
+        intervalMaxUppers[field] = maxUppers;
+    }
+
+    private static double buildMaxUppers(double[] tree, double[] uppers, int node, int from, int to) {
+        if (from == to) {
+            tree[node] = uppers[from];
+        } else {
+            int mid = (from + to) >>> 1;
+            tree[node] = Math.max(
+                    buildMaxUppers(tree, uppers, 2 * node, from, mid),
+                    buildMaxUppers(tree, uppers, 2 * node + 1, mid + 1, to));
+        }
+        return tree[node];
+    }
+
+    private static int bucket(int field, ComparisonOperator operator) {
+        return field * OPERATORS + operator.ordinal();
+    }
+
+    // First index whose threshold is >= value
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index whose threshold is > value
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Quicksort of keys carrying a parallel int array along
+    private static void sort(double[] keys, int[] values, int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                for (int i = low + 1; i <= high; i++) {
+                    double key = keys[i];
+                    int value = values[i];
+                    int j = i - 1;
+                    while (j >= low && keys[j] > key) {
+                        keys[j + 1] = keys[j];
+                        values[j + 1] = values[j];
+                        j--;
+                    }
+                    keys[j + 1] = key;
+                    values[j + 1] = value;
+                }
+                return;
+            }
+            double pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    int value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller side to bound stack depth
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+    }
+}
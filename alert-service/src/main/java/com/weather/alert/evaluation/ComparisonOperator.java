@@ -0,0 +1,35 @@
+package com.weather.alert.evaluation;
+
+public enum ComparisonOperator {
+    GREATER_THAN(">"),
+    GREATER_OR_EQUAL(">="),
+    LESS_THAN("<"),
+    LESS_OR_EQUAL("<="),
+    EQUAL("="),
+    BETWEEN("between"); // inclusive of both thresholds
+
+    // Values within this distance count as equal, matching the original "=" behaviour
+    public static final double EQUALITY_TOLERANCE = 0.01;
+
+    private final String symbol;
+
+    ComparisonOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public static ComparisonOperator fromSymbol(String symbol) {
+        if (symbol != null) {
+            String normalized = symbol.trim().toLowerCase();
+            for (ComparisonOperator operator : values()) {
+                if (operator.symbol.equals(normalized)) {
+                    return operator;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown alert operator: " + symbol);
+    }
+}
@@ -0,0 +1,167 @@
+package com.weather.alert.evaluation;
+
+import com.weather.common.model.Alert;
+import com.weather.common.model.Condition;
+
+import java.util.List;
+
+// An alert's conditions flattened into parallel arrays once, so a tick only does array
+// reads, an enum switch and double comparisons. Instances are immutable and shared across threads.
+public final class CompiledAlert {
+    private final Alert alert;
+    private final boolean requireAll;
+    private final int[] fields;
+    private final ComparisonOperator[] operators;
+    private final double[] lowerThresholds;
+    private final double[] upperThresholds;
+
+    private CompiledAlert(Alert alert, boolean requireAll, int[] fields, ComparisonOperator[] operators,
+                          double[] lowerThresholds, double[] upperThresholds) {
+        this.alert = alert;
+        this.requireAll = requireAll;
+        this.fields = fields;
+        this.operators = operators;
+        this.lowerThresholds = lowerThresholds;
+        this.upperThresholds = upperThresholds;
+    }
+
+    public static CompiledAlert compile(Alert alert) {
+        List<Condition> conditions = alert.getConditions();
+        if (conditions == null || conditions.isEmpty()) {
+            throw new IllegalArgumentException("Alert has no conditions");
+        }
+        int size = conditions.size();
+        int[] fields = new int[size];
+        ComparisonOperator[] operators = new ComparisonOperator[size];
+        double[] lower = new double[size];
+        double[] upper = new double[size];
+        for (int i = 0; i < size; i++) {
+            Condition condition = conditions.get(i);
+            ComparisonOperator operator = ComparisonOperator.fromSymbol(condition.getOperator());
+            fields[i] = WeatherField.fromParameter(condition.getParameter()).ordinal();
+            operators[i] = operator;
+            lower[i] = condition.getThreshold();
+            if (operator == ComparisonOperator.BETWEEN) {
+                if (condition.getUpperThreshold() == null || condition.getUpperThreshold() < condition.getThreshold()) {
+                    throw new IllegalArgumentException("between needs an upperThreshold of at least threshold");
+                }
+                upper[i] = condition.getUpperThreshold();
+            }
+        }
+        // Anything other than AND keeps the original OR behaviour
+        return new CompiledAlert(alert, "AND".equalsIgnoreCase(alert.getCombinator()),
+                fields, operators, lower, upper);
+    }
+
+    public Alert getAlert() {
+        return alert;
+    }
+
+    public String getId() {
+        return alert.getId();
+    }
+
+    public int getConditionCount() {
+        return fields.length;
+    }
+
+    public boolean isRequireAll() {
+        return requireAll;
+    }
+
+    public WeatherField getField(int condition) {
+        return WeatherField.values()[fields[condition]];
+    }
+
+    public ComparisonOperator getOperator(int condition) {
+        return operators[condition];
+    }
+
+    public double getLowerThreshold(int condition) {
+        return lowerThresholds[condition];
+    }
+
+    public double getUpperThreshold(int condition) {
+        return upperThresholds[condition];
+    }
+
+    // Short-circuits on the first failing AND condition or the first passing OR condition
+    public boolean matches(double[] values) {
+        for (int i = 0; i < fields.length; i++) {
+            if (test(i, values[fields[i]]) != requireAll) {
+                return !requireAll;
+            }
+        }
+        return requireAll;
+    }
+
+    public boolean test(int condition, double value) {
+        double lower = lowerThresholds[condition];
+        switch (operators[condition]) {
+            case GREATER_THAN:
+                return value > lower;
+            case GREATER_OR_EQUAL:
+                return value >= lower;
+            case LESS_THAN:
+                return value < lower;
+            case LESS_OR_EQUAL:
+                return value <= lower;
+            case EQUAL:
+                return Math.abs(value - lower) < ComparisonOperator.EQUALITY_TOLERANCE;
+            case BETWEEN:
+                return value >= lower && value <= upperThresholds[condition];
+            default:
+                return false;
+        }
+    }
+
+    // Like matches, with each threshold relaxed by the field's margin in the failing direction
+    public boolean matchesWithin(double[] values, double[] margins) {
+        for (int i = 0; i < fields.length; i++) {
+            if (testWithin(i, values[fields[i]], margins[fields[i]]) != requireAll) {
+                return !requireAll;
+            }
+        }
+        return requireAll;
+    }
+
+    private boolean testWithin(int condition, double value, double margin) {
+        double lower = lowerThresholds[condition];
+        switch (operators[condition]) {
+            case GREATER_THAN:
+                return value > lower - margin;
+            case GREATER_OR_EQUAL:
+                return value >= lower - margin;
+            case LESS_THAN:
+                return value < lower + margin;
+            case LESS_OR_EQUAL:
+                return value <= lower + margin;
+            case EQUAL:
+                return Math.abs(value - lower) < ComparisonOperator.EQUALITY_TOLERANCE + margin;
+            case BETWEEN:
+                return value >= lower - margin && value <= upperThresholds[condition] + margin;
+            default:
+                return false;
+        }
+    }
+
+    public String formatMessage(double[] values) {
+        StringBuilder message = new StringBuilder("Weather Alert: ");
+        String combinator = requireAll ? "AND" : "OR";
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                message.append(" ").append(combinator).append(" ");
+            }
+            ComparisonOperator operator = getOperator(i);
+            String threshold = operator == ComparisonOperator.BETWEEN
+                    ? String.format("%.1f and %.1f", lowerThresholds[i], upperThresholds[i])
+                    : String.format("%.1f", lowerThresholds[i]);
+            message.append(String.format("%s %s %s (Current value: %.1f)",
+                    getField(i).getParameter(),
+                    operator.getSymbol(),
+                    threshold,
+                    values[fields[i]]));
+        }
+        return message.toString();
+    }
+}
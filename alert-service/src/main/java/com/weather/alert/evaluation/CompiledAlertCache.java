@@ -0,0 +1,40 @@
+package com.weather.alert.evaluation;
+
+import com.weather.common.model.Alert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Alerts are compiled when created or first loaded from storage and reused on every tick
+@Component
+@Slf4j
+public class CompiledAlertCache {
+    private final Map<String, CompiledAlert> compiled = new ConcurrentHashMap<>();
+
+    public CompiledAlert compile(Alert alert) {
+        CompiledAlert compiledAlert = CompiledAlert.compile(alert);
+        compiled.put(alert.getId(), compiledAlert);
+        return compiledAlert;
+    }
+
+    // Stored alerts that no longer compile are skipped rather than failing the tick
+    public Optional<CompiledAlert> get(Alert alert) {
+        CompiledAlert cached = compiled.get(alert.getId());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            return Optional.of(compile(alert));
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping alert {} with invalid conditions: {}", alert.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void evict(String alertId) {
+        compiled.remove(alertId);
+    }
+}
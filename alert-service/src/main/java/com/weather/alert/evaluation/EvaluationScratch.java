@@ -0,0 +1,44 @@
+package com.weather.alert.evaluation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Per-thread buffers for one location's evaluation: the value vector, the matched alerts and the
+// alerts to notify. The tick and push executors are fixed pools, so each worker allocates these
+// once and every evaluation after that reuses them. Valid until the thread's next evaluation.
+public final class EvaluationScratch {
+    private static final ThreadLocal<EvaluationScratch> CURRENT = ThreadLocal.withInitial(EvaluationScratch::new);
+
+    private final double[] values = new double[WeatherField.COUNT];
+    private final List<CompiledAlert> matched = new ArrayList<>();
+    private final List<CompiledAlert> notify = new ArrayList<>();
+    private final Set<String> matchedIds = new HashSet<>();
+
+    private EvaluationScratch() {
+    }
+
+    public static EvaluationScratch current() {
+        return CURRENT.get();
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public List<CompiledAlert> matched() {
+        matched.clear();
+        return matched;
+    }
+
+    public List<CompiledAlert> toNotify() {
+        notify.clear();
+        return notify;
+    }
+
+    public Set<String> matchedIds() {
+        matchedIds.clear();
+        return matchedIds;
+    }
+}
@@ -0,0 +1,44 @@
+package com.weather.alert.evaluation;
+
+import com.weather.common.model.WeatherReport;
+
+// Alert parameters resolved to fixed slots of a value vector
+public enum WeatherField {
+    TEMPERATURE("temperature"),
+    PRECIPITATION("precipitation"),
+    WIND("wind"),
+    HUMIDITY("humidity");
+
+    public static final int COUNT = values().length;
+
+    private final String parameter;
+
+    WeatherField(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public static WeatherField fromParameter(String parameter) {
+        if (parameter != null) {
+            String normalized = parameter.trim().toLowerCase();
+            for (WeatherField field : values()) {
+                if (field.parameter.equals(normalized)) {
+                    return field;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown alert parameter: " + parameter);
+    }
+
+    // Fills a reusable vector indexed by ordinal so evaluation never touches the report again
+    public static double[] readInto(WeatherReport weather, double[] values) {
+        values[TEMPERATURE.ordinal()] = weather.getHighTemp();
+        values[PRECIPITATION.ordinal()] = weather.getPrecipitationChance();
+        values[WIND.ordinal()] = weather.getWindSpeed();
+        values[HUMIDITY.ordinal()] = weather.getHumidity();
+        return values;
+    }
+}
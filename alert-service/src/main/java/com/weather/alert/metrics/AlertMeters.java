@@ -0,0 +1,48 @@
+package com.weather.alert.metrics;
+
+import com.weather.common.metrics.ServiceMeters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Polling tick durations, alerts evaluated by path (rate() of the counter is alerts per second)
+// and notification sends by outcome
+@Component
+public class AlertMeters {
+    private final Timer ticksComplete;
+    private final Timer ticksTimedOut;
+    private final Counter polledAlerts;
+    private final Counter pushedAlerts;
+    private final Timer sent;
+    private final Timer failed;
+
+    public AlertMeters(MeterRegistry registry) {
+        ticksComplete = ServiceMeters.timer(registry, "weather.alert.tick",
+                "Polling ticks over every owned location", "outcome", "complete");
+        ticksTimedOut = ServiceMeters.timer(registry, "weather.alert.tick",
+                "Polling ticks over every owned location", "outcome", "timed_out");
+        polledAlerts = ServiceMeters.counter(registry, "weather.alert.evaluated",
+                "Alerts evaluated against a weather snapshot", "trigger", "poll");
+        pushedAlerts = ServiceMeters.counter(registry, "weather.alert.evaluated",
+                "Alerts evaluated against a weather snapshot", "trigger", "push");
+        sent = ServiceMeters.timer(registry, "weather.notification.send",
+                "Notifications published to STOMP topics and the alert stream", "outcome", "sent");
+        failed = ServiceMeters.timer(registry, "weather.notification.send",
+                "Notifications published to STOMP topics and the alert stream", "outcome", "failed");
+    }
+
+    public void tick(long millis, boolean timedOut) {
+        (timedOut ? ticksTimedOut : ticksComplete).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void evaluated(int alerts, boolean pushed) {
+        (pushed ? pushedAlerts : polledAlerts).increment(alerts);
+    }
+
+    public void notificationSent(long startedNanos, boolean success) {
+        (success ? sent : failed).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+}
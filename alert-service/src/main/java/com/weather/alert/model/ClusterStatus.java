@@ -0,0 +1,16 @@
+package com.weather.alert.model;
+
+import com.weather.common.model.MemberLease;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ClusterStatus {
+    private String instanceId;
+    private List<MemberLease> members;
+    private int ownedLocations;
+    private int ownedAlerts;
+}
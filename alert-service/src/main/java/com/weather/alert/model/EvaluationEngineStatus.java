@@ -0,0 +1,17 @@
+package com.weather.alert.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EvaluationEngineStatus {
+    private long intervalMillis;
+    private long deadlineMillis;
+    private long ticks;
+    private long ticksCoalesced; // scheduled ticks folded into a later one after an overrun
+    private long ticksTimedOut;
+    private long alertsEvaluated;
+    private long notifications;
+    private TickMetrics lastTick;
+}
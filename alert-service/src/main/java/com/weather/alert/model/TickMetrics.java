@@ -0,0 +1,21 @@
+package com.weather.alert.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class TickMetrics {
+    private long tick;
+    private Instant startedAt;
+    private long lagMillis; // how late the tick started against its schedule
+    private long durationMillis;
+    private int locations;
+    private int locationsEvaluated;
+    private int locationsFailed; // current weather could not be fetched
+    private int locationsTimedOut; // not reached before the tick deadline
+    private long alertsEvaluated;
+    private long notifications;
+}
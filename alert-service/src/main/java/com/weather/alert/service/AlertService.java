@@ -1,21 +1,37 @@
 package com.weather.alert.service;
 
+import com.weather.alert.cluster.AlertClusterClient;
+import com.weather.alert.cluster.ClusterMembership;
+import com.weather.alert.cluster.ShardRingChangedEvent;
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.evaluation.CompiledAlert;
+import com.weather.alert.evaluation.CompiledAlertCache;
+import com.weather.alert.evaluation.EvaluationScratch;
+import com.weather.alert.evaluation.WeatherField;
+import com.weather.alert.metrics.AlertMeters;
+import com.weather.alert.model.Location;
+import com.weather.alert.trigger.AlertTriggerTracker;
+import com.weather.common.geo.GeoGrid;
 import com.weather.common.model.Alert;
 import com.weather.common.model.AlertNotification;
 import com.weather.common.model.Condition;
 import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherReportChange;
 import com.weather.storage.service.LocalStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Slf4j
@@ -23,16 +39,50 @@ import java.util.stream.Collectors;
 public class AlertService {
     private final RestTemplate restTemplate;
     private final LocalStorageService storageService;
+    private final GeoGrid geoGrid;
+    private final CompiledAlertCache compiledAlerts;
+    private final ExecutorService alertCheckExecutor;
+    private final AlertMatchIndex matchIndex;
+    private final AlertTriggerTracker triggerTracker;
+    private final ClusterMembership membership;
+    private final AlertClusterClient clusterClient;
+    private final AlertMeters meters;
+
+    // Each instance indexes only the active alerts of the locations it owns on the ring. This runs
+    // when the instance joins and whenever membership changes, and is kept current between changes
+    // as alerts are created or updated.
+    @EventListener
+    public synchronized void onShardRingChanged(ShardRingChangedEvent event) {
+        List<CompiledAlert> owned = new ArrayList<>();
+        for (Alert alert : getActiveAlerts()) {
+            if (alert.getCell() != null && membership.owns(alert.getCell())) {
+                compiledAlerts.get(alert).ifPresent(owned::add);
+            }
+        }
+        matchIndex.replaceAll(owned);
+        triggerTracker.retainCells(matchIndex.getCells());
+        log.info("Indexed {} active alerts across {} locations owned by {} of {} instances",
+                matchIndex.size(), matchIndex.getCells().size(),
+                membership.getInstanceId(), event.getRing().getMembers().size());
+    }
 
-    public Alert createAlert(List<Condition> conditions, String combinator) {
+    public Alert createAlert(List<Condition> conditions, String combinator, Location location) {
         Alert alert = new Alert();
         alert.setId(UUID.randomUUID().toString());
         alert.setConditions(conditions);
         alert.setCombinator(combinator);
         alert.setActive(true);
         alert.setCreated(LocalDateTime.now());
+        if (location != null) {
+            alert.setLatitude(location.getLatitude());
+            alert.setLongitude(location.getLongitude());
+            alert.setCell(geoGrid.cellOf(location.getLatitude(), location.getLongitude()));
+        }
 
+        // Rejects unknown parameters or operators before anything is stored
+        compiledAlerts.compile(alert);
         storageService.saveAlert(alert);
+        routeAlert(alert);
         return alert;
     }
 
@@ -46,73 +96,106 @@ public class AlertService {
             Alert updatedAlert = alert.get();
             updatedAlert.setActive(active);
             storageService.saveAlert(updatedAlert);
+            routeAlert(updatedAlert);
         }
     }
 
-    @Scheduled(fixedRate = 60000) // Check every minute
-    public void checkAlertConditions() {
-        List<Alert> activeAlerts = getActiveAlerts();
+    // Called by the instance that stored an alert this instance owns
+    public void syncAlert(String alertId) {
+        storageService.getAlert(alertId).ifPresent(this::indexAlert);
+    }
 
-        for (Alert alert : activeAlerts) {
-            try {
-                WeatherReport currentWeather = getCurrentWeather();
-                if (currentWeather != null) {
-                    checkConditions(alert, currentWeather);
-                }
-            } catch (Exception e) {
-                log.error("Failed to check alert condition", e);
-            }
+    private void routeAlert(Alert alert) {
+        indexAlert(alert);
+        if (alert.getCell() != null && !membership.owns(alert.getCell())) {
+            clusterClient.syncAlert(membership.ownerOf(alert.getCell()), alert.getId());
         }
     }
 
-    private WeatherReport getCurrentWeather() {
-        try {
-            String url = "http://localhost:8081/api/weather/current";
-            return restTemplate.getForObject(url, WeatherReport.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch current weather", e);
-            return null;
+    // Holds the same lock as onShardRingChanged: a rescan that read the stored alerts just before
+    // this one was saved would otherwise replace the index without it
+    private synchronized void indexAlert(Alert alert) {
+        if (alert.isActive() && alert.getCell() != null && membership.owns(alert.getCell())) {
+            compiledAlerts.get(alert).ifPresent(matchIndex::add);
+        } else {
+            matchIndex.remove(alert.getId());
+            compiledAlerts.evict(alert.getId());
+            triggerTracker.forget(alert.getCell(), alert.getId());
         }
     }
 
-    private void checkConditions(Alert alert, WeatherReport weather) {
-        List<Boolean> conditionResults = alert.getConditions().stream()
-                .map(condition -> checkSingleCondition(condition, weather))
-                .collect(Collectors.toList());
+    // Push path: a report stored for today re-evaluates only that location's alerts, using the
+    // pushed report instead of fetching it again. Changes for locations owned by another instance
+    // are passed on to it once.
+    public boolean onWeatherReportChanged(WeatherReportChange change, boolean forwarded) {
+        if (change.getCell() != null && !forwarded && !membership.owns(change.getCell())) {
+            try {
+                alertCheckExecutor.execute(() ->
+                        clusterClient.forwardEvent(membership.ownerOf(change.getCell()), change));
+                return true;
+            } catch (RejectedExecutionException e) {
+                log.warn("Dropping report change for {}: check executor is shut down", change.getCell());
+                return false;
+            }
+        }
+        if (change.getReport() == null || !LocalDate.now().equals(change.getDate())
+                || !matchIndex.getCells().contains(change.getCell())) {
+            return false;
+        }
+        try {
+            alertCheckExecutor.execute(() -> evaluateLocation(change.getCell(), change.getReport(), true));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Dropping report change for {}: check executor is shut down", change.getCell());
+            return false;
+        }
+    }
 
-        boolean triggered = "AND".equals(alert.getCombinator())
-                ? conditionResults.stream().allMatch(result -> result)
-                : conditionResults.stream().anyMatch(result -> result);
+    // Polling fallback, driven by AlertEvaluationEngine: fetches the location's current weather once
+    // and evaluates its alerts. Returns the number of notifications sent, or -1 if the fetch failed.
+    public int checkLocation(String cell) {
+        WeatherReport currentWeather = getCurrentWeather(cell);
+        return currentWeather != null ? evaluateLocation(cell, currentWeather, false) : -1;
+    }
 
-        if (triggered) {
-            createNotification(alert, weather);
+    // Runs on the tick and push workers' scratch buffers, so matching allocates nothing per location
+    private int evaluateLocation(String cell, WeatherReport currentWeather, boolean pushed) {
+        EvaluationScratch scratch = EvaluationScratch.current();
+        double[] values = WeatherField.readInto(currentWeather, scratch.values());
+        List<CompiledAlert> matched = matchIndex.match(cell, values, scratch.matched());
+        meters.evaluated(matchIndex.size(cell), pushed);
+        List<CompiledAlert> notify = triggerTracker.update(cell, values, matched, scratch);
+        int notified = 0;
+        for (int i = 0; i < notify.size(); i++) {
+            CompiledAlert alert = notify.get(i);
+            try {
+                createNotification(alert, values);
+                notified++;
+            } catch (Exception e) {
+                log.error("Failed to notify alert {}", alert.getId(), e);
+            }
         }
+        return notified;
     }
 
-    private boolean checkSingleCondition(Condition condition, WeatherReport weather) {
-        double value = switch (condition.getParameter().toLowerCase()) {
-            case "temperature" -> weather.getHighTemp();
-            case "precipitation" -> weather.getPrecipitationChance();
-            case "wind" -> weather.getWindSpeed();
-            case "humidity" -> weather.getHumidity();
-            default -> 0.0;
-        };
-
-        return switch (condition.getOperator()) {
-            case ">" -> value > condition.getThreshold();
-            case "<" -> value < condition.getThreshold();
-            case "=" -> Math.abs(value - condition.getThreshold()) < 0.01;
-            default -> false;
-        };
+    private WeatherReport getCurrentWeather(String cell) {
+        try {
+            String url = "http://localhost:8081/api/weather/current?location={location}";
+            return restTemplate.getForObject(url, WeatherReport.class, cell);
+        } catch (Exception e) {
+            log.error("Failed to fetch current weather for {}", cell, e);
+            return null;
+        }
     }
 
     private final NotificationService notificationService;
 
-    private void createNotification(Alert alert, WeatherReport weather) {
+    private void createNotification(CompiledAlert alert, double[] values) {
         AlertNotification notification = AlertNotification.builder()
                 .id(UUID.randomUUID().toString())
                 .alertId(alert.getId())
-                .message(formatAlertMessage(alert, weather))
+                .cell(alert.getAlert().getCell())
+                .message(alert.formatMessage(values))
                 .timestamp(LocalDateTime.now())
                 .acknowledged(false)
                 .build();
@@ -121,27 +204,4 @@ public class AlertService {
 
         notificationService.sendWebSocketNotification(notification);
     }
-
-    private String formatAlertMessage(Alert alert, WeatherReport weather) {
-        StringBuilder message = new StringBuilder("Weather Alert: ");
-        for (int i = 0; i < alert.getConditions().size(); i++) {
-            Condition condition = alert.getConditions().get(i);
-            if (i > 0) {
-                message.append(" ").append(alert.getCombinator()).append(" ");
-            }
-            double currentValue = switch (condition.getParameter().toLowerCase()) {
-                case "temperature" -> weather.getHighTemp();
-                case "precipitation" -> weather.getPrecipitationChance();
-                case "wind" -> weather.getWindSpeed();
-                case "humidity" -> weather.getHumidity();
-                default -> 0.0;
-            };
-            message.append(String.format("%s %s %.1f (Current value: %.1f)",
-                    condition.getParameter(),
-                    condition.getOperator(),
-                    condition.getThreshold(),
-                    currentValue));
-        }
-        return message.toString();
-    }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package com.weather.alert.service;
 
+import com.weather.alert.metrics.AlertMeters;
+import com.weather.alert.websocket.AlertStreamHandler;
+import com.weather.alert.websocket.StompTopicPublisher;
 import com.weather.common.model.AlertNotification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -11,9 +15,30 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class NotificationService {
     private final SimpMessagingTemplate messagingTemplate;
+    private final AlertStreamHandler alertStreamHandler;
+    private final StompTopicPublisher topicPublisher;
+    private final AlertMeters meters;
 
+    @Value("${alert.websocket.broadcast:true}")
+    private boolean broadcast;
+
+    // Goes to the shared /topic/alerts feed and to clients subscribed to this alert or its location
     public void sendWebSocketNotification(AlertNotification notification) {
         log.info("Sending WebSocket notification: {}", notification.getMessage());
-        messagingTemplate.convertAndSend("/topic/alerts", notification);
+        long started = System.nanoTime();
+        boolean sent = false;
+        try {
+            if (broadcast) {
+                messagingTemplate.convertAndSend("/topic/alerts", notification);
+            }
+            topicPublisher.publish("/topic/alerts/" + notification.getAlertId(), notification);
+            if (notification.getCell() != null) {
+                topicPublisher.publish("/topic/locations/" + notification.getCell(), notification);
+            }
+            alertStreamHandler.publish(notification);
+            sent = true;
+        } finally {
+            meters.notificationSent(started, sent);
+        }
     }
 }
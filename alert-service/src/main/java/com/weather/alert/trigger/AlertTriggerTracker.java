@@ -0,0 +1,168 @@
+package com.weather.alert.trigger;
+
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.evaluation.CompiledAlert;
+import com.weather.alert.evaluation.EvaluationScratch;
+import com.weather.alert.evaluation.WeatherField;
+import com.weather.common.model.AlertTriggerState;
+import com.weather.storage.service.LocalStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Per-alert firing state. An alert notifies when it starts firing and then only again after
+// the re-notify interval while it keeps firing. It stops firing only once its conditions fail
+// by more than the hysteresis band, so readings hovering at a threshold don't flap.
+// A notification held back by the rate limiter stays pending and is retried next evaluation.
+// Notified state is saved per cell in shared storage and loaded when an instance first evaluates
+// a cell, so a cell moving to another instance doesn't repeat its rising edges.
+@Component
+@Slf4j
+public class AlertTriggerTracker {
+    private final NotificationRateLimiter rateLimiter;
+    private final LocalStorageService storageService;
+    private final AlertMatchIndex matchIndex;
+    private final long renotifyIntervalMillis;
+    private final double[] hysteresis = new double[WeatherField.COUNT];
+
+    // cell -> alert id -> state, for alerts currently firing
+    private final Map<String, Map<String, TriggerState>> firing = new ConcurrentHashMap<>();
+    private final Function<String, Map<String, TriggerState>> loader = this::load;
+
+    public AlertTriggerTracker(
+            NotificationRateLimiter rateLimiter,
+            LocalStorageService storageService,
+            AlertMatchIndex matchIndex,
+            @Value("${alert.notification.renotify-interval-ms:3600000}") long renotifyIntervalMillis,
+            @Value("${alert.notification.hysteresis.temperature:1.0}") double temperatureBand,
+            @Value("${alert.notification.hysteresis.precipitation:5.0}") double precipitationBand,
+            @Value("${alert.notification.hysteresis.wind:1.0}") double windBand,
+            @Value("${alert.notification.hysteresis.humidity:3.0}") double humidityBand) {
+        this.rateLimiter = rateLimiter;
+        this.storageService = storageService;
+        this.matchIndex = matchIndex;
+        this.renotifyIntervalMillis = renotifyIntervalMillis;
+        hysteresis[WeatherField.TEMPERATURE.ordinal()] = temperatureBand;
+        hysteresis[WeatherField.PRECIPITATION.ordinal()] = precipitationBand;
+        hysteresis[WeatherField.WIND.ordinal()] = windBand;
+        hysteresis[WeatherField.HUMIDITY.ordinal()] = humidityBand;
+    }
+
+    // Takes the alerts whose conditions hold for a cell's snapshot and returns those to notify now
+    public List<CompiledAlert> update(String cell, double[] values, List<CompiledAlert> matched) {
+        return update(cell, values, matched, new ArrayList<>(), new HashSet<>());
+    }
+
+    // Evaluation path: the returned list and the id set are the thread's scratch buffers
+    public List<CompiledAlert> update(String cell, double[] values, List<CompiledAlert> matched,
+                                      EvaluationScratch scratch) {
+        return update(cell, values, matched, scratch.toNotify(), scratch.matchedIds());
+    }
+
+    private List<CompiledAlert> update(String cell, double[] values, List<CompiledAlert> matched,
+                                       List<CompiledAlert> notify, Set<String> matchedIds) {
+        long now = System.currentTimeMillis();
+        Map<String, TriggerState> cellStates = firing.computeIfAbsent(cell, loader);
+
+        for (int i = 0; i < matched.size(); i++) {
+            CompiledAlert alert = matched.get(i);
+            matchedIds.add(alert.getId());
+            TriggerState state = cellStates.get(alert.getId());
+            if (state == null) {
+                TriggerState created = new TriggerState(alert, 0);
+                state = cellStates.putIfAbsent(alert.getId(), created);
+                if (state == null) {
+                    state = created;
+                }
+            }
+            synchronized (state) {
+                if (state.isDue(now, renotifyIntervalMillis) && rateLimiter.tryAcquire()) {
+                    state.notifiedAt = now;
+                    notify.add(alert);
+                }
+            }
+        }
+
+        // Firing alerts that no longer match keep firing while within the hysteresis band
+        boolean cleared = false;
+        for (Iterator<TriggerState> states = cellStates.values().iterator(); states.hasNext(); ) {
+            TriggerState state = states.next();
+            if (!matchedIds.contains(state.alert.getId()) && !state.alert.matchesWithin(values, hysteresis)) {
+                states.remove();
+                cleared |= state.notifiedAt != 0;
+            }
+        }
+        if (!notify.isEmpty() || cleared) {
+            save(cell, cellStates);
+        }
+        return notify;
+    }
+
+    // Drops state for locations this instance no longer evaluates; the saved state stays for the new owner
+    public void retainCells(Set<String> cells) {
+        firing.keySet().retainAll(cells);
+    }
+
+    public void forget(String cell, String alertId) {
+        if (cell != null) {
+            Map<String, TriggerState> cellStates = firing.get(cell);
+            if (cellStates != null && cellStates.remove(alertId) != null) {
+                save(cell, cellStates);
+            }
+        }
+    }
+
+    private Map<String, TriggerState> load(String cell) {
+        Map<String, TriggerState> cellStates = new ConcurrentHashMap<>();
+        AlertTriggerState saved = storageService.getAlertTriggerState(cell).orElse(null);
+        if (saved != null && saved.getNotifiedAt() != null) {
+            // Alerts deleted or deactivated since are no longer indexed and simply drop out
+            saved.getNotifiedAt().forEach((alertId, notifiedAt) -> matchIndex.find(alertId)
+                    .ifPresent(alert -> cellStates.put(alertId, new TriggerState(alert, notifiedAt))));
+        }
+        return cellStates;
+    }
+
+    // Pending alerts aren't saved; the next owner sees them match and treats them as new
+    private void save(String cell, Map<String, TriggerState> cellStates) {
+        Map<String, Long> notifiedAt = new HashMap<>();
+        for (TriggerState state : cellStates.values()) {
+            synchronized (state) {
+                if (state.notifiedAt != 0) {
+                    notifiedAt.put(state.alert.getId(), state.notifiedAt);
+                }
+            }
+        }
+        try {
+            storageService.saveAlertTriggerState(new AlertTriggerState(cell, notifiedAt));
+        } catch (RuntimeException e) {
+            log.warn("Failed to save trigger state for {}; another instance taking the cell over may notify again",
+                    cell);
+        }
+    }
+
+    private static final class TriggerState {
+        private final CompiledAlert alert;
+        private long notifiedAt; // 0 until the rising edge has actually been sent
+
+        private TriggerState(CompiledAlert alert, long notifiedAt) {
+            this.alert = alert;
+            this.notifiedAt = notifiedAt;
+        }
+
+        private boolean isDue(long now, long renotifyIntervalMillis) {
+            return notifiedAt == 0
+                    || (renotifyIntervalMillis > 0 && now - notifiedAt >= renotifyIntervalMillis);
+        }
+    }
+}
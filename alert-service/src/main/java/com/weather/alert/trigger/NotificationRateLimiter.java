@@ -0,0 +1,48 @@
+package com.weather.alert.trigger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Global token bucket on notification output so a storm across many alerts can't flood
+// storage and WebSocket clients
+@Component
+@Slf4j
+public class NotificationRateLimiter {
+    private final double tokensPerNano;
+    private final double burst;
+
+    private double tokens;
+    private long refilledAt;
+    private long suppressed;
+    private long suppressionLoggedAt;
+
+    public NotificationRateLimiter(
+            @Value("${alert.notification.rate-per-second:50}") double ratePerSecond,
+            @Value("${alert.notification.burst:200}") double burst) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+        this.suppressionLoggedAt = refilledAt;
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        suppressed++;
+        if (now - suppressionLoggedAt >= TimeUnit.SECONDS.toNanos(10)) {
+            log.warn("Notification rate limit hit, {} notifications deferred", suppressed);
+            suppressed = 0;
+            suppressionLoggedAt = now;
+        }
+        return false;
+    }
+}
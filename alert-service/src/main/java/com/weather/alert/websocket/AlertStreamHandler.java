@@ -0,0 +1,342 @@
+package com.weather.alert.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.AlertNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Plain WebSocket notification stream. Clients subscribe to alert ids and/or location cells,
+// either in the connect URL (?alerts=a,b&locations=gh-dr5re) or by sending
+// {"type":"subscribe"|"unsubscribe","alerts":[...],"locations":[...]}; a client with no
+// subscriptions gets every notification, which is what the existing UI expects.
+// Notifications are serialized once, queued per client up to a bound (oldest dropped first),
+// and flushed as one JSON array frame per client per flush interval. Sends go through a
+// ConcurrentWebSocketSessionDecorator so a slow client is dropped from or disconnected
+// according to the overflow policy instead of holding up the flush workers. Heartbeat pings take
+// the same per-client path, so the scheduler thread never writes to a socket itself, and a client
+// can hold at most max-subscriptions alert ids and cells.
+@Component
+@Slf4j
+public class AlertStreamHandler extends TextWebSocketHandler {
+    private final ObjectMapper objectMapper;
+    private final int queueLimit;
+    private final int maxSubscriptions;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferLimitBytes;
+    private final ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byAlert = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byLocation = new ConcurrentHashMap<>();
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> dirty = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService flushWorkers;
+    private final AtomicLong droppedNotifications = new AtomicLong();
+
+    public AlertStreamHandler(
+            ObjectMapper objectMapper,
+            @Value("${alert.websocket.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${alert.websocket.flush-threads:4}") int flushThreads,
+            @Value("${alert.websocket.queue-limit:256}") int queueLimit,
+            @Value("${alert.websocket.send-time-limit-ms:10000}") int sendTimeLimitMillis,
+            @Value("${alert.websocket.send-buffer-limit-bytes:524288}") int sendBufferLimitBytes,
+            @Value("${alert.websocket.overflow:terminate}") String overflow,
+            @Value("${alert.websocket.heartbeat-ms:25000}") long heartbeatMillis,
+            @Value("${alert.websocket.max-subscriptions:256}") int maxSubscriptions) {
+        this.objectMapper = objectMapper;
+        this.queueLimit = queueLimit;
+        this.maxSubscriptions = maxSubscriptions;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferLimitBytes = sendBufferLimitBytes;
+        this.overflowStrategy = "drop".equalsIgnoreCase(overflow)
+                ? ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP
+                : ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE;
+        this.flushWorkers = Executors.newFixedThreadPool(flushThreads);
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        flushScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+        flushWorkers.shutdownNow();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public void publish(AlertNotification notification) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize notification {}", notification.getId(), e);
+            return;
+        }
+        enqueueAll(unfiltered, json);
+        enqueueAll(byAlert.getOrDefault(notification.getAlertId(), Collections.emptySet()), json);
+        if (notification.getCell() != null) {
+            enqueueAll(byLocation.getOrDefault(notification.getCell(), Collections.emptySet()), json);
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Subscriber subscriber = new Subscriber(new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMillis, sendBufferLimitBytes, overflowStrategy));
+        subscribers.put(session.getId(), subscriber);
+        if (session.getUri() != null) {
+            Map<String, List<String>> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+            subscribe(subscriber, split(params.get("alerts")), split(params.get("locations")));
+        }
+        if (subscriber.isUnfiltered()) {
+            unfiltered.add(subscriber);
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Subscriber subscriber = subscribers.get(session.getId());
+        if (subscriber == null) {
+            return;
+        }
+        JsonNode request = objectMapper.readTree(message.getPayload());
+        List<String> alerts = values(request.get("alerts"));
+        List<String> locations = values(request.get("locations"));
+        if ("unsubscribe".equals(request.path("type").asText())) {
+            unsubscribe(subscriber, alerts, locations);
+        } else {
+            subscribe(subscriber, alerts, locations);
+        }
+        if (subscriber.isUnfiltered()) {
+            unfiltered.add(subscriber);
+        } else {
+            unfiltered.remove(subscriber);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket transport error for {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Subscriber subscriber = subscribers.remove(session.getId());
+        if (subscriber != null) {
+            unfiltered.remove(subscriber);
+            unsubscribe(subscriber, new ArrayList<>(subscriber.alerts), new ArrayList<>(subscriber.locations));
+        }
+    }
+
+    // Subscriptions past the per-client limit are ignored
+    private void subscribe(Subscriber subscriber, Collection<String> alerts, Collection<String> locations) {
+        int ignored = 0;
+        for (String alert : alerts) {
+            if (subscriber.alerts.contains(alert)) {
+                continue;
+            }
+            if (subscriber.subscriptionCount() >= maxSubscriptions) {
+                ignored++;
+            } else if (subscriber.alerts.add(alert)) {
+                byAlert.computeIfAbsent(alert, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            }
+        }
+        for (String location : locations) {
+            if (subscriber.locations.contains(location)) {
+                continue;
+            }
+            if (subscriber.subscriptionCount() >= maxSubscriptions) {
+                ignored++;
+            } else if (subscriber.locations.add(location)) {
+                byLocation.computeIfAbsent(location, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            }
+        }
+        if (ignored > 0) {
+            log.debug("Ignored {} subscriptions from {} over the limit of {}",
+                    ignored, subscriber.session.getId(), maxSubscriptions);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber, Collection<String> alerts, Collection<String> locations) {
+        for (String alert : alerts) {
+            subscriber.alerts.remove(alert);
+            removeFrom(byAlert, alert, subscriber);
+        }
+        for (String location : locations) {
+            subscriber.locations.remove(location);
+            removeFrom(byLocation, location, subscriber);
+        }
+    }
+
+    private void removeFrom(Map<String, Set<Subscriber>> topics, String topic, Subscriber subscriber) {
+        topics.computeIfPresent(topic, (key, members) -> {
+            members.remove(subscriber);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private void enqueueAll(Set<Subscriber> targets, String json) {
+        for (Subscriber subscriber : targets) {
+            subscriber.pending.add(json);
+            if (subscriber.size.incrementAndGet() > queueLimit && subscriber.pending.poll() != null) {
+                subscriber.size.decrementAndGet();
+                droppedNotifications.incrementAndGet();
+            }
+            if (subscriber.scheduled.compareAndSet(false, true)) {
+                dirty.add(subscriber);
+            }
+        }
+    }
+
+    private void flush() {
+        Subscriber subscriber;
+        while ((subscriber = dirty.poll()) != null) {
+            Subscriber target = subscriber;
+            try {
+                flushWorkers.execute(() -> send(target));
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+        long dropped = droppedNotifications.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped {} notifications for clients over the queue limit", dropped);
+        }
+    }
+
+    // Only one worker sends for a subscriber at a time: it stays scheduled until drained
+    private void send(Subscriber subscriber) {
+        try {
+            sendPending(subscriber);
+        } finally {
+            subscriber.scheduled.set(false);
+            if (!subscriber.pending.isEmpty() && subscriber.scheduled.compareAndSet(false, true)) {
+                dirty.add(subscriber);
+            }
+        }
+    }
+
+    private void sendPending(Subscriber subscriber) {
+        StringBuilder frame = new StringBuilder("[");
+        String json;
+        int count = 0;
+        while ((json = subscriber.pending.poll()) != null) {
+            subscriber.size.decrementAndGet();
+            if (count++ > 0) {
+                frame.append(',');
+            }
+            frame.append(json);
+        }
+        // Any frame keeps the connection alive, so a ping only goes out when there was nothing to send
+        boolean pingDue = subscriber.pingDue.getAndSet(false);
+        if (!subscriber.session.isOpen()) {
+            return;
+        }
+        if (count == 0) {
+            if (pingDue && subscriber.session.getBufferSize() == 0) {
+                sendPing(subscriber);
+            }
+            return;
+        }
+        try {
+            subscriber.session.sendMessage(new TextMessage(frame.append(']')));
+        } catch (Exception e) {
+            // The decorator has closed the session if the client overflowed its limits
+            log.debug("Failed to send to {}: {}", subscriber.session.getId(), e.getMessage());
+        }
+    }
+
+    // Only marks each client; the ping is sent by a flush worker on that client's next flush
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.pingDue.set(true);
+            if (subscriber.scheduled.compareAndSet(false, true)) {
+                dirty.add(subscriber);
+            }
+        }
+    }
+
+    private static void sendPing(Subscriber subscriber) {
+        try {
+            subscriber.session.sendMessage(new PingMessage(ByteBuffer.allocate(0)));
+        } catch (Exception e) {
+            log.debug("Heartbeat failed for {}: {}", subscriber.session.getId(), e.getMessage());
+        }
+    }
+
+    private static List<String> split(List<String> params) {
+        List<String> values = new ArrayList<>();
+        if (params != null) {
+            for (String param : params) {
+                Arrays.stream(param.split(",")).map(String::trim).filter(value -> !value.isEmpty()).forEach(values::add);
+            }
+        }
+        return values;
+    }
+
+    private static List<String> values(JsonNode node) {
+        List<String> values = new ArrayList<>();
+        if (node != null && node.isArray()) {
+            node.forEach(value -> values.add(value.asText()));
+        }
+        return values;
+    }
+
+    private static final class Subscriber {
+        private final ConcurrentWebSocketSessionDecorator session;
+        private final Set<String> alerts = ConcurrentHashMap.newKeySet();
+        private final Set<String> locations = ConcurrentHashMap.newKeySet();
+        private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean pingDue = new AtomicBoolean();
+
+        private Subscriber(ConcurrentWebSocketSessionDecorator session) {
+            this.session = session;
+        }
+
+        private boolean isUnfiltered() {
+            return alerts.isEmpty() && locations.isEmpty();
+        }
+
+        private int subscriptionCount() {
+            return alerts.size() + locations.size();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.weather.alert.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The STOMP side of the alert stream's per-client limits. A session can hold at most
+// max-subscriptions subscriptions; a SUBSCRIBE past that is answered with an ERROR frame. A session
+// can have at most queue-limit messages waiting on the outbound channel; past that the overflow
+// policy applies, dropping its newest messages or closing it. Sends that stall or overfill the socket
+// buffer are still cut off by the transport limits.
+@Component
+@Slf4j
+public class StompSessionLimits implements WebSocketHandlerDecoratorFactory {
+    private final int maxSubscriptions;
+    private final int queueLimit;
+    private final boolean terminate;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> queued = new ConcurrentHashMap<>();
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    public StompSessionLimits(
+            @Value("${alert.websocket.max-subscriptions:256}") int maxSubscriptions,
+            @Value("${alert.websocket.queue-limit:256}") int queueLimit,
+            @Value("${alert.websocket.overflow:terminate}") String overflow) {
+        this.maxSubscriptions = maxSubscriptions;
+        this.queueLimit = queueLimit;
+        this.terminate = !"drop".equalsIgnoreCase(overflow);
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    // Tracks open sessions so one over its limit can be closed, and forgets a session's counts on close
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                subscriptions.remove(session.getId());
+                queued.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public ChannelInterceptor inboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId == null) {
+                    return message;
+                }
+                if (type == SimpMessageType.SUBSCRIBE) {
+                    AtomicInteger count = subscriptions.computeIfAbsent(sessionId, key -> new AtomicInteger());
+                    if (count.incrementAndGet() > maxSubscriptions) {
+                        count.decrementAndGet();
+                        throw new MessageDeliveryException(message,
+                                "Subscription limit of " + maxSubscriptions + " reached");
+                    }
+                } else if (type == SimpMessageType.UNSUBSCRIBE) {
+                    AtomicInteger count = subscriptions.get(sessionId);
+                    if (count != null) {
+                        count.updateAndGet(value -> Math.max(0, value - 1));
+                    }
+                }
+                return message;
+            }
+        };
+    }
+
+    public ExecutorChannelInterceptor outboundInterceptor() {
+        return new ExecutorChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String sessionId = counted(message);
+                if (sessionId == null) {
+                    return message;
+                }
+                AtomicInteger count = queued.computeIfAbsent(sessionId, key -> new AtomicInteger());
+                if (count.incrementAndGet() <= queueLimit) {
+                    return message;
+                }
+                count.decrementAndGet();
+                droppedMessages.incrementAndGet();
+                if (terminate) {
+                    close(sessionId);
+                }
+                return null;
+            }
+
+            @Override
+            public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+                // Never queued, e.g. the outbound executor was full
+                if (!sent) {
+                    release(message);
+                }
+            }
+
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+                release(message);
+            }
+        };
+    }
+
+    private void release(Message<?> message) {
+        String sessionId = counted(message);
+        AtomicInteger count = sessionId != null ? queued.get(sessionId) : null;
+        if (count != null) {
+            count.updateAndGet(value -> Math.max(0, value - 1));
+        }
+    }
+
+    private void close(String sessionId) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null || !session.isOpen()) {
+            return;
+        }
+        log.debug("Closing STOMP session {} over the queue limit of {}", sessionId, queueLimit);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    // Only broker messages bound for a subscriber count against its queue
+    private static String counted(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+}
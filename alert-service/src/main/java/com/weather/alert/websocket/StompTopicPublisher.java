@@ -0,0 +1,114 @@
+package com.weather.alert.websocket;
+
+import com.weather.common.model.AlertNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Batches the per-alert and per-cell STOMP topics the way AlertStreamHandler batches its clients:
+// notifications are queued per destination up to queue-limit (oldest dropped first) and go out
+// as one message carrying a JSON array per destination per flush interval. Per-session limits
+// on what the broker then fans out are applied by StompSessionLimits.
+@Component
+@Slf4j
+public class StompTopicPublisher {
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int queueLimit;
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final Queue<Topic> dirty = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stomp-topic-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong droppedNotifications = new AtomicLong();
+
+    public StompTopicPublisher(
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${alert.websocket.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${alert.websocket.queue-limit:256}") int queueLimit) {
+        this.messagingTemplate = messagingTemplate;
+        this.queueLimit = queueLimit;
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+    }
+
+    public void publish(String destination, AlertNotification notification) {
+        Topic topic = topics.computeIfAbsent(destination, Topic::new);
+        topic.pending.add(notification);
+        if (topic.size.incrementAndGet() > queueLimit && topic.pending.poll() != null) {
+            topic.size.decrementAndGet();
+            droppedNotifications.incrementAndGet();
+        }
+        if (topic.scheduled.compareAndSet(false, true)) {
+            dirty.add(topic);
+        }
+    }
+
+    void flush() {
+        // Only what was dirty when the flush started, so a busy destination can't keep one flush going
+        for (int remaining = dirty.size(); remaining > 0; remaining--) {
+            Topic topic = dirty.poll();
+            if (topic == null) {
+                break;
+            }
+            List<AlertNotification> batch = new ArrayList<>();
+            AlertNotification notification;
+            while ((notification = topic.pending.poll()) != null) {
+                topic.size.decrementAndGet();
+                batch.add(notification);
+            }
+            topic.scheduled.set(false);
+            // Anything published during the drain goes out next flush; idle destinations don't linger
+            if (!topic.pending.isEmpty()) {
+                if (topic.scheduled.compareAndSet(false, true)) {
+                    dirty.add(topic);
+                }
+            } else {
+                topics.remove(topic.destination, topic);
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    messagingTemplate.convertAndSend(topic.destination, batch);
+                } catch (Exception e) {
+                    log.warn("Failed to publish {} notifications to {}: {}", batch.size(), topic.destination, e.getMessage());
+                }
+            }
+        }
+        long dropped = droppedNotifications.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped {} notifications for STOMP topics over the queue limit", dropped);
+        }
+    }
+
+    private static final class Topic {
+        private final String destination;
+        private final Queue<AlertNotification> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Topic(String destination) {
+            this.destination = destination;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.weather.alert.cluster;
+
+import com.weather.storage.service.LocalStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterMembershipTest {
+    private static final long LEASE_MILLIS = 300;
+
+    @TempDir
+    Path storageDir;
+
+    private final List<ClusterMembership> started = new ArrayList<>();
+
+    @AfterEach
+    void leaveAll() {
+        started.forEach(ClusterMembership::leave);
+    }
+
+    @Test
+    void instancesOnOneLeaseDirectorySplitEveryCellBetweenThem() throws InterruptedException {
+        List<ShardRingChangedEvent> eventsA = new CopyOnWriteArrayList<>();
+        ClusterMembership a = join("a", eventsA);
+        ClusterMembership b = join("b", new CopyOnWriteArrayList<>());
+
+        awaitTrue(() -> a.getRing().getMembers().size() == 2 && b.getRing().getMembers().size() == 2);
+        int ownedByA = 0;
+        for (int i = 0; i < 2000; i++) {
+            String cell = "gh-" + i;
+            assertTrue(a.owns(cell) ^ b.owns(cell), cell + " must have exactly one owner");
+            assertEquals(a.ownerOf(cell).getInstanceId(), b.ownerOf(cell).getInstanceId());
+            if (a.owns(cell)) {
+                ownedByA++;
+            }
+        }
+        assertTrue(ownedByA > 600 && ownedByA < 1400, ownedByA + " of 2000 cells owned by a");
+        assertEquals(2, eventsA.get(eventsA.size() - 1).getRing().getMembers().size());
+    }
+
+    @Test
+    void aMemberThatLeavesHandsEveryCellToTheOthers() throws InterruptedException {
+        ClusterMembership a = join("a", new CopyOnWriteArrayList<>());
+        ClusterMembership b = join("b", new CopyOnWriteArrayList<>());
+        awaitTrue(() -> a.getRing().getMembers().size() == 2 && b.getRing().getMembers().size() == 2);
+
+        b.leave();
+        started.remove(b);
+
+        awaitTrue(() -> a.getRing().getMembers().size() == 1);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(a.owns("gh-" + i));
+        }
+    }
+
+    @Test
+    void renewingLeasesDoesNotRebalance() throws InterruptedException {
+        List<ShardRingChangedEvent> events = new CopyOnWriteArrayList<>();
+        ClusterMembership a = join("a", events);
+        awaitTrue(() -> !events.isEmpty());
+
+        Thread.sleep(LEASE_MILLIS * 2);
+        assertEquals(1, events.size());
+        assertFalse(a.getRing().getMembers().isEmpty());
+    }
+
+    private ClusterMembership join(String id, List<ShardRingChangedEvent> events) {
+        ClusterMembership membership = new ClusterMembership(new LocalStorageService(storageDir),
+                event -> events.add((ShardRingChangedEvent) event), id, "http://" + id + ":8083", LEASE_MILLIS, 64);
+        membership.join();
+        started.add(membership);
+        return membership;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.weather.alert.cluster;
+
+import com.weather.common.model.MemberLease;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRingTest {
+    private static final int KEYS = 20_000;
+
+    @Test
+    void keysSpreadEvenlyAcrossMembers() {
+        ShardRing ring = new ShardRing(members("a", "b", "c", "d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("gh-" + i).getInstanceId(), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            // Within 25% of a perfect quarter
+            assertTrue(Math.abs(count - KEYS / 4) < KEYS / 16, counts.toString());
+        }
+    }
+
+    @Test
+    void aJoinOnlyMovesKeysToTheNewMember() {
+        ShardRing before = new ShardRing(members("a", "b", "c"), 128);
+        ShardRing after = new ShardRing(members("a", "b", "c", "d"), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String from = before.ownerOf("gh-" + i).getInstanceId();
+            String to = after.ownerOf("gh-" + i).getInstanceId();
+            if (!from.equals(to)) {
+                assertEquals("d", to);
+                moved++;
+            }
+        }
+        // About a quarter of the keys, not a reshuffle
+        assertTrue(moved > KEYS / 6 && moved < KEYS / 3, moved + " keys moved");
+    }
+
+    @Test
+    void ownershipDoesNotDependOnMemberOrder() {
+        List<MemberLease> members = members("a", "b", "c");
+        List<MemberLease> reversed = new ArrayList<>(members);
+        Collections.reverse(reversed);
+        ShardRing ring = new ShardRing(members, 64);
+        ShardRing other = new ShardRing(reversed, 64);
+
+        assertTrue(ring.hasSameMembers(other));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ring.ownerOf("gh-" + i).getInstanceId(), other.ownerOf("gh-" + i).getInstanceId());
+        }
+    }
+
+    @Test
+    void membershipComparisonIgnoresLeaseExpiry() {
+        ShardRing ring = new ShardRing(members("a", "b"), 8);
+        List<MemberLease> renewed = members("a", "b");
+        renewed.get(0).setExpiresAt(Long.MAX_VALUE);
+
+        assertTrue(ring.hasSameMembers(new ShardRing(renewed, 8)));
+        assertFalse(ring.hasSameMembers(new ShardRing(members("a"), 8)));
+        renewed.get(1).setUrl("http://elsewhere:8083");
+        assertFalse(ring.hasSameMembers(new ShardRing(renewed, 8)));
+        assertNull(new ShardRing(Collections.<MemberLease>emptyList(), 8).ownerOf("gh-1"));
+    }
+
+    private static List<MemberLease> members(String... ids) {
+        List<MemberLease> members = new ArrayList<>();
+        for (String id : Arrays.asList(ids)) {
+            members.add(new MemberLease("alert-service", id, "http://" + id + ":8083", 0));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,69 @@
+package com.weather.alert.engine;
+
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.metrics.AlertMeters;
+import com.weather.alert.service.AlertService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlertEvaluationEngineTest {
+    private static final List<String> CELLS = Arrays.asList("gh-a", "gh-b", "gh-c", "gh-d", "gh-e", "gh-f");
+
+    private final AlertService alertService = mock(AlertService.class);
+    private final AlertMatchIndex matchIndex = mock(AlertMatchIndex.class);
+    private final ExecutorService tickExecutor = Executors.newSingleThreadExecutor();
+    private final List<String> checked = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void shutdown() {
+        tickExecutor.shutdownNow();
+    }
+
+    @Test
+    void locationsATickDidNotReachGoFirstInTheNext() {
+        Set<String> owned = new LinkedHashSet<>(CELLS);
+        when(matchIndex.getCells()).thenReturn(owned);
+        when(alertService.checkLocation(anyString())).thenAnswer(invocation -> {
+            checked.add(invocation.getArgument(0));
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        });
+        // One location per chunk on one thread: 200ms each against a 500ms deadline reaches three
+        AlertEvaluationEngine engine = new AlertEvaluationEngine(alertService, matchIndex, tickExecutor,
+                new AlertMeters(new SimpleMeterRegistry()), 60_000, 500, 1);
+
+        ReflectionTestUtils.invokeMethod(engine, "tick");
+        List<String> first = new ArrayList<>(checked);
+        assertEquals(3, first.size());
+        assertEquals(1, engine.getStatus().getTicksTimedOut());
+
+        checked.clear();
+        ReflectionTestUtils.invokeMethod(engine, "tick");
+        List<String> second = new ArrayList<>(checked);
+
+        Set<String> skipped = new HashSet<>(CELLS);
+        skipped.removeAll(first);
+        assertEquals(skipped, new HashSet<>(second));
+    }
+}
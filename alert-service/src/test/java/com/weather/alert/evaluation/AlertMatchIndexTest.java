@@ -0,0 +1,127 @@
+package com.weather.alert.evaluation;
+
+import com.weather.common.model.Alert;
+import com.weather.common.model.Condition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.weather.alert.evaluation.CompiledAlertTest.alert;
+import static com.weather.alert.evaluation.CompiledAlertTest.between;
+import static com.weather.alert.evaluation.CompiledAlertTest.condition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertMatchIndexTest {
+    private static final String[] OPERATORS = {">", ">=", "<", "<=", "=", "between"};
+
+    @Test
+    void indexMatchesEvaluatingEveryAlert() {
+        Random random = new Random(17);
+        List<CompiledAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            alerts.add(randomAlert(random, "alert-" + i));
+        }
+        AlertMatchIndex index = new AlertMatchIndex();
+        index.addAll(alerts);
+
+        for (int snapshot = 0; snapshot < 2000; snapshot++) {
+            double[] values = new double[WeatherField.COUNT];
+            for (int field = 0; field < values.length; field++) {
+                // Whole numbers hit thresholds exactly, so inclusive and exclusive bounds both get exercised
+                values[field] = random.nextBoolean() ? random.nextInt(41) : random.nextDouble() * 40;
+            }
+            Set<String> expected = new HashSet<>();
+            for (CompiledAlert alert : alerts) {
+                if (alert.matches(values)) {
+                    expected.add(alert.getId());
+                }
+            }
+            assertEquals(expected, ids(index.match("gh-dr5ru", values)), Arrays.toString(values));
+        }
+    }
+
+    @Test
+    void removingAndReplacingRebuildsOnlyTheirCells() {
+        AlertMatchIndex index = new AlertMatchIndex();
+        CompiledAlert hot = compiled("hot", "gh-dr5ru", condition("temperature", ">", 30));
+        CompiledAlert cold = compiled("cold", "gh-9q8yy", condition("temperature", "<", 0));
+        index.addAll(Arrays.asList(hot, cold));
+        double[] values = CompiledAlertTest.values(WeatherField.TEMPERATURE.ordinal(), 35);
+
+        assertEquals(Collections.singleton("hot"), ids(index.match("gh-dr5ru", values)));
+        assertEquals(2, index.size());
+
+        // Moving an alert to another cell takes it out of the old one
+        index.add(compiled("hot", "gh-9q8yy", condition("temperature", ">", 30)));
+        assertTrue(index.match("gh-dr5ru", values).isEmpty());
+        assertEquals(Collections.singleton("hot"), ids(index.match("gh-9q8yy", values)));
+
+        index.remove("hot");
+        assertTrue(index.match("gh-9q8yy", values).isEmpty());
+        assertEquals(Collections.singleton("gh-9q8yy"), index.getCells());
+
+        index.replaceAll(Collections.singletonList(hot));
+        assertEquals(Collections.singleton("gh-dr5ru"), index.getCells());
+        assertEquals(0, index.size("gh-9q8yy"));
+    }
+
+    @Test
+    void scratchBuffersAreReusedAcrossEvaluations() {
+        AlertMatchIndex index = new AlertMatchIndex();
+        index.add(compiled("hot", "gh-dr5ru", condition("temperature", ">", 30)));
+        EvaluationScratch scratch = EvaluationScratch.current();
+
+        double[] values = scratch.values();
+        values[WeatherField.TEMPERATURE.ordinal()] = 35;
+        List<CompiledAlert> first = index.match("gh-dr5ru", values, scratch.matched());
+        assertEquals(Collections.singleton("hot"), ids(first));
+
+        values[WeatherField.TEMPERATURE.ordinal()] = 20;
+        List<CompiledAlert> second = index.match("gh-dr5ru", values, scratch.matched());
+        assertSame(first, second);
+        assertTrue(second.isEmpty());
+        assertSame(scratch, EvaluationScratch.current());
+    }
+
+    private static CompiledAlert randomAlert(Random random, String id) {
+        int conditions = 1 + random.nextInt(3);
+        Condition[] picked = new Condition[conditions];
+        for (int c = 0; c < conditions; c++) {
+            String parameter = WeatherField.values()[random.nextInt(WeatherField.COUNT)].getParameter();
+            String operator = OPERATORS[random.nextInt(OPERATORS.length)];
+            double threshold = random.nextInt(41);
+            picked[c] = operator.equals("between")
+                    ? between(parameter, threshold, threshold + random.nextInt(15))
+                    : condition(parameter, operator, threshold);
+        }
+        return compiled(id, "gh-dr5ru", random.nextBoolean() ? "AND" : "OR", picked);
+    }
+
+    private static CompiledAlert compiled(String id, String cell, Condition... conditions) {
+        return compiled(id, cell, "AND", conditions);
+    }
+
+    private static CompiledAlert compiled(String id, String cell, String combinator, Condition... conditions) {
+        Alert alert = alert(combinator, conditions);
+        alert.setId(id);
+        alert.setCell(cell);
+        return CompiledAlert.compile(alert);
+    }
+
+    private static Set<String> ids(List<CompiledAlert> alerts) {
+        Set<String> ids = new HashSet<>();
+        for (CompiledAlert alert : alerts) {
+            ids.add(alert.getId());
+        }
+        assertEquals(alerts.size(), ids.size(), "an alert matched twice");
+        return ids;
+    }
+}
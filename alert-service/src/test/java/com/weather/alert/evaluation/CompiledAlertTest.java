@@ -0,0 +1,135 @@
+package com.weather.alert.evaluation;
+
+import com.weather.common.model.Alert;
+import com.weather.common.model.Condition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledAlertTest {
+
+    @Test
+    void everyOperatorComparesAgainstItsThreshold() {
+        assertOperator(">", 30, new double[]{30.5}, new double[]{30, 29});
+        assertOperator(">=", 30, new double[]{30, 31}, new double[]{29.99});
+        assertOperator("<", 30, new double[]{29.5}, new double[]{30, 31});
+        assertOperator("<=", 30, new double[]{30, 29}, new double[]{30.01});
+        assertOperator("=", 30, new double[]{30, 30.005}, new double[]{30.02, 29.98});
+    }
+
+    @Test
+    void betweenIncludesBothBounds() {
+        CompiledAlert alert = CompiledAlert.compile(alert("OR", between("humidity", 40, 60)));
+        int humidity = WeatherField.HUMIDITY.ordinal();
+
+        assertTrue(alert.test(0, 40));
+        assertTrue(alert.test(0, 60));
+        assertFalse(alert.test(0, 39.9));
+        assertFalse(alert.test(0, 60.1));
+        assertEquals(ComparisonOperator.BETWEEN, alert.getOperator(0));
+        assertEquals(WeatherField.HUMIDITY, alert.getField(0));
+        assertTrue(alert.matches(values(humidity, 50)));
+    }
+
+    @Test
+    void andNeedsEveryConditionAndOrNeedsOne() {
+        Condition hot = condition("temperature", ">", 30);
+        Condition windy = condition("wind", ">=", 20);
+        CompiledAlert all = CompiledAlert.compile(alert("AND", hot, windy));
+        CompiledAlert any = CompiledAlert.compile(alert("or", hot, windy));
+        double[] hotOnly = new double[WeatherField.COUNT];
+        hotOnly[WeatherField.TEMPERATURE.ordinal()] = 35;
+        hotOnly[WeatherField.WIND.ordinal()] = 5;
+
+        assertTrue(all.isRequireAll());
+        assertFalse(all.matches(hotOnly));
+        assertTrue(any.matches(hotOnly));
+        hotOnly[WeatherField.WIND.ordinal()] = 25;
+        assertTrue(all.matches(hotOnly));
+    }
+
+    @Test
+    void marginsRelaxEachThresholdInItsFailingDirection() {
+        CompiledAlert above = CompiledAlert.compile(alert("AND", condition("temperature", ">", 30)));
+        CompiledAlert below = CompiledAlert.compile(alert("AND", condition("temperature", "<", 0)));
+        CompiledAlert range = CompiledAlert.compile(alert("AND", between("temperature", 10, 20)));
+        double[] margins = values(WeatherField.TEMPERATURE.ordinal(), 2);
+        int temperature = WeatherField.TEMPERATURE.ordinal();
+
+        assertFalse(above.matches(values(temperature, 29)));
+        assertTrue(above.matchesWithin(values(temperature, 29), margins));
+        assertFalse(above.matchesWithin(values(temperature, 28), margins));
+        assertTrue(below.matchesWithin(values(temperature, 1.5), margins));
+        assertTrue(range.matchesWithin(values(temperature, 21.5), margins));
+        assertFalse(range.matchesWithin(values(temperature, 7.5), margins));
+    }
+
+    @Test
+    void invalidConditionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledAlert.compile(alert("AND")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledAlert.compile(alert("AND", condition("pressure", ">", 1000))));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledAlert.compile(alert("AND", condition("temperature", "!=", 0))));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledAlert.compile(alert("AND", between("temperature", 20, 10))));
+    }
+
+    @Test
+    void messageListsEachCondition() {
+        CompiledAlert alert = CompiledAlert.compile(alert("AND",
+                condition("temperature", ">", 30), between("humidity", 40, 60)));
+        double[] values = new double[WeatherField.COUNT];
+        values[WeatherField.TEMPERATURE.ordinal()] = 31;
+        values[WeatherField.HUMIDITY.ordinal()] = 55;
+
+        assertEquals("Weather Alert: temperature > 30.0 (Current value: 31.0) AND "
+                + "humidity between 40.0 and 60.0 (Current value: 55.0)", alert.formatMessage(values));
+    }
+
+    private static void assertOperator(String operator, double threshold, double[] passing, double[] failing) {
+        CompiledAlert alert = CompiledAlert.compile(alert("AND", condition("wind", operator, threshold)));
+        int wind = WeatherField.WIND.ordinal();
+        for (double value : passing) {
+            assertTrue(alert.matches(values(wind, value)), value + " " + operator + " " + threshold);
+        }
+        for (double value : failing) {
+            assertFalse(alert.matches(values(wind, value)), value + " " + operator + " " + threshold);
+        }
+    }
+
+    static double[] values(int field, double value) {
+        double[] values = new double[WeatherField.COUNT];
+        values[field] = value;
+        return values;
+    }
+
+    static Alert alert(String combinator, Condition... conditions) {
+        Alert alert = new Alert();
+        alert.setId("alert-" + System.identityHashCode(conditions));
+        alert.setActive(true);
+        alert.setCombinator(combinator);
+        alert.setConditions(Arrays.asList(conditions));
+        alert.setCell("gh-dr5ru");
+        return alert;
+    }
+
+    static Condition condition(String parameter, String operator, double threshold) {
+        Condition condition = new Condition();
+        condition.setParameter(parameter);
+        condition.setOperator(operator);
+        condition.setThreshold(threshold);
+        return condition;
+    }
+
+    static Condition between(String parameter, double lower, double upper) {
+        Condition condition = condition(parameter, "between", lower);
+        condition.setUpperThreshold(upper);
+        return condition;
+    }
+}
@@ -0,0 +1,58 @@
+package com.weather.alert.service;
+
+import com.weather.alert.metrics.AlertMeters;
+import com.weather.alert.websocket.AlertStreamHandler;
+import com.weather.alert.websocket.StompTopicPublisher;
+import com.weather.common.model.AlertNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class NotificationServiceTest {
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final AlertStreamHandler streamHandler = mock(AlertStreamHandler.class);
+    private final StompTopicPublisher topicPublisher = mock(StompTopicPublisher.class);
+    private final NotificationService service = new NotificationService(
+            messagingTemplate, streamHandler, topicPublisher, new AlertMeters(new SimpleMeterRegistry()));
+
+    @Test
+    void broadcastKeepsTheSharedTopicAlongsideTheTargetedOnes() {
+        ReflectionTestUtils.setField(service, "broadcast", true);
+        AlertNotification notification = notification();
+
+        service.sendWebSocketNotification(notification);
+
+        verify(messagingTemplate).convertAndSend("/topic/alerts", notification);
+        verify(topicPublisher).publish("/topic/alerts/alert-1", notification);
+        verify(topicPublisher).publish("/topic/locations/gh-dr5ru", notification);
+        verify(streamHandler).publish(notification);
+    }
+
+    @Test
+    void sharedTopicCanBeTurnedOff() {
+        ReflectionTestUtils.setField(service, "broadcast", false);
+        AlertNotification notification = notification();
+
+        service.sendWebSocketNotification(notification);
+
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/alerts"), any(Object.class));
+        verify(topicPublisher).publish("/topic/alerts/alert-1", notification);
+        verify(streamHandler).publish(notification);
+    }
+
+    private static AlertNotification notification() {
+        return AlertNotification.builder()
+                .id("notification-1")
+                .alertId("alert-1")
+                .cell("gh-dr5ru")
+                .message("Weather Alert: temperature > 30.0 (Current value: 31.0)")
+                .build();
+    }
+}
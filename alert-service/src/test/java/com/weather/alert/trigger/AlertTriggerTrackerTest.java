@@ -0,0 +1,146 @@
+package com.weather.alert.trigger;
+
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.evaluation.CompiledAlert;
+import com.weather.alert.evaluation.WeatherField;
+import com.weather.common.model.Alert;
+import com.weather.common.model.Condition;
+import com.weather.storage.service.LocalStorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertTriggerTrackerTest {
+    private static final String CELL = "gh-dr5ru";
+
+    @TempDir
+    Path storageDir;
+
+    private LocalStorageService storageService;
+    private final CompiledAlert hot = hotAlert("hot", 30);
+
+    @Test
+    void notifiesOnTheRisingEdgeOnly() {
+        AlertTriggerTracker tracker = tracker(0, 1000);
+
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+        assertTrue(evaluate(tracker, hot, 32).isEmpty());
+        assertTrue(evaluate(tracker, hot, 33).isEmpty());
+    }
+
+    @Test
+    void readingsHoveringAtTheThresholdDoNotFlap() {
+        AlertTriggerTracker tracker = tracker(0, 1000);
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+
+        // Within the 1.0 temperature band below the threshold the alert keeps firing
+        assertTrue(evaluate(tracker, hot, 29.5).isEmpty());
+        assertTrue(evaluate(tracker, hot, 30.5).isEmpty());
+
+        // Beyond the band it clears, so the next crossing is a new rising edge
+        assertTrue(evaluate(tracker, hot, 28.5).isEmpty());
+        assertEquals(1, evaluate(tracker, hot, 30.5).size());
+    }
+
+    @Test
+    void renotifiesAfterTheIntervalWhileStillFiring() throws InterruptedException {
+        AlertTriggerTracker tracker = tracker(50, 1000);
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+        assertTrue(evaluate(tracker, hot, 31).isEmpty());
+
+        Thread.sleep(80);
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+    }
+
+    @Test
+    void rateLimitedNotificationsStayPendingUntilATokenIsFree() throws InterruptedException {
+        CompiledAlert other = hotAlert("other", 25);
+        AlertTriggerTracker tracker = new AlertTriggerTracker(new NotificationRateLimiter(50, 1), storage(),
+                index(hot, other), 0, 1, 5, 1, 3);
+
+        List<CompiledAlert> first = tracker.update(CELL, values(31), Arrays.asList(hot, other));
+        assertEquals(Collections.singletonList(hot), first);
+
+        // The second alert fired too but was held back; once a token is free it goes out as a rising edge
+        Thread.sleep(40);
+        assertEquals(Collections.singletonList(other), tracker.update(CELL, values(31), Arrays.asList(hot, other)));
+        assertTrue(tracker.update(CELL, values(31), Arrays.asList(hot, other)).isEmpty());
+    }
+
+    @Test
+    void forgottenAlertsStartOver() {
+        AlertTriggerTracker tracker = tracker(0, 1000);
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+
+        tracker.forget(CELL, "hot");
+        assertEquals(1, evaluate(tracker, hot, 31).size());
+    }
+
+    @Test
+    void anotherInstanceTakingTheCellOverCarriesOnFiring() {
+        AlertTriggerTracker previousOwner = tracker(0, 1000);
+        assertEquals(1, evaluate(previousOwner, hot, 31).size());
+        previousOwner.retainCells(Collections.<String>emptySet());
+
+        // Same shared storage, fresh in-memory state: the rising edge was already sent
+        AlertTriggerTracker nextOwner = tracker(0, 1000);
+        assertTrue(evaluate(nextOwner, hot, 31).isEmpty());
+        assertTrue(evaluate(nextOwner, hot, 29.5).isEmpty());
+
+        // Clearing is saved too, so the cell moving back starts from a clean edge
+        assertTrue(evaluate(nextOwner, hot, 25).isEmpty());
+        assertEquals(1, evaluate(tracker(0, 1000), hot, 31).size());
+    }
+
+    private AlertTriggerTracker tracker(long renotifyMillis, double ratePerSecond) {
+        return new AlertTriggerTracker(new NotificationRateLimiter(ratePerSecond, ratePerSecond), storage(),
+                index(hot), renotifyMillis, 1.0, 5.0, 1.0, 3.0);
+    }
+
+    private LocalStorageService storage() {
+        if (storageService == null) {
+            storageService = new LocalStorageService(storageDir);
+        }
+        return storageService;
+    }
+
+    private static AlertMatchIndex index(CompiledAlert... alerts) {
+        AlertMatchIndex index = new AlertMatchIndex();
+        index.addAll(Arrays.asList(alerts));
+        return index;
+    }
+
+    // Matches the way the engine calls the tracker: matched alerts for the snapshot, then the update
+    private static List<CompiledAlert> evaluate(AlertTriggerTracker tracker, CompiledAlert alert, double temperature) {
+        double[] values = values(temperature);
+        return tracker.update(CELL, values,
+                alert.matches(values) ? Collections.singletonList(alert) : Collections.<CompiledAlert>emptyList());
+    }
+
+    private static double[] values(double temperature) {
+        double[] values = new double[WeatherField.COUNT];
+        values[WeatherField.TEMPERATURE.ordinal()] = temperature;
+        return values;
+    }
+
+    private static CompiledAlert hotAlert(String id, double threshold) {
+        Condition condition = new Condition();
+        condition.setParameter("temperature");
+        condition.setOperator(">");
+        condition.setThreshold(threshold);
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setActive(true);
+        alert.setCombinator("AND");
+        alert.setConditions(Collections.singletonList(condition));
+        alert.setCell(CELL);
+        return CompiledAlert.compile(alert);
+    }
+}
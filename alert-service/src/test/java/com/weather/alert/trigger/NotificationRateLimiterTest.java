@@ -0,0 +1,44 @@
+package com.weather.alert.trigger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationRateLimiterTest {
+
+    @Test
+    void burstIsAvailableUpFrontThenTheBucketIsEmpty() {
+        NotificationRateLimiter limiter = new NotificationRateLimiter(0.001, 5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(), "token " + i);
+        }
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void tokensRefillAtTheConfiguredRate() throws InterruptedException {
+        NotificationRateLimiter limiter = new NotificationRateLimiter(100, 1);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        Thread.sleep(30);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void refillNeverExceedsTheBurst() throws InterruptedException {
+        NotificationRateLimiter limiter = new NotificationRateLimiter(1000, 2);
+        Thread.sleep(50);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        // 50 tokens' worth of time has passed, but the bucket only holds two; the next one
+        // is at most a millisecond away, so only check it isn't already banked
+        int extra = 0;
+        while (limiter.tryAcquire()) {
+            extra++;
+        }
+        assertTrue(extra <= 1, extra + " tokens beyond the burst");
+    }
+}
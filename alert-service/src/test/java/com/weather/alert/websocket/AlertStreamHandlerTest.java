@@ -0,0 +1,147 @@
+package com.weather.alert.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.AlertNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertStreamHandlerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Flushes and heartbeats are driven by the tests, not the scheduler
+    private final AlertStreamHandler handler = new AlertStreamHandler(
+            objectMapper, 3_600_000, 2, 3, 10_000, 524_288, "terminate", 3_600_000, 2);
+
+    @AfterEach
+    void shutdown() {
+        handler.shutdown();
+    }
+
+    @Test
+    void notificationsWithinAFlushGoOutAsOneFrame() throws Exception {
+        WebSocketSession session = session("s-1", null);
+        handler.afterConnectionEstablished(session);
+
+        handler.publish(notification("n-1", "alert-1"));
+        handler.publish(notification("n-2", "alert-2"));
+        flush();
+
+        JsonNode frame = objectMapper.readTree(sentText(session));
+        assertEquals(2, frame.size());
+        assertEquals("n-1", frame.get(0).get("id").asText());
+        assertEquals("n-2", frame.get(1).get("id").asText());
+    }
+
+    @Test
+    void aClientOverItsQueueLimitLosesItsOldestNotifications() throws Exception {
+        WebSocketSession session = session("s-1", null);
+        handler.afterConnectionEstablished(session);
+
+        for (int i = 1; i <= 5; i++) {
+            handler.publish(notification("n-" + i, "alert-1"));
+        }
+        flush();
+
+        JsonNode frame = objectMapper.readTree(sentText(session));
+        assertEquals(3, frame.size());
+        assertEquals("n-3", frame.get(0).get("id").asText());
+        assertEquals("n-5", frame.get(2).get("id").asText());
+    }
+
+    @Test
+    void aDisconnectedClientIsForgotten() throws Exception {
+        WebSocketSession session = session("s-1", new URI("ws://localhost/api/alerts/ws?alerts=alert-1"));
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        handler.publish(notification("n-1", "alert-1"));
+        flush();
+
+        assertEquals(0, handler.getSubscriberCount());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(handler, "byAlert")).isEmpty());
+        verify(session, after(200).never()).sendMessage(any());
+    }
+
+    @Test
+    void subscriptionsPastTheLimitAreIgnored() throws Exception {
+        WebSocketSession session = session("s-1", new URI("ws://localhost/api/alerts/ws?alerts=alert-1,alert-2,alert-3"));
+        handler.afterConnectionEstablished(session);
+
+        handler.publish(notification("n-3", "alert-3"));
+        handler.publish(notification("n-1", "alert-1"));
+        flush();
+
+        JsonNode frame = objectMapper.readTree(sentText(session));
+        assertEquals(1, frame.size());
+        assertEquals("n-1", frame.get(0).get("id").asText());
+    }
+
+    @Test
+    void aClientStuckInASendDoesNotHoldUpAnotherClientsPing() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", null);
+        doAnswer(invocation -> {
+            stuck.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendMessage(any());
+        WebSocketSession fast = session("fast", null);
+        handler.afterConnectionEstablished(slow);
+        handler.afterConnectionEstablished(fast);
+
+        ReflectionTestUtils.invokeMethod(handler, "heartbeat");
+        flush();
+
+        verify(fast, timeout(1000)).sendMessage(isA(PingMessage.class));
+        stuck.countDown();
+    }
+
+    private void flush() {
+        ReflectionTestUtils.invokeMethod(handler, "flush");
+    }
+
+    private static String sentText(WebSocketSession session) throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, timeout(1000)).sendMessage(sent.capture());
+        return ((TextMessage) sent.getValue()).getPayload();
+    }
+
+    private static WebSocketSession session(String id, URI uri) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getUri()).thenReturn(uri);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static AlertNotification notification(String id, String alertId) {
+        return AlertNotification.builder()
+                .id(id)
+                .alertId(alertId)
+                .message("Weather Alert")
+                .build();
+    }
+}
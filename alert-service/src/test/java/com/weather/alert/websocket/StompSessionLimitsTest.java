@@ -0,0 +1,79 @@
+package com.weather.alert.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StompSessionLimitsTest {
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void subscriptionsPastTheLimitAreRefused() {
+        ChannelInterceptor inbound = new StompSessionLimits(2, 8, "drop").inboundInterceptor();
+
+        inbound.preSend(message(SimpMessageType.SUBSCRIBE, "s-1"), channel);
+        inbound.preSend(message(SimpMessageType.SUBSCRIBE, "s-1"), channel);
+        assertThrows(MessageDeliveryException.class,
+                () -> inbound.preSend(message(SimpMessageType.SUBSCRIBE, "s-1"), channel));
+
+        inbound.preSend(message(SimpMessageType.UNSUBSCRIBE, "s-1"), channel);
+        assertNotNull(inbound.preSend(message(SimpMessageType.SUBSCRIBE, "s-1"), channel));
+        // Counted per session
+        assertNotNull(inbound.preSend(message(SimpMessageType.SUBSCRIBE, "s-2"), channel));
+    }
+
+    @Test
+    void messagesPastTheQueueLimitAreDroppedUntilTheQueueDrains() {
+        StompSessionLimits limits = new StompSessionLimits(8, 2, "drop");
+        ExecutorChannelInterceptor outbound = limits.outboundInterceptor();
+
+        Message<?> first = outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel);
+        outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel);
+        assertNull(outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel));
+        assertNotNull(outbound.preSend(message(SimpMessageType.MESSAGE, "s-2"), channel));
+        assertEquals(1, limits.getDroppedMessages());
+
+        outbound.afterMessageHandled(first, channel, null, null);
+        assertNotNull(outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel));
+    }
+
+    @Test
+    void terminateClosesASessionOverItsQueueLimit() throws Exception {
+        StompSessionLimits limits = new StompSessionLimits(8, 1, "terminate");
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s-1");
+        when(session.isOpen()).thenReturn(true);
+        limits.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+        ExecutorChannelInterceptor outbound = limits.outboundInterceptor();
+
+        outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel);
+        verify(session, never()).close(CloseStatus.SESSION_NOT_RELIABLE);
+        outbound.preSend(message(SimpMessageType.MESSAGE, "s-1"), channel);
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(type);
+        headers.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.alert.websocket;
+
+import com.weather.common.model.AlertNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StompTopicPublisherTest {
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final StompTopicPublisher publisher = new StompTopicPublisher(messagingTemplate, 3_600_000, 2);
+
+    @AfterEach
+    void shutdown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void eachDestinationGetsOneBatchPerFlushWithinItsQueueLimit() {
+        publisher.publish("/topic/alerts/alert-1", notification("n-1"));
+        publisher.publish("/topic/alerts/alert-1", notification("n-2"));
+        publisher.publish("/topic/alerts/alert-1", notification("n-3"));
+        publisher.publish("/topic/locations/gh-dr5ru", notification("n-4"));
+        publisher.flush();
+
+        assertEquals("[n-2, n-3]", idsSentTo("/topic/alerts/alert-1"));
+        assertEquals("[n-4]", idsSentTo("/topic/locations/gh-dr5ru"));
+    }
+
+    @Test
+    void nothingIsSentWhenNothingWasPublished() {
+        publisher.publish("/topic/alerts/alert-1", notification("n-1"));
+        publisher.flush();
+        publisher.flush();
+
+        verify(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String idsSentTo(String destination) {
+        ArgumentCaptor<Object> batch = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq(destination), batch.capture());
+        StringBuilder ids = new StringBuilder("[");
+        for (AlertNotification notification : (List<AlertNotification>) batch.getValue()) {
+            ids.append(ids.length() > 1 ? ", " : "").append(notification.getId());
+        }
+        return ids.append(']').toString();
+    }
+
+    private static AlertNotification notification(String id) {
+        return AlertNotification.builder().id(id).alertId("alert-1").build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.weather.gateway.admission;
+
+import com.weather.gateway.config.RouteMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One token bucket per route and client, held in memory so the gateway needs no shared store.
+// Buckets idle past the idle timeout are swept so one-off clients don't accumulate.
+@Component
+public class ClientRateLimiter {
+    static final String RATE_METADATA = "rate-limit-per-second";
+    static final String BURST_METADATA = "rate-limit-burst";
+    private static final int SWEEP_EVERY = 4096;
+
+    private final double defaultRatePerSecond;
+    private final double defaultBurst;
+    private final long idleTimeoutNanos;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ClientRateLimiter(
+            @Value("${gateway.admission.rate-limit.per-second:20}") double defaultRatePerSecond,
+            @Value("${gateway.admission.rate-limit.burst:40}") double defaultBurst,
+            @Value("${gateway.admission.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.defaultBurst = defaultBurst;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    // Returns 0 if the request is admitted, otherwise how long the client should wait in nanos
+    public long tryAcquire(Route route, String client) {
+        long now = System.nanoTime();
+        if (acquisitions.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep(now);
+        }
+        double ratePerSecond = RouteMetadata.number(route, RATE_METADATA, defaultRatePerSecond);
+        if (ratePerSecond <= 0) {
+            return 0;
+        }
+        double burst = Math.max(1, RouteMetadata.number(route, BURST_METADATA, defaultBurst));
+        TokenBucket bucket = buckets.computeIfAbsent(route.getId() + '|' + client,
+                key -> new TokenBucket(ratePerSecond, burst, now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejected.incrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void sweep(long now) {
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getLastUsed() > idleTimeoutNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
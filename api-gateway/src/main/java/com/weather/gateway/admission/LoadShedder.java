@@ -0,0 +1,83 @@
+package com.weather.gateway.admission;
+
+import com.weather.gateway.config.RouteMetadata;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class LoadShedder {
+    static final String LATENCY_TARGET_METADATA = "latency-target";
+
+    private final long defaultTargetMillis;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, RouteLoad> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> targets = new ConcurrentHashMap<>();
+
+    public LoadShedder(
+            @Value("${gateway.admission.shedding.latency-target:500ms}") Duration defaultTarget,
+            @Value("${gateway.admission.shedding.min-concurrency:4}") int minConcurrency,
+            @Value("${gateway.admission.shedding.max-concurrency:256}") int maxConcurrency,
+            MeterRegistry registry) {
+        this.defaultTargetMillis = defaultTarget.toMillis();
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.registry = registry;
+    }
+
+    public boolean tryEnter(Route route) {
+        return load(route).tryEnter();
+    }
+
+    public void exit(Route route, long latencyNanos) {
+        load(route).exit(latencyNanos / 1_000_000d, targets.get(route.getId()));
+    }
+
+    public List<RouteLoadStatus> getStatus() {
+        List<RouteLoadStatus> status = new ArrayList<>();
+        for (Map.Entry<String, RouteLoad> entry : routes.entrySet()) {
+            RouteLoad load = entry.getValue();
+            status.add(RouteLoadStatus.builder()
+                    .routeId(entry.getKey())
+                    .inFlight(load.getInFlight())
+                    .concurrencyLimit(load.getLimit())
+                    .latencyMillis(load.getLatencyMillis())
+                    .latencyTargetMillis(targets.get(entry.getKey()))
+                    .shed(load.getShed())
+                    .build());
+        }
+        return status;
+    }
+
+    private RouteLoad load(Route route) {
+        RouteLoad load = routes.get(route.getId());
+        if (load == null) {
+            targets.putIfAbsent(route.getId(),
+                    RouteMetadata.durationMillis(route, LATENCY_TARGET_METADATA, defaultTargetMillis));
+            load = routes.computeIfAbsent(route.getId(), this::register);
+        }
+        return load;
+    }
+
+    private RouteLoad register(String routeId) {
+        RouteLoad load = new RouteLoad(minConcurrency, maxConcurrency);
+        Gauge.builder("gateway.admission.concurrency.limit", load, RouteLoad::getLimit)
+                .tag("route", routeId)
+                .register(registry);
+        FunctionCounter.builder("gateway.admission.shed", load, RouteLoad::getShed)
+                .tag("route", routeId)
+                .register(registry);
+        return load;
+    }
+}
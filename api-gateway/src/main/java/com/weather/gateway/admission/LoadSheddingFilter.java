@@ -0,0 +1,60 @@
+package com.weather.gateway.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Sits after the response cache and the write filter, so only requests that actually go
+// upstream are counted, and the measured time ends when the upstream response headers arrive.
+// WebSocket upgrades are left alone, whichever route they match: their exchange lasts as long
+// as the connection.
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+    private final LoadShedder loadShedder;
+    private final long retryAfterSeconds;
+
+    public LoadSheddingFilter(
+            LoadShedder loadShedder,
+            @Value("${gateway.admission.shedding.retry-after:1s}") Duration retryAfter) {
+        this.loadShedder = loadShedder;
+        this.retryAfterSeconds = Math.max(1, retryAfter.getSeconds());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || isWebSocketUpgrade(exchange)) {
+            return chain.filter(exchange);
+        }
+        if (!loadShedder.tryEnter(route)) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return response.setComplete();
+        }
+        long started = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> loadShedder.exit(route, System.nanoTime() - started));
+    }
+
+    private static boolean isWebSocketUpgrade(ServerWebExchange exchange) {
+        return "websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade());
+    }
+}
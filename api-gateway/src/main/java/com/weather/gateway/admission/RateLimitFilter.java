@@ -0,0 +1,75 @@
+package com.weather.gateway.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+
+// Runs ahead of the cache so cache hits also count against the client's allowance. Clients are identified
+// by their API key header when it carries a configured key and by remote address otherwise, so
+// making up a fresh key per request doesn't buy a fresh burst.
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+    private final ClientRateLimiter rateLimiter;
+    private final String clientHeader;
+    private final Set<String> apiKeys = new HashSet<>();
+
+    public RateLimitFilter(
+            ClientRateLimiter rateLimiter,
+            @Value("${gateway.admission.rate-limit.client-header:X-API-Key}") String clientHeader,
+            @Value("${gateway.admission.rate-limit.api-keys:}") String[] apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+        for (String apiKey : apiKeys) {
+            if (!apiKey.trim().isEmpty()) {
+                this.apiKeys.add(apiKey.trim());
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long waitNanos = rateLimiter.tryAcquire(route, clientOf(exchange.getRequest()));
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(ClientRateLimiter.toRetryAfterSeconds(waitNanos)));
+        return response.setComplete();
+    }
+
+    private String clientOf(ServerHttpRequest request) {
+        String apiKey = request.getHeaders().getFirst(clientHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return "ip:" + (remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : "unknown");
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.gateway.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Adaptive concurrency limit for one route. While the smoothed downstream latency is over the
+// target the limit shrinks multiplicatively on each completion; once it is back under, the
+// limit grows by about one per limit's worth of completions (AIMD), up to the maximum.
+final class RouteLoad {
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double DECREASE_FACTOR = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile double limit;
+    private double latencyMillis;
+
+    RouteLoad(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    boolean tryEnter() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            shed.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    synchronized void exit(double sampleMillis, double targetMillis) {
+        inFlight.decrementAndGet();
+        latencyMillis = latencyMillis == 0
+                ? sampleMillis
+                : latencyMillis + LATENCY_SMOOTHING * (sampleMillis - latencyMillis);
+        if (latencyMillis > targetMillis) {
+            limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    long getShed() {
+        return shed.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.weather.gateway.admission;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RouteLoadStatus {
+    private String routeId;
+    private int inFlight;
+    private int concurrencyLimit;
+    private double latencyMillis; // smoothed time to upstream response headers
+    private long latencyTargetMillis;
+    private long shed;
+}
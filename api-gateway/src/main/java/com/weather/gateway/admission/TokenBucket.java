@@ -0,0 +1,34 @@
+package com.weather.gateway.admission;
+
+// Refills continuously at `ratePerSecond` up to `burst` tokens
+final class TokenBucket {
+    private final double ratePerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+    private volatile long lastUsed;
+
+    TokenBucket(double ratePerSecond, double burst, long now) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+        this.lastUsed = now;
+    }
+
+    // Takes a token, returning 0, or the nanos until one will be available
+    synchronized long tryAcquire(long now) {
+        lastUsed = now;
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.weather.gateway.cache;
+
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.ByteBuffer;
+
+// A cached upstream response. The body lives in a direct buffer, so large caches stay off the
+// heap, and every hit is served from a read-only view of it without copying.
+@Getter
+public class CachedResponse {
+    private final String location;
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final ByteBuffer body;
+    private final long storedAt;
+    private final long expiresAt;
+
+    CachedResponse(String location, HttpStatusCode status, HttpHeaders headers, DataBuffer body, long ttlMillis) {
+        this.location = location;
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        int size = body.readableByteCount();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        body.toByteBuffer(body.readPosition(), buffer, 0, size);
+        this.body = buffer.asReadOnlyBuffer();
+        this.storedAt = System.currentTimeMillis();
+        this.expiresAt = storedAt + ttlMillis;
+    }
+
+    public int size() {
+        return body.capacity();
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    // Independent position and limit per reader over the shared bytes
+    public ByteBuffer bodyView() {
+        return body.duplicate();
+    }
+}
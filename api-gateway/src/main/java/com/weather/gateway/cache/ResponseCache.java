@@ -0,0 +1,102 @@
+package com.weather.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Size-bounded LRU of upstream responses. Bounded by total body bytes rather than entry count,
+// since a year-long range response is orders of magnitude larger than a current-conditions one.
+@Component
+@Slf4j
+public class ResponseCache {
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ResponseCache(
+            @Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.isExpired(System.currentTimeMillis())) {
+            remove(key);
+            cached = null;
+        }
+        (cached != null ? hits : misses).incrementAndGet();
+        return cached;
+    }
+
+    public boolean accepts(int size) {
+        return size <= maxEntryBytes && size <= maxBytes;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        if (!accepts(response.size())) {
+            return;
+        }
+        remove(key);
+        entries.put(key, response);
+        bytes += response.size();
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().size();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Drops every cached response for a location; a null location clears the cache
+    public synchronized int purge(String location) {
+        String normalized = location != null ? ResponseCacheKeys.normalizeLocation(location) : null;
+        int removed = 0;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            CachedResponse cached = iterator.next().getValue();
+            if (normalized == null || normalized.equals(cached.getLocation())) {
+                bytes -= cached.size();
+                iterator.remove();
+                removed++;
+            }
+        }
+        log.info("Purged {} cached responses for {}", removed, normalized != null ? normalized : "all locations");
+        return removed;
+    }
+
+    void recordCoalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    public synchronized ResponseCacheStats getStats() {
+        return ResponseCacheStats.builder()
+                .entries(entries.size())
+                .bytes(bytes)
+                .maxBytes(maxBytes)
+                .hits(hits.get())
+                .misses(misses.get())
+                .coalesced(coalesced.get())
+                .evictions(evictions.get())
+                .build();
+    }
+
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.weather.gateway.cache;
+
+import com.weather.gateway.config.RouteMetadata;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Caches GET responses of routes that declare a response-cache-ttl in their metadata. Identical
+// requests that arrive while the first one is still upstream wait for its response instead of
+// making their own call; if it turns out not to be cacheable they fall through to the route.
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+    static final String TTL_METADATA = "response-cache-ttl";
+    static final String CACHE_HEADER = "X-Cache";
+
+    // Representation headers only; CORS and hop-by-hop headers belong to each request
+    private static final List<String> CACHED_HEADERS = Arrays.asList(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final ResponseCache cache;
+    private final ConcurrentHashMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${gateway.cache.coalesce-timeout:5s}")
+    private Duration coalesceTimeout;
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before the write filter subscribes to the upstream body
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        long ttlMillis = route != null ? RouteMetadata.durationMillis(route, TTL_METADATA, 0) : 0;
+        if (ttlMillis <= 0 || !HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        List<MediaType> accept;
+        try {
+            accept = request.getHeaders().getAccept();
+        } catch (InvalidMediaTypeException e) {
+            // Left for the upstream to reject; nothing to key a cache entry on
+            return chain.filter(exchange);
+        }
+        String key = ResponseCacheKeys.of(route.getId(), request.getPath().value(), request.getQueryParams(), accept);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return serve(exchange, cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(coalesceTimeout)
+                    .map(Optional::of)
+                    .onErrorResume(e -> Mono.just(Optional.<CachedResponse>empty()))
+                    .defaultIfEmpty(Optional.<CachedResponse>empty())
+                    .flatMap(response -> {
+                        if (!response.isPresent()) {
+                            return chain.filter(exchange);
+                        }
+                        cache.recordCoalesced();
+                        return serve(exchange, response.get(), "COALESCED");
+                    });
+        }
+
+        String location = ResponseCacheKeys.location(request.getQueryParams());
+        CachingResponse response = new CachingResponse(exchange.getResponse(), key, location, ttlMillis, sink);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    // Waiters go upstream themselves when nothing was cached
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String outcome) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        response.setStatusCode(cached.getStatus());
+        headers.putAll(cached.getHeaders());
+        headers.setContentLength(cached.size());
+        headers.set(HttpHeaders.AGE, String.valueOf((System.currentTimeMillis() - cached.getStoredAt()) / 1000));
+        headers.set(CACHE_HEADER, outcome);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.bodyView())));
+    }
+
+    // Buffers a successful upstream body once into the cache and writes it out from there
+    private class CachingResponse extends ServerHttpResponseDecorator {
+        private final String key;
+        private final String location;
+        private final long ttlMillis;
+        private final Sinks.One<CachedResponse> sink;
+
+        CachingResponse(ServerHttpResponse delegate, String key, String location, long ttlMillis,
+                        Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.location = location;
+            this.ttlMillis = ttlMillis;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long declaredLength = getHeaders().getContentLength();
+            if (!HttpStatus.OK.equals(status) || (declaredLength > 0 && !cache.accepts((int) Math.min(declaredLength, Integer.MAX_VALUE)))) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                if (!cache.accepts(joined.readableByteCount())) {
+                    return super.writeWith(Mono.just(joined));
+                }
+                CachedResponse response;
+                try {
+                    response = new CachedResponse(location, status, cacheableHeaders(), joined, ttlMillis);
+                } finally {
+                    DataBufferUtils.release(joined);
+                }
+                cache.put(key, response);
+                sink.tryEmitValue(response);
+                getHeaders().set(CACHE_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(response.bodyView())));
+            });
+        }
+
+        private HttpHeaders cacheableHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : CACHED_HEADERS) {
+                List<String> values = getHeaders().get(name);
+                if (values != null) {
+                    headers.put(name, values);
+                }
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.weather.gateway.cache;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Builds cache keys that are equal for requests the report service answers identically:
+// parameter order, repeated slashes, a trailing slash and location case/whitespace don't matter.
+// The Accept header is part of the key, since the same URL can come back as JSON or Smile.
+final class ResponseCacheKeys {
+    static final String LOCATION_PARAM = "location";
+
+    private ResponseCacheKeys() {
+    }
+
+    static String of(String routeId, String path, MultiValueMap<String, String> queryParams, List<MediaType> accept) {
+        StringBuilder key = new StringBuilder(routeId).append(' ').append(normalizeAccept(accept))
+                .append(' ').append(normalizePath(path));
+        TreeMap<String, List<String>> sorted = new TreeMap<>(queryParams);
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : sorted.entrySet()) {
+            List<String> values = new ArrayList<>();
+            for (String value : param.getValue()) {
+                values.add(normalizeValue(param.getKey(), value));
+            }
+            Collections.sort(values);
+            for (String value : values) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    static String location(MultiValueMap<String, String> queryParams) {
+        String location = queryParams.getFirst(LOCATION_PARAM);
+        return location != null ? normalizeLocation(location) : null;
+    }
+
+    static String normalizeLocation(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeValue(String name, String value) {
+        if (value == null) {
+            return "";
+        }
+        return LOCATION_PARAM.equals(name) ? normalizeLocation(value) : value.trim();
+    }
+
+    // Kept in the client's order, which decides between equally weighted types
+    private static String normalizeAccept(List<MediaType> accept) {
+        if (accept.isEmpty()) {
+            return MediaType.ALL_VALUE;
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (MediaType mediaType : accept) {
+            if (normalized.length() > 0) {
+                normalized.append(',');
+            }
+            normalized.append(mediaType.toString().toLowerCase(Locale.ROOT).replace(" ", ""));
+        }
+        return normalized.toString();
+    }
+
+    private static String normalizePath(String path) {
+        String collapsed = path.replaceAll("/{2,}", "/");
+        return collapsed.length() > 1 && collapsed.endsWith("/")
+                ? collapsed.substring(0, collapsed.length() - 1)
+                : collapsed;
+    }
+}
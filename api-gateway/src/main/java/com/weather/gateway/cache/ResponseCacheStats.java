@@ -0,0 +1,16 @@
+package com.weather.gateway.cache;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResponseCacheStats {
+    private int entries;
+    private long bytes;
+    private long maxBytes;
+    private long hits;
+    private long misses;
+    private long coalesced; // requests answered by another request's in-flight upstream call
+    private long evictions;
+}
@@ -0,0 +1,45 @@
+package com.weather.gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.route.Route;
+
+// Typed reads of the per-route settings kept under each route's metadata in application.yml
+@Slf4j
+public final class RouteMetadata {
+    private RouteMetadata() {
+    }
+
+    // Accepts plain milliseconds or a duration such as 30s or 10m
+    public static long durationMillis(Route route, String key, long defaultMillis) {
+        Object value = route.getMetadata().get(key);
+        if (value == null) {
+            return defaultMillis;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return DurationStyle.detectAndParse(value.toString()).toMillis();
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid {} '{}' on route {}", key, value, route.getId());
+            return defaultMillis;
+        }
+    }
+
+    public static double number(Route route, String key, double defaultValue) {
+        Object value = route.getMetadata().get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} '{}' on route {}", key, value, route.getId());
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.weather.gateway.controller;
+
+import com.weather.gateway.dashboard.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    // Current conditions, forecast, recent statistics, alerts and notifications in one response
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> getDashboard(
+            @RequestParam(name = "location") String location,
+            @RequestParam(name = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(name = "statisticsDays", defaultValue = "30") int statisticsDays,
+            ServerHttpResponse response) {
+        if (location.trim().isEmpty() || statisticsDays < 1 || statisticsDays > 366) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "location and statisticsDays (1-366) are required");
+        }
+        return dashboardService.getDashboard(location.trim(), date != null ? date : LocalDate.now(),
+                statisticsDays, response.bufferFactory());
+    }
+}
@@ -0,0 +1,29 @@
+package com.weather.gateway.controller;
+
+import com.weather.gateway.admission.ClientRateLimiter;
+import com.weather.gateway.admission.LoadShedder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/gateway/admission")
+@RequiredArgsConstructor
+public class GatewayAdmissionController {
+    private final ClientRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("clients", rateLimiter.getClientCount());
+        status.put("rateLimited", rateLimiter.getRejected());
+        status.put("routes", loadShedder.getStatus());
+        return ResponseEntity.ok(status);
+    }
+}
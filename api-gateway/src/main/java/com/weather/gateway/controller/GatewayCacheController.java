@@ -0,0 +1,32 @@
+package com.weather.gateway.controller;
+
+import com.weather.gateway.cache.ResponseCache;
+import com.weather.gateway.cache.ResponseCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/gateway/cache")
+@RequiredArgsConstructor
+public class GatewayCacheController {
+    private final ResponseCache responseCache;
+
+    @GetMapping
+    public ResponseEntity<ResponseCacheStats> getStats() {
+        return ResponseEntity.ok(responseCache.getStats());
+    }
+
+    // Without a location the whole cache is dropped
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> purge(@RequestParam(name = "location", required = false) String location) {
+        return ResponseEntity.ok(Collections.singletonMap("purged", responseCache.purge(location)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.gateway.dashboard;
+
+import com.weather.gateway.admission.LoadSheddingFilter;
+import com.weather.gateway.admission.RateLimitFilter;
+import com.weather.gateway.metrics.RouteMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+
+// /api/dashboard is served by a controller rather than a route, so the gateway's global filters never
+// see it. This gives it a route of its own and runs it through the same metrics, rate limit and load
+// shedding filters, in the same order, before the controller.
+@Component
+public class DashboardAdmissionFilter implements WebFilter, Ordered {
+    private static final String PATH = "/api/dashboard";
+
+    private final RouteMetricsFilter metricsFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final LoadSheddingFilter loadSheddingFilter;
+    private final Route route;
+
+    public DashboardAdmissionFilter(
+            RouteMetricsFilter metricsFilter,
+            RateLimitFilter rateLimitFilter,
+            LoadSheddingFilter loadSheddingFilter,
+            @Value("${gateway.dashboard.latency-target:3s}") Duration latencyTarget) {
+        this.metricsFilter = metricsFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.loadSheddingFilter = loadSheddingFilter;
+        this.route = Route.async()
+                .id("dashboard")
+                .uri("forward:" + PATH)
+                .predicate(exchange -> true)
+                .metadata(Collections.<String, Object>singletonMap("latency-target", latencyTarget.toMillis()))
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!PATH.equals(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return metricsFilter.filter(exchange, measured ->
+                rateLimitFilter.filter(measured, admitted ->
+                        loadSheddingFilter.filter(admitted, chain::filter)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.weather.gateway.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+// Fans the dashboard's initial calls out to the report, statistics and alert services at once.
+// Each leg has its own timeout and falls back to an empty value, so one slow or failing service
+// degrades its own section instead of the whole page. Sections are written into the response
+// object in the order they complete, followed by the legs that fell back and why.
+@Service
+@Slf4j
+public class DashboardService {
+    private static final List<String> STATISTICS_METRICS = Arrays.asList("temps", "precipitate", "wind", "humidity");
+    private static final byte[] EMPTY_OBJECT = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${gateway.dashboard.report-url:http://localhost:8081}")
+    private String reportUrl;
+
+    @Value("${gateway.dashboard.statistics-url:http://localhost:8082}")
+    private String statisticsUrl;
+
+    @Value("${gateway.dashboard.alert-url:http://localhost:8083}")
+    private String alertUrl;
+
+    @Value("${gateway.dashboard.timeouts.current:2s}")
+    private Duration currentTimeout;
+
+    @Value("${gateway.dashboard.timeouts.forecast:2s}")
+    private Duration forecastTimeout;
+
+    @Value("${gateway.dashboard.timeouts.statistics:3s}")
+    private Duration statisticsTimeout;
+
+    @Value("${gateway.dashboard.timeouts.alerts:1s}")
+    private Duration alertsTimeout;
+
+    public DashboardService(WebClient dashboardWebClient, ObjectMapper objectMapper) {
+        this.webClient = dashboardWebClient;
+        this.objectMapper = objectMapper;
+    }
+
+    public Flux<DataBuffer> getDashboard(String location, LocalDate date, int statisticsDays,
+                                         DataBufferFactory bufferFactory) {
+        Map<String, Object> statisticsRequest = new HashMap<>();
+        statisticsRequest.put("location", location);
+        statisticsRequest.put("startDate", date.minusDays(statisticsDays).toString());
+        statisticsRequest.put("endDate", date.minusDays(1).toString());
+        statisticsRequest.put("metrics", STATISTICS_METRICS);
+
+        Map<String, String> degraded = new ConcurrentHashMap<>();
+        Flux<Section> sections = Flux.merge(
+                leg("current", get(reportUrl + "/api/weather/current?location={location}", location),
+                        currentTimeout, EMPTY_OBJECT, degraded),
+                leg("forecast", get(reportUrl + "/api/weather/forecast?location={location}&startDate={date}", location, date),
+                        forecastTimeout, EMPTY_LIST, degraded),
+                leg("statistics", webClient.post()
+                                .uri(statisticsUrl + "/api/statistics")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(statisticsRequest)
+                                .retrieve()
+                                .bodyToMono(byte[].class),
+                        statisticsTimeout, EMPTY_OBJECT, degraded),
+                leg("alerts", get(alertUrl + "/api/alerts"), alertsTimeout, EMPTY_LIST, degraded),
+                leg("notifications", get(alertUrl + "/api/alerts/notifications"), alertsTimeout, EMPTY_LIST, degraded));
+
+        return Flux.concat(
+                Mono.fromCallable(() -> buffer(bufferFactory,
+                        "{\"location\":", json(location), ",\"date\":", json(date.toString()))),
+                sections.map(section -> buffer(bufferFactory,
+                        ",\"", section.name, "\":", section.body)),
+                Mono.fromCallable(() -> buffer(bufferFactory,
+                        ",\"degraded\":", json(new TreeMap<>(degraded)), "}")));
+    }
+
+    private Mono<byte[]> get(String uri, Object... variables) {
+        return webClient.get()
+                .uri(uri, variables)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(byte[].class);
+    }
+
+    private Mono<Section> leg(String name, Mono<byte[]> call, Duration timeout, byte[] fallback,
+                              Map<String, String> degraded) {
+        return call
+                .timeout(timeout)
+                .defaultIfEmpty(fallback)
+                .map(body -> new Section(name, body))
+                .onErrorResume(e -> {
+                    String reason = e instanceof TimeoutException
+                            ? "timed out after " + timeout.toMillis() + "ms"
+                            : e.getMessage();
+                    log.warn("Dashboard {} section fell back: {}", name, reason);
+                    degraded.put(name, reason != null ? reason : e.getClass().getSimpleName());
+                    return Mono.just(new Section(name, fallback));
+                });
+    }
+
+    private byte[] json(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    private static DataBuffer buffer(DataBufferFactory bufferFactory, Object... parts) {
+        int size = 0;
+        for (Object part : parts) {
+            size += part instanceof byte[] ? ((byte[]) part).length : ((String) part).length() * 3;
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(size);
+        for (Object part : parts) {
+            buffer.write(part instanceof byte[] ? (byte[]) part : ((String) part).getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer;
+    }
+
+    private static class Section {
+        private final String name;
+        private final byte[] body;
+
+        private Section(String name, byte[] body) {
+            this.name = name;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.weather.gateway.metrics;
+
+import com.weather.gateway.admission.ClientRateLimiter;
+import com.weather.gateway.cache.ResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Response cache and rate limiter counters, read from their existing stats at scrape time
+@Component
+@RequiredArgsConstructor
+public class GatewayMeterBinder implements MeterBinder {
+    private final ResponseCache responseCache;
+    private final ClientRateLimiter rateLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.cache.requests", responseCache, cache -> cache.getStats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", responseCache, cache -> cache.getStats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", responseCache, cache -> cache.getStats().getCoalesced())
+                .tag("result", "coalesced")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.evictions", responseCache, cache -> cache.getStats().getEvictions())
+                .register(registry);
+        Gauge.builder("gateway.cache.size", responseCache, cache -> cache.getStats().getBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("gateway.admission.rate.limited", rateLimiter, ClientRateLimiter::getRejected)
+                .register(registry);
+        Gauge.builder("gateway.admission.clients", rateLimiter, ClientRateLimiter::getClientCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.weather.gateway.metrics;
+
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.springframework.stereotype.Component;
+
+// There is no tracer in the gateway, so the request id stands in for a trace id: it is bound to
+// the recording thread only while a request's latency is recorded, and the Prometheus registry
+// picks it up as the exemplar of the histogram bucket the sample lands in.
+@Component
+public class RequestExemplars implements SpanContext {
+    private static final ThreadLocal<String> CURRENT_REQUEST = new ThreadLocal<>();
+
+    public static void record(String requestId, Runnable recording) {
+        CURRENT_REQUEST.set(requestId);
+        try {
+            recording.run();
+        } finally {
+            CURRENT_REQUEST.remove();
+        }
+    }
+
+    @Override
+    public String getCurrentTraceId() {
+        return CURRENT_REQUEST.get();
+    }
+
+    @Override
+    public String getCurrentSpanId() {
+        return CURRENT_REQUEST.get();
+    }
+
+    @Override
+    public boolean isCurrentSpanSampled() {
+        return CURRENT_REQUEST.get() != null;
+    }
+
+    @Override
+    public void markCurrentSpanAsExemplar() {
+    }
+}
@@ -0,0 +1,154 @@
+package com.weather.gateway.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outermost gateway filter: times every routed request end to end, including cache hits and
+// rejections, and counts request and response body bytes as they stream through. Meters are
+// resolved once per route, method and status and reused, so the per-request cost is a few
+// atomic updates and one histogram observation. Percentiles are left to the scraper
+// (histogram_quantile over the buckets) rather than computed in-process.
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        // A WebSocket exchange lasts as long as its connection, which says nothing about latency.
+        // Checked on the request, since an upgrade can match an http route.
+        if (route == null || "websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade())) {
+            return chain.filter(exchange);
+        }
+        RouteMeters meters = routes.computeIfAbsent(route.getId(), RouteMeters::new);
+        meters.inFlight.incrementAndGet();
+        long started = System.nanoTime();
+        ServerWebExchange measured = exchange.mutate()
+                .request(new CountingRequest(exchange.getRequest(), meters.bytesIn))
+                .response(new CountingResponse(exchange.getResponse(), meters.bytesOut))
+                .build();
+        return chain.filter(measured).doFinally(signal -> {
+            meters.inFlight.decrementAndGet();
+            Timer timer = meters.latency(exchange.getRequest().getMethod().name(),
+                    statusOf(exchange.getResponse(), signal));
+            RequestExemplars.record(exchange.getRequest().getId(),
+                    () -> timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static String statusOf(ServerHttpResponse response, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "CANCELLED";
+        }
+        HttpStatusCode status = response.getStatusCode();
+        return status != null ? String.valueOf(status.value()) : "UNKNOWN";
+    }
+
+    private class RouteMeters {
+        private final String routeId;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter bytesIn;
+        private final Counter bytesOut;
+        private final ConcurrentHashMap<String, Timer> latencies = new ConcurrentHashMap<>();
+
+        RouteMeters(String routeId) {
+            this.routeId = routeId;
+            Gauge.builder("gateway.route.requests.in.flight", inFlight, AtomicInteger::get)
+                    .tag("route", routeId)
+                    .register(registry);
+            bytesIn = Counter.builder("gateway.route.bytes.in")
+                    .baseUnit("bytes")
+                    .tag("route", routeId)
+                    .register(registry);
+            bytesOut = Counter.builder("gateway.route.bytes.out")
+                    .baseUnit("bytes")
+                    .tag("route", routeId)
+                    .register(registry);
+        }
+
+        Timer latency(String method, String status) {
+            Timer timer = latencies.get(method + ' ' + status);
+            if (timer == null) {
+                timer = latencies.computeIfAbsent(method + ' ' + status, key -> Timer.builder("gateway.route.latency")
+                        .description("Time from the gateway receiving a routed request to finishing its response")
+                        .tag("route", routeId)
+                        .tag("method", method)
+                        .tag("status", status)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                        .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                        .register(registry));
+            }
+            return timer;
+        }
+    }
+
+    private static class CountingRequest extends ServerHttpRequestDecorator {
+        private final Counter bytes;
+
+        CountingRequest(ServerHttpRequest delegate, Counter bytes) {
+            super(delegate);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(buffer -> bytes.increment(buffer.readableByteCount()));
+        }
+    }
+
+    private static class CountingResponse extends ServerHttpResponseDecorator {
+        private final Counter bytes;
+
+        CountingResponse(ServerHttpResponse delegate, Counter bytes) {
+            super(delegate);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.increment(buffer.readableByteCount())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(chunk ->
+                    Flux.from(chunk).doOnNext(buffer -> bytes.increment(buffer.readableByteCount()))));
+        }
+    }
+}
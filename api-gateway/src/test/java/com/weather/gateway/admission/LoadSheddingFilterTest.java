@@ -0,0 +1,70 @@
+package com.weather.gateway.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LoadSheddingFilterTest {
+    private final LoadShedder shedder = new LoadShedder(Duration.ofMillis(500), 1, 1, new SimpleMeterRegistry());
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(shedder, Duration.ofSeconds(1));
+    // An http route, as /api/alerts/** is: the upgrade is recognised from the request, not the route
+    private final Route route = Route.async()
+            .id("alert-service")
+            .uri("http://localhost:8083")
+            .predicate(exchange -> true)
+            .build();
+
+    @Test
+    void openWebSocketsHoldNoSlot() {
+        Sinks.Empty<Void> connection = Sinks.empty();
+        filter.filter(exchange(true), exchange -> connection.asMono()).subscribe();
+
+        MockServerWebExchange rest = exchange(false);
+        filter.filter(rest, chain()).block();
+
+        assertNull(rest.getResponse().getStatusCode());
+        assertEquals(0, shedder.getStatus().get(0).getInFlight());
+        connection.tryEmitEmpty();
+    }
+
+    @Test
+    void requestsOverTheLimitAreShed() {
+        Sinks.Empty<Void> slow = Sinks.empty();
+        filter.filter(exchange(false), exchange -> slow.asMono()).subscribe();
+
+        MockServerWebExchange shed = exchange(false);
+        filter.filter(shed, chain()).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("1", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        slow.tryEmitEmpty();
+        assertEquals(0, shedder.getStatus().get(0).getInFlight());
+    }
+
+    private MockServerWebExchange exchange(boolean upgrade) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/alerts/ws");
+        if (upgrade) {
+            request.header(HttpHeaders.CONNECTION, "Upgrade").header(HttpHeaders.UPGRADE, "websocket");
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static GatewayFilterChain chain() {
+        return exchange -> Mono.empty();
+    }
+}
@@ -0,0 +1,54 @@
+package com.weather.gateway.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new ClientRateLimiter(0.001, 1, Duration.ofMinutes(10)), "X-API-Key", new String[]{"dashboard-key", " ops-key "});
+    private final Route route = Route.async()
+            .id("weather-current")
+            .uri("http://localhost:8081")
+            .predicate(exchange -> true)
+            .build();
+
+    @Test
+    void madeUpKeysShareTheirAddressAllowance() {
+        assertNull(send("10.0.0.1", "random-1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("10.0.0.1", "random-2"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("10.0.0.1", null));
+    }
+
+    @Test
+    void configuredKeysHaveTheirOwnAllowance() {
+        assertNull(send("10.0.0.1", null));
+        assertNull(send("10.0.0.1", "dashboard-key"));
+        assertNull(send("10.0.0.2", "ops-key"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("10.0.0.3", "dashboard-key"));
+    }
+
+    private HttpStatus send(String address, String apiKey) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/weather/current")
+                .remoteAddress(new InetSocketAddress(address, 40000));
+        if (apiKey != null) {
+            request.header("X-API-Key", apiKey);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        GatewayFilterChain chain = admitted -> Mono.empty();
+        filter.filter(exchange, chain).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+}
@@ -0,0 +1,77 @@
+package com.weather.gateway.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstIsAdmittedThenTheWaitIsUntilTheNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+        assertEquals(SECOND / 20, bucket.tryAcquire(SECOND / 20));
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+    }
+
+    @Test
+    void refillIsCappedAtTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+        assertEquals(later, bucket.getLastUsed());
+    }
+
+    @Test
+    void sustainedRateMatchesTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(5, 1, 0);
+        int admitted = 0;
+        // A request every millisecond for ten seconds
+        for (long now = 0; now < 10 * SECOND; now += TimeUnit.MILLISECONDS.toNanos(1)) {
+            if (bucket.tryAcquire(now) == 0) {
+                admitted++;
+            }
+        }
+        assertEquals(50, admitted, 1);
+    }
+
+    @Test
+    void clientsAndRoutesHaveTheirOwnBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 1, Duration.ofMinutes(10));
+        Route weather = route("weather");
+        Route alerts = route("alerts");
+
+        assertEquals(0, limiter.tryAcquire(weather, "10.0.0.1"));
+        assertTrue(limiter.tryAcquire(weather, "10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire(weather, "10.0.0.2"));
+        assertEquals(0, limiter.tryAcquire(alerts, "10.0.0.1"));
+        assertEquals(3, limiter.getClientCount());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertEquals(1, ClientRateLimiter.toRetryAfterSeconds(1));
+        assertEquals(1, ClientRateLimiter.toRetryAfterSeconds(SECOND));
+        assertEquals(2, ClientRateLimiter.toRetryAfterSeconds(SECOND + 1));
+    }
+
+    private static Route route(String id) {
+        return Route.async().id(id).uri("http://localhost:8081").predicate(exchange -> true).build();
+    }
+}
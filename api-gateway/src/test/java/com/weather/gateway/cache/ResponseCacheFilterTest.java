@@ -0,0 +1,133 @@
+package com.weather.gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest {
+    private final ResponseCache cache = new ResponseCache(1 << 20, 1 << 16);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Route route = Route.async()
+            .id("weather-current")
+            .uri("http://localhost:8081")
+            .predicate(exchange -> true)
+            .metadata(ResponseCacheFilter.TTL_METADATA, "60s")
+            .build();
+
+    private HttpStatus upstreamStatus = HttpStatus.OK;
+    private Duration upstreamDelay = Duration.ZERO;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "coalesceTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void secondRequestIsServedFromTheCache() {
+        MockServerWebExchange first = get("/api/weather/current?location=Boston", MediaType.APPLICATION_JSON);
+        MockServerWebExchange second = get("/api/weather/current?location=BOSTON", MediaType.APPLICATION_JSON);
+
+        filter.filter(first, chain()).block();
+        filter.filter(second, chain()).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(body(first), body(second));
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        // Only representation headers are replayed
+        assertNull(second.getResponse().getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void aDifferentAcceptGoesUpstreamForItsOwnRepresentation() {
+        filter.filter(get("/api/weather/current?location=boston", MediaType.APPLICATION_JSON), chain()).block();
+        MockServerWebExchange smile = get("/api/weather/current?location=boston",
+                MediaType.valueOf("application/x-jackson-smile"));
+
+        filter.filter(smile, chain()).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("MISS", smile.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("application/x-jackson-smile", smile.getResponse().getHeaders().getContentType().toString());
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneUpstreamCall() {
+        upstreamDelay = Duration.ofMillis(200);
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = get("/api/weather/current?location=boston", MediaType.APPLICATION_JSON);
+            exchanges.add(exchange);
+            requests.add(filter.filter(exchange, chain()));
+        }
+
+        Mono.when(requests).block(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", exchanges.get(0).getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        for (MockServerWebExchange follower : exchanges.subList(1, exchanges.size())) {
+            assertEquals("COALESCED", follower.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+            assertEquals(body(exchanges.get(0)), body(follower));
+        }
+        assertEquals(4, cache.getStats().getCoalesced());
+    }
+
+    @Test
+    void uncacheableResponsesLetWaitersGoUpstreamThemselves() {
+        upstreamStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        upstreamDelay = Duration.ofMillis(100);
+        MockServerWebExchange leader = get("/api/weather/current?location=boston", MediaType.APPLICATION_JSON);
+        MockServerWebExchange waiter = get("/api/weather/current?location=boston", MediaType.APPLICATION_JSON);
+
+        Mono.when(filter.filter(leader, chain()), filter.filter(waiter, chain())).block(Duration.ofSeconds(5));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, waiter.getResponse().getStatusCode());
+        assertNull(waiter.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    private MockServerWebExchange get(String uri, MediaType accept) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri).accept(accept));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    // Stands in for the proxied call: answers in the first requested media type after a delay
+    private GatewayFilterChain chain() {
+        return exchange -> Mono.delay(upstreamDelay).then(Mono.defer(() -> {
+            int call = upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(upstreamStatus);
+            response.getHeaders().setContentType(exchange.getRequest().getHeaders().getAccept().get(0));
+            response.getHeaders().set(HttpHeaders.SET_COOKIE, "per-request");
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+
+    private static String body(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5));
+    }
+}
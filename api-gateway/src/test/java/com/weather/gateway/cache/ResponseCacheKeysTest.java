@@ -0,0 +1,79 @@
+package com.weather.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheKeysTest {
+    private static final List<MediaType> JSON = Collections.singletonList(MediaType.APPLICATION_JSON);
+    private static final List<MediaType> SMILE = Collections.singletonList(MediaType.valueOf("application/x-jackson-smile"));
+
+    @Test
+    void equivalentRequestsShareAKey() {
+        String key = ResponseCacheKeys.of("weather", "/api/weather/range",
+                params("location", "Boston", "start", "2024-06-01", "end", "2024-06-30"), JSON);
+
+        assertEquals(key, ResponseCacheKeys.of("weather", "//api/weather//range/",
+                params("end", "2024-06-30", "location", " boston ", "start", "2024-06-01"), JSON));
+    }
+
+    @Test
+    void differentRequestsDoNot() {
+        String key = ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"), JSON);
+
+        assertNotEquals(key, ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "10001"), JSON));
+        assertNotEquals(key, ResponseCacheKeys.of("other", "/api/weather/current", params("location", "boston"), JSON));
+        assertNotEquals(key, ResponseCacheKeys.of("weather", "/api/weather/Current", params("location", "boston"), JSON));
+        // Non-location values keep their case
+        assertNotEquals(ResponseCacheKeys.of("weather", "/a", params("units", "F"), JSON),
+                ResponseCacheKeys.of("weather", "/a", params("units", "f"), JSON));
+    }
+
+    @Test
+    void negotiatedMediaTypeIsPartOfTheKey() {
+        String json = ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"), JSON);
+        String smile = ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"), SMILE);
+        String any = ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"),
+                Collections.<MediaType>emptyList());
+
+        assertNotEquals(json, smile);
+        assertNotEquals(json, any);
+        assertEquals(any, ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"),
+                Collections.singletonList(MediaType.ALL)));
+        assertEquals(json, ResponseCacheKeys.of("weather", "/api/weather/current", params("location", "boston"),
+                MediaType.parseMediaTypes("Application/JSON")));
+    }
+
+    @Test
+    void repeatedValuesAreOrderInsensitive() {
+        MultiValueMap<String, String> forward = new LinkedMultiValueMap<>();
+        forward.put("metric", Arrays.asList("temps", "wind"));
+        MultiValueMap<String, String> reverse = new LinkedMultiValueMap<>();
+        reverse.put("metric", Arrays.asList("wind", "temps"));
+
+        assertEquals(ResponseCacheKeys.of("stats", "/s", forward, JSON), ResponseCacheKeys.of("stats", "/s", reverse, JSON));
+    }
+
+    @Test
+    void locationIsNormalizedForPurging() {
+        assertEquals("boston", ResponseCacheKeys.location(params("location", "  BOSTON ")));
+        assertNull(ResponseCacheKeys.location(params("start", "2024-06-01")));
+    }
+
+    private static MultiValueMap<String, String> params(String... namesAndValues) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            params.add(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,64 @@
+package com.weather.gateway.dashboard;
+
+import com.weather.gateway.admission.ClientRateLimiter;
+import com.weather.gateway.admission.LoadShedder;
+import com.weather.gateway.admission.LoadSheddingFilter;
+import com.weather.gateway.admission.RateLimitFilter;
+import com.weather.gateway.metrics.RouteMetricsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DashboardAdmissionFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DashboardAdmissionFilter filter = new DashboardAdmissionFilter(
+            new RouteMetricsFilter(registry),
+            new RateLimitFilter(new ClientRateLimiter(1, 1, Duration.ofMinutes(10)), "X-API-Key", new String[0]),
+            new LoadSheddingFilter(new LoadShedder(Duration.ofMillis(500), 4, 4, registry), Duration.ofSeconds(1)),
+            Duration.ofSeconds(3));
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    void dashboardRequestsAreRateLimitedAndTimed() {
+        MockServerWebExchange first = exchange("/api/dashboard");
+        filter.filter(first, exchange -> handle()).block();
+        MockServerWebExchange second = exchange("/api/dashboard");
+        filter.filter(second, exchange -> handle()).block();
+
+        assertNull(first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals(1, handled.get());
+        assertNotNull(registry.find("gateway.route.latency").tag("route", "dashboard").timer());
+    }
+
+    @Test
+    void otherPathsPassStraightThrough() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(exchange("/api/gateway/cache"), exchange -> handle()).block();
+        }
+
+        assertEquals(3, handled.get());
+        assertNull(registry.find("gateway.route.latency").timer());
+    }
+
+    private Mono<Void> handle() {
+        handled.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000)));
+    }
+}
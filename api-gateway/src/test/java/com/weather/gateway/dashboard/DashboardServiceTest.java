@@ -0,0 +1,136 @@
+package com.weather.gateway.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardServiceTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void everySectionIsPresentWhenAllLegsAnswer() throws Exception {
+        JsonNode dashboard = load(stub(null, null));
+
+        assertEquals("Oslo", dashboard.get("location").asText());
+        assertEquals("2024-06-01", dashboard.get("date").asText());
+        assertEquals(12.5, dashboard.get("current").get("temperature").asDouble());
+        assertEquals(2, dashboard.get("forecast").size());
+        assertEquals(1, dashboard.get("statistics").get("temps").asInt());
+        assertEquals(1, dashboard.get("alerts").size());
+        assertEquals(0, dashboard.get("notifications").size());
+        assertTrue(dashboard.get("degraded").isObject());
+        assertEquals(0, dashboard.get("degraded").size());
+    }
+
+    @Test
+    void aSlowLegFallsBackAndIsListedAsTimedOut() throws Exception {
+        JsonNode dashboard = load(stub("/api/weather/forecast", null));
+
+        assertTrue(dashboard.get("forecast").isArray());
+        assertEquals(0, dashboard.get("forecast").size());
+        assertEquals(12.5, dashboard.get("current").get("temperature").asDouble());
+        assertEquals(1, dashboard.get("degraded").size());
+        assertEquals("timed out after 200ms", dashboard.get("degraded").get("forecast").asText());
+    }
+
+    @Test
+    void aFailingLegFallsBackWithItsReason() throws Exception {
+        JsonNode dashboard = load(stub(null, "/api/statistics"));
+
+        assertTrue(dashboard.get("statistics").isNull());
+        assertEquals(1, dashboard.get("degraded").size());
+        assertTrue(dashboard.get("degraded").get("statistics").asText().contains("500"));
+        assertEquals(1, dashboard.get("alerts").size());
+    }
+
+    @Test
+    void degradedListsEveryFallenBackLegInNameOrder() throws Exception {
+        JsonNode dashboard = load(stub("/api/alerts", "/api/weather/current"));
+
+        // /api/alerts matches both alert legs
+        Set<String> names = new LinkedHashSet<>();
+        for (Iterator<String> it = dashboard.get("degraded").fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+        assertEquals("[alerts, current, notifications]", names.toString());
+        assertTrue(dashboard.get("current").isNull());
+        assertEquals(0, dashboard.get("alerts").size());
+        assertEquals(2, dashboard.get("forecast").size());
+    }
+
+    private JsonNode load(WebClient webClient) throws Exception {
+        DashboardService service = new DashboardService(webClient, objectMapper);
+        ReflectionTestUtils.setField(service, "reportUrl", "http://report");
+        ReflectionTestUtils.setField(service, "statisticsUrl", "http://statistics");
+        ReflectionTestUtils.setField(service, "alertUrl", "http://alert");
+        for (String timeout : new String[]{"currentTimeout", "forecastTimeout", "statisticsTimeout", "alertsTimeout"}) {
+            ReflectionTestUtils.setField(service, timeout, Duration.ofMillis(200));
+        }
+        DataBuffer joined = DataBufferUtils.join(service.getDashboard("Oslo", LocalDate.of(2024, 6, 1), 30,
+                DefaultDataBufferFactory.sharedInstance)).block(Duration.ofSeconds(5));
+        String body = joined.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(joined);
+        return objectMapper.readTree(body);
+    }
+
+    // Answers every leg at once, except paths starting with slowPath (never answered) or failingPath (500)
+    private static WebClient stub(String slowPath, String failingPath) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath();
+                    if (slowPath != null && path.startsWith(slowPath)) {
+                        return Mono.never();
+                    }
+                    if (failingPath != null && path.startsWith(failingPath)) {
+                        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    }
+                    return Mono.just(ok(bodyFor(request)));
+                })
+                .build();
+    }
+
+    private static String bodyFor(ClientRequest request) {
+        String path = request.url().getPath();
+        if (path.equals("/api/weather/current")) {
+            return "{\"temperature\":12.5}";
+        }
+        if (path.equals("/api/weather/forecast")) {
+            return "[{\"highTemp\":14},{\"highTemp\":15}]";
+        }
+        if (path.equals("/api/statistics")) {
+            return "{\"temps\":1}";
+        }
+        if (path.equals("/api/alerts")) {
+            return "[{\"id\":\"a-1\"}]";
+        }
+        return "[]";
+    }
+
+    private static ClientResponse ok(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.weather.gateway.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RouteMetricsFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RouteMetricsFilter filter = new RouteMetricsFilter(registry);
+    private final Route route = Route.async()
+            .id("alert-service")
+            .uri("http://localhost:8083")
+            .predicate(exchange -> true)
+            .build();
+
+    @Test
+    void requestsAreTimedPerRouteMethodAndStatus() {
+        filter.filter(exchange(false), exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }).block();
+
+        Timer timer = registry.find("gateway.route.latency")
+                .tags("route", "alert-service", "method", "GET", "status", "200")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(0, registry.get("gateway.route.requests.in.flight").gauge().value());
+    }
+
+    @Test
+    void webSocketUpgradesOnAnHttpRouteAreNotRecorded() {
+        filter.filter(exchange(true), exchange -> Mono.empty()).block();
+
+        assertNull(registry.find("gateway.route.latency").timer());
+        assertNull(registry.find("gateway.route.requests.in.flight").gauge());
+    }
+
+    private MockServerWebExchange exchange(boolean upgrade) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/alerts/ws");
+        if (upgrade) {
+            request.header(HttpHeaders.CONNECTION, "Upgrade").header(HttpHeaders.UPGRADE, "websocket");
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
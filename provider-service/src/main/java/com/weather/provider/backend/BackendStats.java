@@ -0,0 +1,62 @@
+package com.weather.provider.backend;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latency and health bookkeeping for one backend. A backend is taken out of
+// rotation after consecutive failures and retried once the open period ends.
+public class BackendStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openUntil;
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    public BackendStats(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    public void recordSuccess(long latencyMillis) {
+        latency.record(latencyMillis);
+        successes.incrementAndGet();
+        consecutiveFailures.set(0);
+        openUntil = 0;
+    }
+
+    public void recordFailure(long latencyMillis) {
+        latency.record(latencyMillis);
+        failures.incrementAndGet();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openDurationMillis;
+        }
+    }
+
+    public void recordHedgeWin() {
+        hedgesWon.incrementAndGet();
+    }
+
+    public boolean isHealthy() {
+        return System.currentTimeMillis() >= openUntil;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+}
@@ -0,0 +1,196 @@
+package com.weather.provider.backend;
+
+import com.weather.provider.config.ProviderProperties;
+import com.weather.provider.exception.UnsupportedLocationException;
+import com.weather.provider.exception.WeatherDataException;
+import com.weather.provider.model.BackendStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Sends each call to the healthiest backend first. If it has not answered by its
+// configured latency percentile the next backend is fired as a hedge and the first
+// successful answer wins; failures fail over to the next backend immediately.
+@Slf4j
+public class HedgedBackendClient {
+    private final Map<WeatherBackend, BackendStats> backends = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private final ProviderProperties.Hedge hedge;
+
+    public HedgedBackendClient(List<WeatherBackend> backends,
+                               ExecutorService executor,
+                               ProviderProperties properties) {
+        for (WeatherBackend backend : backends) {
+            this.backends.put(backend, new BackendStats(
+                    properties.getHealth().getFailureThreshold(),
+                    properties.getHealth().getOpenDuration().toMillis()));
+        }
+        this.executor = executor;
+        this.hedge = properties.getHedge();
+    }
+
+    public <T> T execute(String operation, String location, Function<WeatherBackend, T> call) {
+        List<WeatherBackend> candidates = orderedCandidates(location);
+        if (candidates.isEmpty()) {
+            throw new UnsupportedLocationException("No weather backend can serve location " + location);
+        }
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> inFlight = new ArrayList<>();
+        List<AtomicBoolean> recorded = new ArrayList<>();
+        // Set once an answer has won or the caller gave up; not by the deadline
+        AtomicBoolean settled = new AtomicBoolean();
+        long deadline = System.nanoTime() + hedge.getTimeout().toNanos();
+        boolean timedOut = false;
+        Throwable lastError = null;
+
+        int next = 0;
+        int pending = 0;
+        long hedgeAt = Long.MAX_VALUE;
+        try {
+            while (next < candidates.size() || pending > 0) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    timedOut = true;
+                    break;
+                }
+                // Launch the first attempt, a failover after an error, or a hedge once the delay passes
+                if (next < candidates.size() && (pending == 0 || (hedge.isEnabled() && now >= hedgeAt))) {
+                    WeatherBackend backend = candidates.get(next++);
+                    AtomicBoolean attemptRecorded = new AtomicBoolean();
+                    recorded.add(attemptRecorded);
+                    inFlight.add(completion.submit(() -> attempt(backend, call, deadline, settled, attemptRecorded)));
+                    pending++;
+                    hedgeAt = now + hedgeDelayNanos(backend);
+                    continue;
+                }
+
+                long waitUntil = next < candidates.size() && hedge.isEnabled() ? Math.min(hedgeAt, deadline) : deadline;
+                Future<T> done = completion.poll(Math.max(0, waitUntil - now), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    continue;
+                }
+                pending--;
+                try {
+                    T result = done.get();
+                    settled.set(true);
+                    if (inFlight.indexOf(done) > 0) {
+                        backends.get(candidates.get(inFlight.indexOf(done))).recordHedgeWin();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    lastError = e.getCause();
+                    log.warn("Backend {} failed {}: {}", candidates.get(inFlight.indexOf(done)).getName(),
+                            operation, lastError.getMessage());
+                    hedgeAt = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            settled.set(true);
+            Thread.currentThread().interrupt();
+            throw new WeatherDataException("Interrupted while fetching " + operation, e);
+        } finally {
+            if (timedOut) {
+                // A hanging backend may never return at all, so whatever is still pending at the
+                // deadline is counted as failed here rather than left to the attempt
+                long elapsedMillis = hedge.getTimeout().toMillis();
+                for (int i = 0; i < inFlight.size(); i++) {
+                    if (!inFlight.get(i).isDone() && recorded.get(i).compareAndSet(false, true)) {
+                        backends.get(candidates.get(i)).recordFailure(elapsedMillis);
+                        log.warn("Backend {} timed out {}", candidates.get(i).getName(), operation);
+                    }
+                }
+            }
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        if (lastError != null) {
+            throw new WeatherDataException("All weather backends failed for " + operation, lastError);
+        }
+        throw new WeatherDataException("Weather backends timed out for " + operation);
+    }
+
+    public List<BackendStatus> getStatus() {
+        List<BackendStatus> status = new ArrayList<>();
+        backends.forEach((backend, stats) -> status.add(BackendStatus.builder()
+                .name(backend.getName())
+                .healthy(stats.isHealthy())
+                .successes(stats.getSuccesses())
+                .failures(stats.getFailures())
+                .hedgesWon(stats.getHedgesWon())
+                .p50Millis(stats.getLatency().percentile(50))
+                .p90Millis(stats.getLatency().percentile(90))
+                .p99Millis(stats.getLatency().percentile(99))
+                .hedgeDelayMillis(TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos(backend)))
+                .build()));
+        return status;
+    }
+
+    // Each attempt is recorded once, here or by execute() when the deadline passes first
+    private <T> T attempt(WeatherBackend backend, Function<WeatherBackend, T> call, long deadline,
+                          AtomicBoolean settled, AtomicBoolean recorded) {
+        BackendStats stats = backends.get(backend);
+        long start = System.nanoTime();
+        try {
+            T result = call.apply(backend);
+            long finished = System.nanoTime();
+            if (recorded.compareAndSet(false, true)) {
+                // An answer after the deadline was no use to anyone
+                if (finished - deadline > 0) {
+                    stats.recordFailure(TimeUnit.NANOSECONDS.toMillis(finished - start));
+                } else {
+                    stats.recordSuccess(TimeUnit.NANOSECONDS.toMillis(finished - start));
+                }
+            }
+            return result;
+        } catch (RuntimeException e) {
+            long finished = System.nanoTime();
+            // Losers cancelled in time after another backend answered, and requests the backend
+            // rejected as bad input, say nothing about its health. A loser that fails on its own,
+            // or only gives up after the deadline, still counts.
+            boolean loser = settled.get() && Thread.currentThread().isInterrupted() && finished - deadline <= 0;
+            if (!loser && !isInputError(e) && recorded.compareAndSet(false, true)) {
+                stats.recordFailure(TimeUnit.NANOSECONDS.toMillis(finished - start));
+            }
+            throw e;
+        }
+    }
+
+    // Healthy backends that can serve the location in configured order, then open ones as a last resort
+    private List<WeatherBackend> orderedCandidates(String location) {
+        List<WeatherBackend> healthy = new ArrayList<>();
+        List<WeatherBackend> unhealthy = new ArrayList<>();
+        backends.forEach((backend, stats) -> {
+            if (backend.supports(location)) {
+                (stats.isHealthy() ? healthy : unhealthy).add(backend);
+            }
+        });
+        healthy.addAll(unhealthy);
+        return healthy;
+    }
+
+    // An unknown zip or city answers 400/404; auth and rate-limit errors still count
+    private static boolean isInputError(RuntimeException e) {
+        return e instanceof UnsupportedLocationException
+                || e instanceof HttpClientErrorException.BadRequest
+                || e instanceof HttpClientErrorException.NotFound;
+    }
+
+    private long hedgeDelayNanos(WeatherBackend backend) {
+        long observed = backends.get(backend).getLatency().percentile(hedge.getPercentile());
+        long delayMillis = observed < 0 ? hedge.getMaxDelay().toMillis() : observed;
+        delayMillis = Math.max(hedge.getMinDelay().toMillis(), Math.min(hedge.getMaxDelay().toMillis(), delayMillis));
+        return TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    }
+}
@@ -0,0 +1,59 @@
+package com.weather.provider.backend;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free log-linear latency histogram: 4 sub-buckets per power of two
+// from 1ms up to ~65s, so percentiles are accurate to within ~19%.
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 16 * SUB_BUCKETS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long latencyMillis) {
+        counts.incrementAndGet(bucketOf(latencyMillis));
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Upper bound in ms of the bucket holding the given percentile, or -1 when empty
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        double log2 = Math.log(millis) / Math.log(2);
+        int bucket = (int) Math.ceil(log2 * SUB_BUCKETS);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return (long) Math.ceil(Math.pow(2, (double) bucket / SUB_BUCKETS));
+    }
+}
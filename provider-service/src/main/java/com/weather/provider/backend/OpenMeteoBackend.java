@@ -0,0 +1,112 @@
+package com.weather.provider.backend;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.geo.GeoPoint;
+import com.weather.common.model.WeatherReport;
+import com.weather.provider.config.WeatherApiProperties;
+import com.weather.provider.exception.UnsupportedLocationException;
+import com.weather.provider.exception.WeatherDataException;
+import com.weather.provider.model.OpenMeteoResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Open-Meteo only accepts coordinates, so locations must be "lat,lon" pairs or grid cells
+public class OpenMeteoBackend implements WeatherBackend {
+    private static final String DAILY_FIELDS = "temperature_2m_max,temperature_2m_min,precipitation_probability_max,"
+            + "relative_humidity_2m_mean,wind_speed_10m_max,wind_direction_10m_dominant";
+    private static final String CURRENT_FIELDS = "relative_humidity_2m,wind_speed_10m,wind_direction_10m";
+    private static final String COMMON_PARAMS = "&wind_speed_unit=ms&timezone=UTC";
+
+    private final RestTemplate restTemplate;
+    private final WeatherApiProperties apiProperties;
+    private final GeoGrid geoGrid;
+
+    public OpenMeteoBackend(RestTemplate restTemplate, WeatherApiProperties apiProperties, GeoGrid geoGrid) {
+        this.restTemplate = restTemplate;
+        this.apiProperties = apiProperties;
+        this.geoGrid = geoGrid;
+    }
+
+    @Override
+    public String getName() {
+        return apiProperties.getName();
+    }
+
+    @Override
+    public boolean supports(String location) {
+        return geoGrid.cellOf(location).isPresent();
+    }
+
+    @Override
+    public WeatherReport fetchCurrent(String location) {
+        String url = String.format("%s/forecast?%s&current=%s&daily=%s&forecast_days=1%s",
+                apiProperties.getBaseUrl(), coordinates(location), CURRENT_FIELDS, DAILY_FIELDS, COMMON_PARAMS);
+        OpenMeteoResponse response = fetch(url);
+        WeatherReport report = mapDay(response.getDaily(), 0);
+        OpenMeteoResponse.Current current = response.getCurrent();
+        if (current != null) {
+            report.setHumidity(current.getHumidity());
+            report.setWindSpeed(current.getWindSpeed());
+            report.setWindDirection(WindDirections.fromDegrees(current.getWindDirection()));
+        }
+        return report;
+    }
+
+    @Override
+    public List<WeatherReport> fetchForecast(String location) {
+        String url = String.format("%s/forecast?%s&daily=%s&forecast_days=7%s",
+                apiProperties.getBaseUrl(), coordinates(location), DAILY_FIELDS, COMMON_PARAMS);
+        OpenMeteoResponse.Daily daily = fetch(url).getDaily();
+        List<WeatherReport> forecasts = new ArrayList<>();
+        for (int i = 0; i < daily.getTime().size(); i++) {
+            forecasts.add(mapDay(daily, i));
+        }
+        return forecasts;
+    }
+
+    @Override
+    public WeatherReport fetchHistorical(String location, LocalDate date) {
+        String url = String.format("%s/forecast?%s&daily=%s&start_date=%s&end_date=%s%s",
+                apiProperties.getBaseUrl(), coordinates(location), DAILY_FIELDS, date, date, COMMON_PARAMS);
+        return mapDay(fetch(url).getDaily(), 0);
+    }
+
+    private OpenMeteoResponse fetch(String url) {
+        OpenMeteoResponse response = restTemplate.getForObject(url, OpenMeteoResponse.class);
+        if (response == null || response.getDaily() == null
+                || response.getDaily().getTime() == null || response.getDaily().getTime().isEmpty()) {
+            throw new WeatherDataException("Empty response from " + getName());
+        }
+        return response;
+    }
+
+    private String coordinates(String location) {
+        String cell = geoGrid.cellOf(location)
+                .orElseThrow(() -> new UnsupportedLocationException(getName() + " requires coordinates, got: " + location));
+        GeoPoint center = geoGrid.centerOf(cell);
+        return String.format(Locale.ROOT, "latitude=%.5f&longitude=%.5f", center.getLatitude(), center.getLongitude());
+    }
+
+    private WeatherReport mapDay(OpenMeteoResponse.Daily daily, int index) {
+        WeatherReport report = new WeatherReport();
+        report.setDate(LocalDate.parse(daily.getTime().get(index)));
+        report.setHighTemp(valueAt(daily.getHighTemp(), index));
+        report.setLowTemp(valueAt(daily.getLowTemp(), index));
+        report.setPrecipitationChance(valueAt(daily.getPrecipitationChance(), index));
+        report.setHumidity(valueAt(daily.getHumidity(), index));
+        report.setWindSpeed(valueAt(daily.getWindSpeed(), index));
+        report.setWindDirection(WindDirections.fromDegrees(valueAt(daily.getWindDirection(), index)));
+        return report;
+    }
+
+    private double valueAt(List<Double> values, int index) {
+        if (values == null || index >= values.size() || values.get(index) == null) {
+            return 0.0;
+        }
+        return values.get(index);
+    }
+}
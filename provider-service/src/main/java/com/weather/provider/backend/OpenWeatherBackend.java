@@ -0,0 +1,160 @@
+package com.weather.provider.backend;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.geo.GeoPoint;
+import com.weather.common.model.WeatherReport;
+import com.weather.provider.config.WeatherApiProperties;
+import com.weather.provider.exception.WeatherDataException;
+import com.weather.provider.model.OpenWeatherResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class OpenWeatherBackend implements WeatherBackend {
+    private final RestTemplate restTemplate;
+    private final WeatherApiProperties apiProperties;
+    private final GeoGrid geoGrid;
+
+    public OpenWeatherBackend(RestTemplate restTemplate, WeatherApiProperties apiProperties, GeoGrid geoGrid) {
+        this.restTemplate = restTemplate;
+        this.apiProperties = apiProperties;
+        this.geoGrid = geoGrid;
+    }
+
+    @Override
+    public String getName() {
+        return apiProperties.getName();
+    }
+
+    @Override
+    public WeatherReport fetchCurrent(String location) {
+        return mapToWeatherReport(fetch(buildUrl("/weather", location)));
+    }
+
+    @Override
+    public List<WeatherReport> fetchForecast(String location) {
+        return mapToWeeklyForecast(fetch(buildUrl("/forecast", location)));
+    }
+
+    @Override
+    public WeatherReport fetchHistorical(String location, LocalDate date) {
+        return mapToWeatherReport(fetch(buildHistoricalUrl(location, date)));
+    }
+
+    private OpenWeatherResponse fetch(String url) {
+        OpenWeatherResponse response = restTemplate.getForObject(url, OpenWeatherResponse.class);
+        if (response == null) {
+            throw new WeatherDataException("Empty response from " + getName());
+        }
+        return response;
+    }
+
+    private String buildUrl(String endpoint, String location) {
+        return String.format("%s%s?%s&appid=%s&units=metric",
+                apiProperties.getBaseUrl(),
+                endpoint,
+                locationQuery(location),
+                apiProperties.getApiKey()
+        );
+    }
+
+    private String buildHistoricalUrl(String location, LocalDate date) {
+        return String.format("%s/timemachine?%s&dt=%s&appid=%s&units=metric",
+                apiProperties.getBaseUrl(),
+                locationQuery(location),
+                date.toEpochDay(),
+                apiProperties.getApiKey()
+        );
+    }
+
+    // Coordinates and cell ids are queried at the cell center so every location in a cell shares one fetch
+    private String locationQuery(String location) {
+        return geoGrid.cellOf(location)
+                .map(cell -> {
+                    GeoPoint center = geoGrid.centerOf(cell);
+                    return String.format(Locale.ROOT, "lat=%.5f&lon=%.5f", center.getLatitude(), center.getLongitude());
+                })
+                .orElse("q=" + location);
+    }
+
+    private WeatherReport mapToWeatherReport(OpenWeatherResponse response) {
+        if (response.getMain() == null || response.getWind() == null) {
+            throw new WeatherDataException("Incomplete response from " + getName());
+        }
+        WeatherReport report = new WeatherReport();
+        report.setDate(LocalDate.now());
+        report.setLowTemp(response.getMain().getLowTemp());
+        report.setHighTemp(response.getMain().getHighTemp());
+        report.setHumidity(response.getMain().getHumidity());
+        report.setPrecipitationChance(calculatePrecipitation(response));
+        report.setWindSpeed(response.getWind().getSpeed());
+        report.setWindDirection(WindDirections.fromDegrees(response.getWind().getDeg()));
+        return report;
+    }
+
+    // The 5-day/3-hour forecast grouped into days by the date of dt_txt (UTC): temperature extremes,
+    // mean humidity and wind speed, the direction at the windiest hour and the day's highest
+    // precipitation probability
+    private List<WeatherReport> mapToWeeklyForecast(OpenWeatherResponse response) {
+        if (response.getList() == null || response.getList().isEmpty()) {
+            throw new WeatherDataException("Incomplete forecast from " + getName());
+        }
+        Map<LocalDate, List<OpenWeatherResponse.WeatherData>> days = new TreeMap<>();
+        for (OpenWeatherResponse.WeatherData entry : response.getList()) {
+            if (entry.getMain() == null || entry.getDtTxt() == null || entry.getDtTxt().length() < 10) {
+                continue;
+            }
+            days.computeIfAbsent(LocalDate.parse(entry.getDtTxt().substring(0, 10)), day -> new ArrayList<>()).add(entry);
+        }
+
+        List<WeatherReport> forecasts = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<OpenWeatherResponse.WeatherData>> day : days.entrySet()) {
+            List<OpenWeatherResponse.WeatherData> entries = day.getValue();
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double humidity = 0;
+            double windSpeed = 0;
+            double precipitation = 0;
+            OpenWeatherResponse.Wind windiest = null;
+            for (OpenWeatherResponse.WeatherData entry : entries) {
+                high = Math.max(high, entry.getMain().getHighTemp());
+                low = Math.min(low, entry.getMain().getLowTemp());
+                humidity += entry.getMain().getHumidity();
+                if (entry.getWind() != null) {
+                    windSpeed += entry.getWind().getSpeed();
+                    if (windiest == null || entry.getWind().getSpeed() > windiest.getSpeed()) {
+                        windiest = entry.getWind();
+                    }
+                }
+                precipitation = Math.max(precipitation, precipitationChance(entry.getPop(), entry.getRain()));
+            }
+            WeatherReport report = new WeatherReport();
+            report.setDate(day.getKey());
+            report.setHighTemp(high);
+            report.setLowTemp(low);
+            report.setHumidity(humidity / entries.size());
+            report.setWindSpeed(windSpeed / entries.size());
+            report.setWindDirection(windiest == null ? null : WindDirections.fromDegrees(windiest.getDeg()));
+            report.setPrecipitationChance(precipitation);
+            forecasts.add(report);
+        }
+        return forecasts;
+    }
+
+    // Current conditions carry no probability, only whether rain has fallen in the last hours
+    private double calculatePrecipitation(OpenWeatherResponse response) {
+        return precipitationChance(0, response.getRain());
+    }
+
+    private static double precipitationChance(double pop, OpenWeatherResponse.Rain rain) {
+        if (pop > 0) {
+            return pop * 100;
+        }
+        return rain != null && (rain.getOneHour() > 0 || rain.getThreeHours() > 0) ? 100.0 : 0.0;
+    }
+}
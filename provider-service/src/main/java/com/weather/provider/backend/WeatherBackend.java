@@ -0,0 +1,21 @@
+package com.weather.provider.backend;
+
+import com.weather.common.model.WeatherReport;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WeatherBackend {
+    String getName();
+
+    // Whether this backend can query the location at all; the client only routes to those that can
+    default boolean supports(String location) {
+        return true;
+    }
+
+    WeatherReport fetchCurrent(String location);
+
+    List<WeatherReport> fetchForecast(String location);
+
+    WeatherReport fetchHistorical(String location, LocalDate date);
+}
@@ -0,0 +1,13 @@
+package com.weather.provider.backend;
+
+final class WindDirections {
+    private static final String[] DIRECTIONS = {"N", "NE", "E", "SE", "S", "SW", "W", "NW"};
+
+    private WindDirections() {
+    }
+
+    static String fromDegrees(double degrees) {
+        int index = (int) Math.round(degrees / 45.0) % 8;
+        return DIRECTIONS[index];
+    }
+}
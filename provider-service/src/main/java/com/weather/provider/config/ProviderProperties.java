@@ -0,0 +1,35 @@
+package com.weather.provider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "provider")
+public class ProviderProperties {
+    // Tried in list order; falls back to provider.api-key/base-url when empty
+    private List<WeatherApiProperties> backends = new ArrayList<>();
+    private Hedge hedge = new Hedge();
+    private Health health = new Health();
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = true;
+        // The next backend is fired once the current one exceeds this latency percentile
+        private double percentile = 95.0;
+        private Duration minDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        private Duration timeout = Duration.ofSeconds(5);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private int poolSize = 32;
+    }
+
+    @Data
+    public static class Health {
+        private int failureThreshold = 3;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -8,6 +8,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class WeatherApiProperties {
+    private String name = "openweather";
+    private String type = "openweather"; // "openweather" or "open-meteo"
     private String apiKey;
     private String baseUrl;
+
+    public WeatherApiProperties(String apiKey, String baseUrl) {
+        this("openweather", "openweather", apiKey, baseUrl);
+    }
 }
@@ -1,11 +1,24 @@
 package com.weather.provider.config;
+import com.weather.common.geo.GeoGrid;
+import com.weather.provider.backend.HedgedBackendClient;
+import com.weather.provider.backend.OpenMeteoBackend;
+import com.weather.provider.backend.OpenWeatherBackend;
+import com.weather.provider.backend.WeatherBackend;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
+@EnableConfigurationProperties(ProviderProperties.class)
 public class WeatherProviderConfig {
 
     @Value("${provider.api-key}")
@@ -14,6 +27,9 @@ public class WeatherProviderConfig {
     @Value("${provider.base-url}")
     private String baseUrl;
 
+    @Value("${weather.geo.precision:5}")
+    private int geoPrecision;
+
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         return builder.build();
@@ -23,4 +39,42 @@ public class WeatherProviderConfig {
     public WeatherApiProperties weatherApiProperties() {
         return new WeatherApiProperties(apiKey, baseUrl);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public GeoGrid geoGrid() {
+        return new GeoGrid(geoPrecision);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService backendExecutor(ProviderProperties properties) {
+        return Executors.newFixedThreadPool(properties.getHedge().getPoolSize());
+    }
+
+    @Bean
+    public HedgedBackendClient hedgedBackendClient(ProviderProperties properties,
+                                                   WeatherApiProperties defaultBackend,
+                                                   RestTemplateBuilder builder,
+                                                   GeoGrid geoGrid,
+                                                   ExecutorService backendExecutor) {
+        List<WeatherApiProperties> configured = properties.getBackends().isEmpty()
+                ? Collections.singletonList(defaultBackend)
+                : properties.getBackends();
+
+        List<WeatherBackend> backends = new ArrayList<>();
+        for (WeatherApiProperties backend : configured) {
+            // Each backend gets its own client so one slow upstream can't hold another's connections
+            RestTemplate restTemplate = builder
+                    .connectTimeout(properties.getHedge().getConnectTimeout())
+                    .readTimeout(properties.getHedge().getTimeout())
+                    .build();
+            if ("openweather".equals(backend.getType())) {
+                backends.add(new OpenWeatherBackend(restTemplate, backend, geoGrid));
+            } else if ("open-meteo".equals(backend.getType())) {
+                backends.add(new OpenMeteoBackend(restTemplate, backend, geoGrid));
+            } else {
+                throw new IllegalStateException("Unknown weather backend type: " + backend.getType());
+            }
+        }
+        return new HedgedBackendClient(backends, backendExecutor, properties);
+    }
+}
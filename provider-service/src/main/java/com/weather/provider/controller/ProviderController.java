@@ -0,0 +1,30 @@
+package com.weather.provider.controller;
+
+import com.weather.provider.model.BackendStatus;
+import com.weather.provider.service.WeatherProviderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/provider")
+@Slf4j
+@RequiredArgsConstructor
+public class ProviderController {
+    private final WeatherProviderService providerService;
+
+    @GetMapping("/backends")
+    public ResponseEntity<List<BackendStatus>> getBackendStatus() {
+        try {
+            return ResponseEntity.ok(providerService.getBackendStatus());
+        } catch (Exception e) {
+            log.error("Error fetching backend status", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.weather.provider.exception;
+
+// The location can't be expressed in a backend's query, so the backend was never called
+public class UnsupportedLocationException extends WeatherDataException {
+    public UnsupportedLocationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.weather.provider.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackendStatus {
+    private String name;
+    private boolean healthy;
+    private long successes;
+    private long failures;
+    private long hedgesWon;
+    private long p50Millis;
+    private long p90Millis;
+    private long p99Millis;
+    private long hedgeDelayMillis;
+}
@@ -0,0 +1,12 @@
+package com.weather.provider.model;
+
+import lombok.Data;
+
+@Data
+public class GeocodingResponse {
+    private String zip;
+    private String name;
+    private double lat;
+    private double lon;
+    private String country;
+}
@@ -0,0 +1,39 @@
+package com.weather.provider.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class OpenMeteoResponse {
+    private Current current;
+    private Daily daily;
+
+    @Data
+    public static class Current {
+        private String time;
+        @JsonProperty("relative_humidity_2m")
+        private double humidity;
+        @JsonProperty("wind_speed_10m")
+        private double windSpeed;
+        @JsonProperty("wind_direction_10m")
+        private double windDirection;
+    }
+
+    @Data
+    public static class Daily {
+        private List<String> time;
+        @JsonProperty("temperature_2m_max")
+        private List<Double> highTemp;
+        @JsonProperty("temperature_2m_min")
+        private List<Double> lowTemp;
+        @JsonProperty("precipitation_probability_max")
+        private List<Double> precipitationChance;
+        @JsonProperty("relative_humidity_2m_mean")
+        private List<Double> humidity;
+        @JsonProperty("wind_speed_10m_max")
+        private List<Double> windSpeed;
+        @JsonProperty("wind_direction_10m_dominant")
+        private List<Double> windDirection;
+    }
+}
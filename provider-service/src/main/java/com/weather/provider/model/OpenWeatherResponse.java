@@ -16,6 +16,8 @@ public class OpenWeatherResponse {
         private Main main;
         private Wind wind;
         private Rain rain;
+        // Probability of precipitation, 0 to 1; forecast entries only
+        private double pop;
         @JsonProperty("dt_txt")
         private String dtTxt;
     }
@@ -0,0 +1,182 @@
+package com.weather.provider.backend;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.provider.config.ProviderProperties;
+import com.weather.provider.config.WeatherApiProperties;
+import com.weather.provider.exception.WeatherDataException;
+import com.weather.provider.model.BackendStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Both backends run against local stub upstreams; the OpenWeather stub answers with a high of 25,
+// the Open-Meteo stub with a high of 30, so each result shows which backend won
+class HedgedBackendClientTest {
+    private static final String COORDINATES = "40.7484,-73.9857";
+    private static final String OPEN_WEATHER_CURRENT = "{\"main\":{\"temp\":20,\"temp_min\":15,\"temp_max\":25,\"humidity\":50},"
+            + "\"wind\":{\"speed\":3,\"deg\":90}}";
+    private static final String OPEN_METEO_FORECAST = "{\"current\":{\"relative_humidity_2m\":40,\"wind_speed_10m\":2,"
+            + "\"wind_direction_10m\":180},\"daily\":{\"time\":[\"2024-06-01\"],\"temperature_2m_max\":[30],"
+            + "\"temperature_2m_min\":[18],\"precipitation_probability_max\":[10],\"relative_humidity_2m_mean\":[45],"
+            + "\"wind_speed_10m_max\":[4],\"wind_direction_10m_dominant\":[180]}}";
+
+    private StubBackend openWeather;
+    private StubBackend openMeteo;
+    private ExecutorService executor;
+    private ProviderProperties properties;
+    private List<WeatherBackend> backends;
+    private HedgedBackendClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        openWeather = new StubBackend(OPEN_WEATHER_CURRENT);
+        openMeteo = new StubBackend(OPEN_METEO_FORECAST);
+        executor = Executors.newCachedThreadPool();
+
+        properties = new ProviderProperties();
+        properties.getHedge().setMinDelay(Duration.ofMillis(20));
+        properties.getHedge().setMaxDelay(Duration.ofMillis(100));
+        properties.getHedge().setTimeout(Duration.ofSeconds(3));
+        properties.getHealth().setFailureThreshold(3);
+        properties.getHealth().setOpenDuration(Duration.ofMinutes(1));
+
+        RestTemplate restTemplate = new RestTemplateBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .readTimeout(Duration.ofSeconds(3))
+                .build();
+        GeoGrid geoGrid = new GeoGrid(5);
+        backends = Arrays.asList(
+                new OpenWeatherBackend(restTemplate,
+                        new WeatherApiProperties("openweather", "openweather", "key", openWeather.baseUrl()), geoGrid),
+                new OpenMeteoBackend(restTemplate,
+                        new WeatherApiProperties("open-meteo", "open-meteo", null, openMeteo.baseUrl()), geoGrid));
+        client = new HedgedBackendClient(backends, executor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openWeather.close();
+        openMeteo.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void firstBackendAnswersWhenItIsFast() {
+        WeatherReport report = current(COORDINATES);
+
+        assertEquals(25, report.getHighTemp());
+        assertEquals(0, openMeteo.requests());
+    }
+
+    @Test
+    void slowFirstBackendIsHedgedAndTheFasterAnswerWins() {
+        openWeather.delay(1500);
+
+        long started = System.nanoTime();
+        WeatherReport report = current(COORDINATES);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(30, report.getHighTemp());
+        assertTrue(elapsedMillis < 1000, "hedge answered after " + elapsedMillis + "ms");
+        assertEquals(1, status("open-meteo").getHedgesWon());
+    }
+
+    @Test
+    void failingBackendFailsOverAndIsTakenOutOfRotation() {
+        openWeather.fail(500);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(30, current(COORDINATES).getHighTemp());
+        }
+        assertFalse(status("openweather").isHealthy());
+        assertEquals(3, status("openweather").getFailures());
+
+        // Open now, so the healthy backend goes first and the failing one isn't called
+        assertEquals(30, current(COORDINATES).getHighTemp());
+        assertEquals(3, openWeather.requests());
+    }
+
+    @Test
+    void zipLocationsOnlyGoToBackendsThatCanQueryThem() {
+        openWeather.fail(500);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(WeatherDataException.class, () -> current("10001"));
+        }
+
+        assertEquals(0, openMeteo.requests());
+        assertTrue(status("open-meteo").isHealthy());
+        assertEquals(0, status("open-meteo").getFailures());
+        // Coordinates still fail over to the backend the zips never reached
+        assertEquals(30, current(COORDINATES).getHighTemp());
+    }
+
+    @Test
+    void rejectedLocationsDoNotCountAgainstHealth() {
+        openWeather.fail(404);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(WeatherDataException.class, () -> current("00000"));
+        }
+
+        assertTrue(status("openweather").isHealthy());
+        assertEquals(0, status("openweather").getFailures());
+    }
+
+    @Test
+    void hangingBackendIsCountedAsFailedAtTheDeadline() {
+        openWeather.delay(60_000);
+        properties.getHedge().setTimeout(Duration.ofMillis(300));
+        client = new HedgedBackendClient(backends, executor, properties);
+
+        // Zips only reach OpenWeather, so nothing else answers and the deadline ends each call
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            assertThrows(WeatherDataException.class, () -> current("10001"));
+            assertTrue((System.nanoTime() - started) / 1_000_000 < 1000);
+        }
+
+        assertFalse(status("openweather").isHealthy());
+        assertEquals(3, status("openweather").getFailures());
+        assertEquals(0, status("openweather").getSuccesses());
+        // Open now, so coordinates go to Open-Meteo first
+        assertEquals(30, current(COORDINATES).getHighTemp());
+    }
+
+    @Test
+    void loserCancelledAfterAHedgeWinsIsNotCountedAsFailed() {
+        openWeather.delay(1500);
+
+        assertEquals(30, current(COORDINATES).getHighTemp());
+
+        assertEquals(0, status("openweather").getFailures());
+        assertTrue(status("openweather").isHealthy());
+    }
+
+    private WeatherReport current(String location) {
+        return client.execute("current weather", location, backend -> backend.fetchCurrent(location));
+    }
+
+    private BackendStatus status(String name) {
+        for (BackendStatus status : client.getStatus()) {
+            if (status.getName().equals(name)) {
+                return status;
+            }
+        }
+        throw new AssertionError("No backend " + name);
+    }
+}
@@ -0,0 +1,71 @@
+package com.weather.provider.backend;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.provider.config.WeatherApiProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class OpenWeatherBackendTest {
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final OpenWeatherBackend backend = new OpenWeatherBackend(restTemplate,
+            new WeatherApiProperties("openweather", "openweather", "key", "http://openweather.test"), new GeoGrid(5));
+
+    @Test
+    void forecastEntriesAreGroupedIntoDays() {
+        server.expect(requestTo(containsString("/forecast?")))
+                .andRespond(withSuccess("{\"list\":["
+                        + entry("2024-06-01 12:00:00", 14, 21, 60, 3, 90, 0.2, null)
+                        + "," + entry("2024-06-01 15:00:00", 16, 24, 40, 7, 270, 0.6, null)
+                        + "," + entry("2024-06-02 00:00:00", 10, 12, 80, 2, 0, 0, "{\"3h\":1.5}")
+                        + "]}", MediaType.APPLICATION_JSON));
+
+        List<WeatherReport> forecast = backend.fetchForecast("10001");
+
+        assertEquals(2, forecast.size());
+        WeatherReport first = forecast.get(0);
+        assertEquals(LocalDate.of(2024, 6, 1), first.getDate());
+        assertEquals(24, first.getHighTemp());
+        assertEquals(14, first.getLowTemp());
+        assertEquals(50, first.getHumidity());
+        assertEquals(5, first.getWindSpeed());
+        assertEquals("W", first.getWindDirection());
+        assertEquals(60, first.getPrecipitationChance(), 1e-9);
+
+        WeatherReport second = forecast.get(1);
+        assertEquals(LocalDate.of(2024, 6, 2), second.getDate());
+        assertEquals(100, second.getPrecipitationChance());
+        server.verify();
+    }
+
+    @Test
+    void currentRainCountsAsPrecipitation() {
+        server.expect(requestTo(containsString("/weather?q=10001")))
+                .andRespond(withSuccess("{\"main\":{\"temp_min\":15,\"temp_max\":25,\"humidity\":50},"
+                        + "\"wind\":{\"speed\":3,\"deg\":90},\"rain\":{\"1h\":0.4}}", MediaType.APPLICATION_JSON));
+
+        WeatherReport report = backend.fetchCurrent("10001");
+
+        assertEquals(100, report.getPrecipitationChance());
+        assertEquals("E", report.getWindDirection());
+        server.verify();
+    }
+
+    private static String entry(String time, double low, double high, double humidity,
+                                double windSpeed, double windDeg, double pop, String rain) {
+        return "{\"dt_txt\":\"" + time + "\",\"main\":{\"temp_min\":" + low + ",\"temp_max\":" + high
+                + ",\"humidity\":" + humidity + "},\"wind\":{\"speed\":" + windSpeed + ",\"deg\":" + windDeg
+                + "},\"pop\":" + pop + (rain == null ? "" : ",\"rain\":" + rain) + "}";
+    }
+}
@@ -1,19 +1,51 @@
 package com.weather.report.config;
 
+import com.weather.common.geo.GeoGrid;
 import com.weather.storage.service.LocalStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class WeatherReportServiceConfig {
+    @Value("${weather.geo.precision:5}")
+    private int geoPrecision;
+
+    @Value("${weather.events.threads:2}")
+    private int eventThreads;
+
+    @Value("${weather.events.queue-size:1000}")
+    private int eventQueueSize;
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService eventPublishExecutor() {
+        // Bounded so a down alert service can't back events up without limit; overflow is dropped.
+        // Core and max are the same: with a bounded queue, threads beyond core would only start
+        // once the queue is already full.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(eventThreads, eventThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(eventQueueSize), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Bean
     public LocalStorageService storageService() {
         return new LocalStorageService();
     }
+
+    @Bean
+    public GeoGrid geoGrid() {
+        return new GeoGrid(geoPrecision);
+    }
 }
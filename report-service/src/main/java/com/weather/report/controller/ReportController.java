@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import com.weather.common.model.WeatherReport;
 import com.weather.report.service.WeatherReportService;
@@ -14,6 +15,8 @@ import com.weather.report.service.WeatherReportService;
 @Slf4j
 @RequiredArgsConstructor
 public class ReportController {
+    private static final int MAX_RANGE_DAYS = 366;
+
     private final WeatherReportService reportService;
 
     @GetMapping("/report")
@@ -29,6 +32,35 @@ public class ReportController {
         }
     }
 
+    @GetMapping("/current")
+    public ResponseEntity<WeatherReport> getCurrentWeather(@RequestParam String location) {
+        try {
+            WeatherReport report = reportService.getWeatherReport(location, LocalDate.now());
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            log.error("Error fetching current weather", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<WeatherReport>> getReportRange(
+            @RequestParam String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // Both ends are inclusive, so a span of MAX_RANGE_DAYS days ends MAX_RANGE_DAYS - 1 days in
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<WeatherReport> reports = reportService.getReportRange(location, startDate, endDate);
+            return ResponseEntity.ok(reports);
+        } catch (Exception e) {
+            log.error("Error fetching report range", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/forecast")
     public ResponseEntity<List<WeatherReport>> getWeeklyForecast(
             @RequestParam String location,
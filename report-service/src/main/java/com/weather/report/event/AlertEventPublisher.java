@@ -0,0 +1,70 @@
+package com.weather.report.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.WeatherReportChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+// Forwards stored-report events to the alert service so it can evaluate that location right away.
+// Delivery is best effort: the alert service still polls as a fallback. Events go as Smile, the
+// binary form of JSON the alert service reads alongside JSON; the shared RestTemplate also calls
+// OpenWeather, so the body is encoded here rather than by reordering its converters.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AlertEventPublisher {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService eventPublishExecutor;
+    // Configured like the Smile converter Spring MVC reads it with on the other side
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Value("${weather.events.alerts-url:http://localhost:8083/internal/alerts/events}")
+    private String alertsUrl;
+
+    @Value("${weather.events.enabled:true}")
+    private boolean enabled;
+
+    @EventListener
+    public void onReportChanged(WeatherReportChange change) {
+        if (!enabled) {
+            return;
+        }
+        // Serialized on the caller's thread so later changes to the report can't leak in
+        byte[] body;
+        try {
+            body = smileMapper.writeValueAsBytes(change);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize report change for {}", change.getCell(), e);
+            return;
+        }
+        try {
+            eventPublishExecutor.execute(() -> send(change, body));
+        } catch (RejectedExecutionException e) {
+            log.warn("Dropping report change for {}: publish queue is full", change.getCell());
+        }
+    }
+
+    private void send(WeatherReportChange change, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(SMILE);
+        try {
+            restTemplate.postForLocation(alertsUrl, new HttpEntity<>(body, headers));
+        } catch (Exception e) {
+            log.warn("Failed to publish report change for {}: {}", change.getCell(), e.getMessage());
+        }
+    }
+}
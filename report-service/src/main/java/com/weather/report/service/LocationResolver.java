@@ -0,0 +1,102 @@
+package com.weather.report.service;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.LocationCell;
+import com.weather.provider.model.GeocodingResponse;
+import com.weather.storage.service.LocalStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LocationResolver {
+    private final RestTemplate restTemplate;
+    private final LocalStorageService storageService;
+    private final GeoGrid geoGrid;
+    private final ReportMeters meters;
+    private final String apiKey = System.getenv("OW_API_KEY");
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+    // Locations the geocoder couldn't place, and until when to stop asking it again
+    private final Map<String, Long> unresolvedUntil = new ConcurrentHashMap<>();
+
+    @Value("${weather.openweather.base-url:https://api.openweathermap.org}")
+    private String openWeatherBaseUrl;
+
+    @Value("${weather.geocode.failure-ttl-ms:300000}")
+    private long failureTtlMillis;
+
+    // Maps a zip, coordinate pair or cell id onto its grid cell. Falls back to the
+    // raw location if it cannot be geocoded so lookups still work, just unshared.
+    public String resolveCell(String location) {
+        Optional<String> direct = geoGrid.cellOf(location);
+        if (direct.isPresent()) {
+            return direct.get();
+        }
+        String key = location.trim().toLowerCase();
+        String cell = resolved.get(key);
+        if (cell != null) {
+            return cell;
+        }
+        Long retryAt = unresolvedUntil.get(key);
+        if (retryAt != null && retryAt > System.currentTimeMillis()) {
+            return location;
+        }
+
+        Optional<String> found = storageService.getLocationCell(key)
+                .map(stored -> geoGrid.cellOf(stored.getLatitude(), stored.getLongitude()))
+                .or(() -> geocode(key));
+        if (found.isPresent()) {
+            resolved.put(key, found.get());
+            unresolvedUntil.remove(key);
+        } else {
+            unresolvedUntil.put(key, System.currentTimeMillis() + failureTtlMillis);
+        }
+        return found.orElse(location);
+    }
+
+    private Optional<String> geocode(String location) {
+        // A cell id coarser than the grid isn't a zip either
+        if (location.startsWith(GeoGrid.CELL_PREFIX)) {
+            return Optional.empty();
+        }
+        // Variables are encoded strictly, so spaces, '&' and '#' in a name stay inside the zip value
+        URI url = UriComponentsBuilder.fromHttpUrl(openWeatherBaseUrl)
+                .path("/geo/1.0/zip")
+                .queryParam("zip", "{zip},us")
+                .queryParam("appid", "{appid}")
+                .encode()
+                .buildAndExpand(location, apiKey)
+                .toUri();
+        long started = System.nanoTime();
+        boolean answered = false;
+        try {
+            GeocodingResponse response = restTemplate.getForObject(url, GeocodingResponse.class);
+            answered = response != null;
+            meters.geocode(started, answered);
+            if (response == null) {
+                return Optional.empty();
+            }
+            String cell = geoGrid.cellOf(response.getLat(), response.getLon());
+            storageService.saveLocationCell(
+                    new LocationCell(location, response.getLat(), response.getLon(), cell));
+            log.info("Resolved location {} to cell {}", location, cell);
+            return Optional.of(cell);
+        } catch (Exception e) {
+            if (!answered) {
+                meters.geocode(started, false);
+            }
+            log.warn("Failed to geocode location {}: {}", location, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
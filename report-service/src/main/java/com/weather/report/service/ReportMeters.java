@@ -0,0 +1,51 @@
+package com.weather.report.service;
+
+import com.weather.common.metrics.ServiceMeters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Storage hits and misses per report day, and the latency of every OpenWeather call by outcome
+@Component
+public class ReportMeters {
+    private final Counter storageHits;
+    private final Counter storageMisses;
+    private final Timer forecastSuccess;
+    private final Timer forecastError;
+    private final Timer geocodeSuccess;
+    private final Timer geocodeError;
+
+    public ReportMeters(MeterRegistry registry) {
+        storageHits = ServiceMeters.counter(registry, "weather.report.storage",
+                "Report days answered from storage or fetched upstream", "result", "hit");
+        storageMisses = ServiceMeters.counter(registry, "weather.report.storage",
+                "Report days answered from storage or fetched upstream", "result", "miss");
+        forecastSuccess = ServiceMeters.timer(registry, "weather.report.upstream",
+                "OpenWeather calls", "call", "forecast", "outcome", "success");
+        forecastError = ServiceMeters.timer(registry, "weather.report.upstream",
+                "OpenWeather calls", "call", "forecast", "outcome", "error");
+        geocodeSuccess = ServiceMeters.timer(registry, "weather.report.upstream",
+                "OpenWeather calls", "call", "geocode", "outcome", "success");
+        geocodeError = ServiceMeters.timer(registry, "weather.report.upstream",
+                "OpenWeather calls", "call", "geocode", "outcome", "error");
+    }
+
+    void storageHit() {
+        storageHits.increment();
+    }
+
+    void storageMiss() {
+        storageMisses.increment();
+    }
+
+    void forecast(long startedNanos, boolean success) {
+        (success ? forecastSuccess : forecastError).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void geocode(long startedNanos, boolean success) {
+        (success ? geocodeSuccess : geocodeError).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,10 +1,15 @@
 package com.weather.report.service;
 
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.geo.GeoPoint;
 import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherReportChange;
 import com.weather.provider.model.OpenWeatherResponse;
 import com.weather.storage.service.LocalStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import java.time.LocalDate;
@@ -21,50 +26,110 @@ import java.util.ArrayList;
 public class WeatherReportService {
     private final RestTemplate restTemplate;
     private final LocalStorageService storageService;
+    private final LocationResolver locationResolver;
+    private final GeoGrid geoGrid;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportMeters meters;
     private final String apiKey = System.getenv("OW_API_KEY");
 
+    @Value("${weather.openweather.base-url:https://api.openweathermap.org}")
+    private String openWeatherBaseUrl;
+
     public WeatherReport getWeatherReport(String location, LocalDate date) {
+        // Reports are stored per grid cell so nearby locations share one entry
+        String cell = locationResolver.resolveCell(location);
+
         // Try to get from local storage first
-        Optional<WeatherReport> cached = storageService.getWeatherReport(location, date);
+        Optional<WeatherReport> cached = storageService.getWeatherReport(cell, date);
         if (cached.isPresent()) {
-            return cached.get();
+            meters.storageHit();
+            WeatherReport report = cached.get();
+            report.setLocation(location);
+            return report;
         }
+        meters.storageMiss();
 
         // Fetch from OpenWeather API if not in storage
-        WeatherReport report = fetchFromOpenWeather(location, date);
-        storageService.saveWeatherReport(location, date, report);
+        WeatherReport report = fetchFromOpenWeather(cell, date);
+        saveReport(cell, date, report);
+        report.setLocation(location);
         return report;
     }
 
     public List<WeatherReport> getWeeklyReport(String location, LocalDate startDate) {
+        return getReportRange(location, startDate, startDate.plusDays(6));
+    }
+
+    // Serves stored days from storage and fills every missing day from a single upstream fetch
+    public List<WeatherReport> getReportRange(String location, LocalDate startDate, LocalDate endDate) {
+        String cell = locationResolver.resolveCell(location);
         List<WeatherReport> reports = new ArrayList<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = startDate.plusDays(i);
-            reports.add(getWeatherReport(location, date));
+        OpenWeatherResponse response = null;
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            Optional<WeatherReport> cached = storageService.getWeatherReport(cell, date);
+            WeatherReport report;
+            if (cached.isPresent()) {
+                meters.storageHit();
+                report = cached.get();
+            } else {
+                meters.storageMiss();
+                if (response == null) {
+                    response = fetchForecast(cell);
+                }
+                report = mapToWeatherReport(response, cell, date);
+                saveReport(cell, date, report);
+            }
+            report.setLocation(location);
+            reports.add(report);
         }
         return reports;
     }
 
+    // Stored reports are never replaced, so every save is new data for that cell and day
+    private void saveReport(String cell, LocalDate date, WeatherReport report) {
+        storageService.saveWeatherReport(cell, date, report);
+        eventPublisher.publishEvent(new WeatherReportChange(cell, date, report));
+    }
+
     private WeatherReport fetchFromOpenWeather(String location, LocalDate date) {
-        String url = String.format(
-                "https://api.openweathermap.org/data/2.5/forecast?zip=%s,us&appid=%s&units=metric",
-                location, apiKey
-        );
+        return mapToWeatherReport(fetchForecast(location), location, date);
+    }
+
+    private OpenWeatherResponse fetchForecast(String location) {
+        String url = buildForecastUrl(location);
 
+        long started = System.nanoTime();
         try {
             log.info("Fetching weather data for location: {}", location);
             OpenWeatherResponse response = restTemplate.getForObject(url, OpenWeatherResponse.class);
             if (response != null) {
-                return mapToWeatherReport(response, location, date);
+                meters.forecast(started, true);
+                return response;
             } else {
                 throw new RuntimeException("No response from weather service");
             }
         } catch (Exception e) {
+            meters.forecast(started, false);
             log.error("Failed to fetch weather data for {}", location, e);
             throw new RuntimeException("Failed to fetch weather data", e);
         }
     }
 
+    private String buildForecastUrl(String location) {
+        if (geoGrid.isCell(location)) {
+            GeoPoint center = geoGrid.centerOf(location);
+            return String.format(
+                    "%s/data/2.5/forecast?lat=%.5f&lon=%.5f&appid=%s&units=metric",
+                    openWeatherBaseUrl, center.getLatitude(), center.getLongitude(), apiKey
+            );
+        }
+        return String.format(
+                "%s/data/2.5/forecast?zip=%s,us&appid=%s&units=metric",
+                openWeatherBaseUrl, location, apiKey
+        );
+    }
+
     private WeatherReport mapToWeatherReport(OpenWeatherResponse response, String location, LocalDate date) {
         if (response == null || response.getList() == null || response.getList().isEmpty()) {
             throw new RuntimeException("Invalid response from weather service");
@@ -0,0 +1,32 @@
+package com.weather.report.controller;
+
+import com.weather.report.service.WeatherReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportControllerTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final WeatherReportService reportService = mock(WeatherReportService.class);
+    private final ReportController controller = new ReportController(reportService);
+
+    @Test
+    void rangeAcceptsAtMost366InclusiveDays() {
+        when(reportService.getReportRange(anyString(), any(), any())).thenReturn(Collections.emptyList());
+
+        // 2024 is a leap year: Jan 1 through Dec 31 is 366 days
+        assertEquals(HttpStatus.OK, controller.getReportRange("Oslo", START, START.plusDays(365)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getReportRange("Oslo", START, START.plusDays(366)).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getReportRange("Oslo", START, START).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getReportRange("Oslo", START, START.minusDays(1)).getStatusCode());
+    }
+}
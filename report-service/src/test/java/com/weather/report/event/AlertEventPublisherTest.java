@@ -0,0 +1,103 @@
+package com.weather.report.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherReportChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AlertEventPublisherTest {
+    private static final String ALERTS_URL = "http://alerts.test/internal/alerts/events";
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void storedReportsArePostedAsSmile() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        CountDownLatch delivered = new CountDownLatch(1);
+        server.expect(once(), requestTo(ALERTS_URL))
+                .andExpect(header("Content-Type", "application/x-jackson-smile"))
+                .andExpect(request -> {
+                    WeatherReportChange sent = smileMapper.readValue(
+                            ((MockClientHttpRequest) request).getBodyAsBytes(), WeatherReportChange.class);
+                    assertEquals("gh-dr5ru", sent.getCell());
+                    assertEquals(31.0, sent.getReport().getHighTemp(), 0);
+                    delivered.countDown();
+                })
+                .andRespond(withSuccess());
+        WeatherReport report = report();
+
+        publisher(restTemplate).onReportChanged(new WeatherReportChange("gh-dr5ru", LocalDate.of(2024, 6, 1), report));
+        // Serialized before handing off, so later edits to the report don't leak into the event
+        report.setHighTemp(99);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        server.verify();
+    }
+
+    @Test
+    void eventsBeyondTheQueueAreDroppedWithoutBlockingTheCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // One event in flight and one queued fill the executor
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> { });
+        AlertEventPublisher publisher = publisher(new RestTemplate());
+
+        publisher.onReportChanged(new WeatherReportChange("gh-dr5ru", LocalDate.of(2024, 6, 1), report()));
+
+        assertEquals(1, executor.getQueue().size());
+        release.countDown();
+    }
+
+    private AlertEventPublisher publisher(RestTemplate restTemplate) {
+        AlertEventPublisher publisher = new AlertEventPublisher(restTemplate, executor);
+        ReflectionTestUtils.setField(publisher, "alertsUrl", ALERTS_URL);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        return publisher;
+    }
+
+    private static WeatherReport report() {
+        WeatherReport report = new WeatherReport();
+        report.setLocation("gh-dr5ru");
+        report.setDate(LocalDate.of(2024, 6, 1));
+        report.setHighTemp(31);
+        report.setLowTemp(20);
+        return report;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.weather.report.service;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.storage.service.LocalStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class LocationResolverTest {
+    @TempDir
+    Path storage;
+
+    private MockRestServiceServer server;
+    private LocationResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        resolver = new LocationResolver(restTemplate, new LocalStorageService(storage), new GeoGrid(5),
+                new ReportMeters(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(resolver, "openWeatherBaseUrl", "http://geocoder.test");
+        ReflectionTestUtils.setField(resolver, "failureTtlMillis", 60_000L);
+    }
+
+    @Test
+    void geocodesOnceAndRemembersTheCell() {
+        server.expect(once(), requestTo(containsString("/geo/1.0/zip?zip=10001,us")))
+                .andRespond(withSuccess("{\"zip\":\"10001\",\"lat\":40.7484,\"lon\":-73.9857}", MediaType.APPLICATION_JSON));
+
+        assertEquals("gh-dr5ru", resolver.resolveCell("10001"));
+        assertEquals("gh-dr5ru", resolver.resolveCell(" 10001 "));
+        server.verify();
+    }
+
+    @Test
+    void encodesTheLocationIntoTheQuery() {
+        server.expect(once(), requestTo(containsString("zip=new%20york%20%26%20co%23x,us&appid=")))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertEquals("New York & Co#x", resolver.resolveCell("New York & Co#x"));
+        server.verify();
+    }
+
+    @Test
+    void failedGeocodesAreNotRetriedUntilTheirTtlExpires() throws InterruptedException {
+        ReflectionTestUtils.setField(resolver, "failureTtlMillis", 200L);
+        server.expect(once(), requestTo(containsString("zip=99999,us")))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        assertEquals("99999", resolver.resolveCell("99999"));
+        assertEquals("99999", resolver.resolveCell("99999"));
+        server.verify();
+
+        server.reset();
+        Thread.sleep(250);
+        server.expect(once(), requestTo(containsString("zip=99999,us")))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        assertEquals("99999", resolver.resolveCell("99999"));
+        server.verify();
+    }
+
+    @Test
+    void cellsAndCoordinatesNeverReachTheGeocoder() {
+        assertEquals("gh-dr5ru", resolver.resolveCell("40.7484,-73.9857"));
+        assertEquals("gh-dr5ru", resolver.resolveCell("gh-dr5ru7"));
+        // Coarser than the grid: not a cell, and not worth asking the zip geocoder about
+        assertEquals("gh-dr5", resolver.resolveCell("gh-dr5"));
+        server.verify();
+    }
+}
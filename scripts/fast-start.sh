@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Launches a service from the artifacts built by: mvn -B -Pfast-start package -DskipTests
+#   scripts/fast-start.sh <service> [--spring.property=value ...]
+# FAST_START=off runs the same jar without the AOT code, CDS archive or lazy initialization,
+# for comparison. JAVA_OPTS is passed through to the JVM.
+set -euo pipefail
+
+if [ $# -lt 1 ]; then
+  echo "usage: $0 <service> [args]" >&2
+  exit 2
+fi
+service=$1
+shift
+dir="$(cd "$(dirname "$0")/.." && pwd)/$service/target/fast-start"
+if [ ! -f "$dir/application.jsa" ]; then
+  echo "$dir/application.jsa not found; build with: mvn -B -Pfast-start package -DskipTests" >&2
+  exit 1
+fi
+jar=$(cd "$dir" && ls *.jar)
+
+opts=()
+# Only a statistics-service built with -Pvector has the vector kernel to load
+if [ "$service" = statistics-service ] && (cd "$dir" && jar tf "$jar") | grep -q VectorStatisticsKernel; then
+  opts+=(--add-modules jdk.incubator.vector)
+fi
+if [ "${FAST_START:-on}" != off ]; then
+  opts+=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true)
+  # The alert service starts its engine, cluster lease and WebSocket broker once ready anyway,
+  # so lazy beans there would only move configuration errors to the first tick
+  if [ "$service" != alert-service ]; then
+    opts+=(-Dspring.main.lazy-initialization=true)
+  fi
+fi
+
+# The archive only matches the class path it was trained with, which is relative to this directory
+cd "$dir"
+exec java "${opts[@]}" ${JAVA_OPTS:-} -jar "$jar" "$@"
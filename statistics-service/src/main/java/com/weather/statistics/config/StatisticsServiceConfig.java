@@ -1,18 +1,71 @@
 package com.weather.statistics.config;
 
+import com.weather.common.geo.GeoGrid;
+import com.weather.statistics.kernel.StatisticsKernel;
+import com.weather.statistics.kernel.StatisticsKernels;
 import com.weather.storage.service.LocalStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class StatisticsServiceConfig{
+    @Value("${weather.geo.precision:5}")
+    private int geoPrecision;
+
+    @Value("${statistics.fetch.parallelism:8}")
+    private int fetchParallelism;
+
+    @Value("${statistics.fetch.timeout-ms:2000}")
+    private int fetchTimeoutMillis;
+
+    @Value("${statistics.batch.parallelism:8}")
+    private int batchParallelism;
+
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // Bounded so fetches abandoned at the deadline don't pin pool threads
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(fetchTimeoutMillis);
+        requestFactory.setReadTimeout(fetchTimeoutMillis);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        // Calls here only go to other backend services, so Smile goes ahead of JSON: request bodies
+        // are written as Smile and Accept lists it first. A peer without Smile still answers JSON.
+        restTemplate.getMessageConverters().removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+        restTemplate.getMessageConverters().add(0, new MappingJackson2SmileHttpMessageConverter());
+        return restTemplate;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService reportFetchExecutor() {
+        return Executors.newFixedThreadPool(fetchParallelism);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService batchStatisticsExecutor() {
+        // Partitions block on geocode and report fetches, so they get plain threads of their
+        // own rather than a work-stealing pool that assumes its tasks keep the CPU busy
+        return Executors.newFixedThreadPool(batchParallelism);
     }
+
     @Bean
     public LocalStorageService storageService() {
         return new LocalStorageService();
     }
+
+    @Bean
+    public StatisticsKernel statisticsKernel(@Value("${statistics.kernel.vector:true}") boolean preferVector) {
+        return StatisticsKernels.select(preferVector);
+    }
+
+    @Bean
+    public GeoGrid geoGrid() {
+        return new GeoGrid(geoPrecision);
+    }
 }
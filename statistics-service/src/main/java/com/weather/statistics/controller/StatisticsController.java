@@ -1,11 +1,16 @@
 package com.weather.statistics.controller;
 
+import com.weather.statistics.model.BatchStatisticsRequest;
 import com.weather.statistics.model.StatisticsRequest;
 import com.weather.common.model.WeatherStatistics;
+import com.weather.statistics.service.BatchStatisticsService;
 import com.weather.statistics.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -14,21 +19,47 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class StatisticsController {
     private final StatisticsService statisticsService;
+    private final BatchStatisticsService batchStatisticsService;
+
+    @Value("${statistics.batch.max-locations:1000}")
+    private int maxBatchLocations;
 
     @PostMapping
     public ResponseEntity<WeatherStatistics> calculateStatistics(
             @RequestBody StatisticsRequest request) {
         try {
-            WeatherStatistics stats = statisticsService.calculateStatistics(
-                    request.getLocation(),
-                    request.getStartDate(),
-                    request.getEndDate(),
-                    request.getMetrics()
-            );
+            WeatherStatistics stats = request.getLocations() != null && !request.getLocations().isEmpty()
+                    ? statisticsService.calculateCombinedStatistics(
+                            request.getLocations(),
+                            request.getStartDate(),
+                            request.getEndDate(),
+                            request.getMetrics())
+                    : statisticsService.calculateStatistics(
+                            request.getLocation(),
+                            request.getStartDate(),
+                            request.getEndDate(),
+                            request.getMetrics());
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             log.error("Error calculating statistics", e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Streams one NDJSON line per location as each finishes
+    @PostMapping(value = "/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> calculateBatchStatistics(
+            @RequestBody BatchStatisticsRequest request) {
+        if (request.getLocations() == null || request.getLocations().isEmpty()
+                || request.getLocations().size() > maxBatchLocations
+                || request.getMetrics() == null
+                || request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> batchStatisticsService.streamStatistics(request, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
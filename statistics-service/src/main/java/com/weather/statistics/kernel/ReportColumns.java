@@ -0,0 +1,54 @@
+package com.weather.statistics.kernel;
+
+import com.weather.common.model.WeatherReport;
+import com.weather.storage.index.IndexedMetric;
+
+import java.util.List;
+
+// Struct-of-arrays view of a batch of reports: one primitive column per indexed metric
+public final class ReportColumns {
+    private final int size;
+    private final double[][] columns;
+
+    public ReportColumns(double[][] columns, int size) {
+        this.columns = columns;
+        this.size = size;
+    }
+
+    public static ReportColumns of(List<WeatherReport> reports) {
+        int size = reports.size();
+        double[] temperature = new double[size];
+        double[] precipitation = new double[size];
+        double[] wind = new double[size];
+        double[] humidity = new double[size];
+        for (int i = 0; i < size; i++) {
+            WeatherReport report = reports.get(i);
+            temperature[i] = (report.getHighTemp() + report.getLowTemp()) / 2;
+            precipitation[i] = report.getPrecipitationChance();
+            wind[i] = report.getWindSpeed();
+            humidity[i] = report.getHumidity();
+        }
+        double[][] columns = new double[IndexedMetric.COUNT][];
+        columns[IndexedMetric.TEMPERATURE.ordinal()] = temperature;
+        columns[IndexedMetric.PRECIPITATION.ordinal()] = precipitation;
+        columns[IndexedMetric.WIND.ordinal()] = wind;
+        columns[IndexedMetric.HUMIDITY.ordinal()] = humidity;
+        return new ReportColumns(columns, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double[] column(IndexedMetric metric) {
+        return columns[metric.ordinal()];
+    }
+
+    public double[] row(int index) {
+        double[] values = new double[IndexedMetric.COUNT];
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            values[m] = columns[m][index];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,64 @@
+package com.weather.statistics.kernel;
+
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+
+public class ScalarStatisticsKernel implements StatisticsKernel {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public RangeAggregate aggregate(ReportColumns columns) {
+        double[] t = columns.column(IndexedMetric.TEMPERATURE);
+        double[] p = columns.column(IndexedMetric.PRECIPITATION);
+        double[] w = columns.column(IndexedMetric.WIND);
+        double[] h = columns.column(IndexedMetric.HUMIDITY);
+
+        double tSum = 0, tSq = 0, tMin = Double.POSITIVE_INFINITY, tMax = Double.NEGATIVE_INFINITY;
+        double pSum = 0, pSq = 0, pMin = Double.POSITIVE_INFINITY, pMax = Double.NEGATIVE_INFINITY;
+        double wSum = 0, wSq = 0, wMin = Double.POSITIVE_INFINITY, wMax = Double.NEGATIVE_INFINITY;
+        double hSum = 0, hSq = 0, hMin = Double.POSITIVE_INFINITY, hMax = Double.NEGATIVE_INFINITY;
+
+        // One fused loop; accumulators stay in registers
+        for (int i = 0; i < columns.size(); i++) {
+            double tv = t[i];
+            double pv = p[i];
+            double wv = w[i];
+            double hv = h[i];
+            tSum += tv;
+            tSq += tv * tv;
+            tMin = Math.min(tMin, tv);
+            tMax = Math.max(tMax, tv);
+            pSum += pv;
+            pSq += pv * pv;
+            pMin = Math.min(pMin, pv);
+            pMax = Math.max(pMax, pv);
+            wSum += wv;
+            wSq += wv * wv;
+            wMin = Math.min(wMin, wv);
+            wMax = Math.max(wMax, wv);
+            hSum += hv;
+            hSq += hv * hv;
+            hMin = Math.min(hMin, hv);
+            hMax = Math.max(hMax, hv);
+        }
+
+        return RangeAggregate.of(columns.size(),
+                ordered(tSum, pSum, wSum, hSum),
+                ordered(tSq, pSq, wSq, hSq),
+                ordered(tMin, pMin, wMin, hMin),
+                ordered(tMax, pMax, wMax, hMax));
+    }
+
+    static double[] ordered(double temperature, double precipitation, double wind, double humidity) {
+        double[] values = new double[IndexedMetric.COUNT];
+        values[IndexedMetric.TEMPERATURE.ordinal()] = temperature;
+        values[IndexedMetric.PRECIPITATION.ordinal()] = precipitation;
+        values[IndexedMetric.WIND.ordinal()] = wind;
+        values[IndexedMetric.HUMIDITY.ordinal()] = humidity;
+        return values;
+    }
+}
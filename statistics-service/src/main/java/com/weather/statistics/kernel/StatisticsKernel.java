@@ -0,0 +1,10 @@
+package com.weather.statistics.kernel;
+
+import com.weather.storage.index.RangeAggregate;
+
+// Computes count, sum, sum of squares, min and max of every metric in one pass over the columns
+public interface StatisticsKernel {
+    String getName();
+
+    RangeAggregate aggregate(ReportColumns columns);
+}
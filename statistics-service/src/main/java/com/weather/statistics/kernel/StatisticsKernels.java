@@ -0,0 +1,34 @@
+package com.weather.statistics.kernel;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class StatisticsKernels {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.weather.statistics.kernel.VectorStatisticsKernel";
+
+    private StatisticsKernels() {
+    }
+
+    // The vector kernel is loaded reflectively so the class never links unless the
+    // incubator module is present in the boot layer. It is only built with -Pvector.
+    public static StatisticsKernel select(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                StatisticsKernel kernel = (StatisticsKernel) Class.forName(VECTOR_KERNEL)
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("Using {} statistics kernel", kernel.getName());
+                return kernel;
+            } catch (ClassNotFoundException e) {
+                log.info("Vector statistics kernel not built (package with -Pvector), using scalar statistics kernel");
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector statistics kernel unavailable, falling back to scalar", e);
+            }
+        } else if (preferVector) {
+            log.info("{} not enabled (start with --add-modules {}), using scalar statistics kernel",
+                    VECTOR_MODULE, VECTOR_MODULE);
+        }
+        return new ScalarStatisticsKernel();
+    }
+}
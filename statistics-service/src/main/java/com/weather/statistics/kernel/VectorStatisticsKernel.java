@@ -0,0 +1,77 @@
+package com.weather.statistics.kernel;
+
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD variant of the fused kernel. Only built with -Pvector, and only loaded when the JVM was
+// started with --add-modules jdk.incubator.vector; see StatisticsKernels.
+public class VectorStatisticsKernel implements StatisticsKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+
+    @Override
+    public RangeAggregate aggregate(ReportColumns columns) {
+        double[][] data = {
+                columns.column(IndexedMetric.TEMPERATURE),
+                columns.column(IndexedMetric.PRECIPITATION),
+                columns.column(IndexedMetric.WIND),
+                columns.column(IndexedMetric.HUMIDITY)
+        };
+        int size = columns.size();
+        int metrics = data.length;
+
+        DoubleVector[] sum = new DoubleVector[metrics];
+        DoubleVector[] sumSq = new DoubleVector[metrics];
+        DoubleVector[] min = new DoubleVector[metrics];
+        DoubleVector[] max = new DoubleVector[metrics];
+        for (int m = 0; m < metrics; m++) {
+            sum[m] = DoubleVector.zero(SPECIES);
+            sumSq[m] = DoubleVector.zero(SPECIES);
+            min[m] = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+            max[m] = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        }
+
+        int i = 0;
+        int upper = SPECIES.loopBound(size);
+        for (; i < upper; i += SPECIES.length()) {
+            for (int m = 0; m < metrics; m++) {
+                DoubleVector v = DoubleVector.fromArray(SPECIES, data[m], i);
+                sum[m] = sum[m].add(v);
+                sumSq[m] = v.fma(v, sumSq[m]);
+                min[m] = min[m].min(v);
+                max[m] = max[m].max(v);
+            }
+        }
+
+        double[][] lanes = new double[4][metrics];
+        for (int m = 0; m < metrics; m++) {
+            lanes[0][m] = sum[m].reduceLanes(VectorOperators.ADD);
+            lanes[1][m] = sumSq[m].reduceLanes(VectorOperators.ADD);
+            lanes[2][m] = min[m].reduceLanes(VectorOperators.MIN);
+            lanes[3][m] = max[m].reduceLanes(VectorOperators.MAX);
+        }
+        // Scalar tail
+        for (; i < size; i++) {
+            for (int m = 0; m < metrics; m++) {
+                double v = data[m][i];
+                lanes[0][m] += v;
+                lanes[1][m] += v * v;
+                lanes[2][m] = Math.min(lanes[2][m], v);
+                lanes[3][m] = Math.max(lanes[3][m], v);
+            }
+        }
+
+        return RangeAggregate.of(size,
+                ScalarStatisticsKernel.ordered(lanes[0][0], lanes[0][1], lanes[0][2], lanes[0][3]),
+                ScalarStatisticsKernel.ordered(lanes[1][0], lanes[1][1], lanes[1][2], lanes[1][3]),
+                ScalarStatisticsKernel.ordered(lanes[2][0], lanes[2][1], lanes[2][2], lanes[2][3]),
+                ScalarStatisticsKernel.ordered(lanes[3][0], lanes[3][1], lanes[3][2], lanes[3][3]));
+    }
+}
@@ -0,0 +1,13 @@
+package com.weather.statistics.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BatchStatisticsRequest {
+    private List<String> locations; // each location gets its own statistics line
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<String> metrics;
+}
@@ -0,0 +1,16 @@
+package com.weather.statistics.model;
+
+import com.weather.common.model.WeatherStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One NDJSON line of a batch response; exactly one of statistics or error is set
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocationStatisticsResult {
+    private String location;
+    private WeatherStatistics statistics;
+    private String error;
+}
@@ -7,6 +7,7 @@ import java.util.List;
 @Data
 public class StatisticsRequest {
     private String location;
+    private List<String> locations; // when set, statistics are merged across all of them
     private LocalDate startDate;
     private LocalDate endDate;
     private List<String> metrics;
@@ -0,0 +1,113 @@
+package com.weather.statistics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.WeatherStatistics;
+import com.weather.statistics.model.BatchStatisticsRequest;
+import com.weather.statistics.model.LocationStatisticsResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BatchStatisticsService {
+    private final StatisticsService statisticsService;
+    private final ExecutorService batchStatisticsExecutor;
+    private final ObjectMapper objectMapper;
+
+    // Spellings of the same location are resolved once, and locations that resolve to the same
+    // storage partition are computed once and fanned out; each partition runs on the batch
+    // executor and its lines are written as soon as it finishes, so callers see results in
+    // completion order.
+    public void streamStatistics(BatchStatisticsRequest request, OutputStream out) throws IOException {
+        Map<String, Set<String>> spellings = new LinkedHashMap<>();
+        for (String location : request.getLocations()) {
+            if (location == null || location.isBlank()) {
+                continue;
+            }
+            String trimmed = location.trim();
+            spellings.computeIfAbsent(trimmed.toLowerCase(Locale.ROOT), key -> new LinkedHashSet<>()).add(trimmed);
+        }
+        Map<String, Set<String>> partitions = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : spellings.entrySet()) {
+            partitions.computeIfAbsent(statisticsService.resolveStorageKey(entry.getKey()), key -> new LinkedHashSet<>())
+                    .addAll(entry.getValue());
+        }
+        log.info("Batch statistics for {} locations across {} storage partitions from {} to {}",
+                request.getLocations().size(), partitions.size(), request.getStartDate(), request.getEndDate());
+
+        CompletionService<PartitionResult> completion = new ExecutorCompletionService<>(batchStatisticsExecutor);
+        List<Future<PartitionResult>> pending = new ArrayList<>();
+        for (Set<String> locations : partitions.values()) {
+            pending.add(completion.submit(() -> calculate(locations, request)));
+        }
+
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                PartitionResult result = completion.take().get();
+                for (String location : result.locations) {
+                    write(out, result.statistics != null
+                            ? new LocationStatisticsResult(location, withLocation(result.statistics, location), null)
+                            : new LocationStatisticsResult(location, null, result.error));
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch statistics failed", e.getCause());
+        } finally {
+            // Stops outstanding work if the client went away mid-stream
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private PartitionResult calculate(Set<String> locations, BatchStatisticsRequest request) {
+        String representative = locations.iterator().next();
+        try {
+            WeatherStatistics statistics = statisticsService.calculateStatistics(
+                    representative, request.getStartDate(), request.getEndDate(), request.getMetrics());
+            return new PartitionResult(locations, statistics, null);
+        } catch (Exception e) {
+            log.error("Failed to calculate statistics for {}", representative, e);
+            return new PartitionResult(locations, null, e.getMessage());
+        }
+    }
+
+    private WeatherStatistics withLocation(WeatherStatistics statistics, String location) {
+        return statistics.toBuilder().location(location).build();
+    }
+
+    private void write(OutputStream out, LocationStatisticsResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+    }
+
+    private static class PartitionResult {
+        private final Set<String> locations;
+        private final WeatherStatistics statistics;
+        private final String error;
+
+        private PartitionResult(Set<String> locations, WeatherStatistics statistics, String error) {
+            this.locations = locations;
+            this.statistics = statistics;
+            this.error = error;
+        }
+    }
+}
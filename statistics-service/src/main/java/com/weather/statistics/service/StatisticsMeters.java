@@ -0,0 +1,43 @@
+package com.weather.statistics.service;
+
+import com.weather.common.metrics.ServiceMeters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Splits a statistics request into the time spent fetching missing days from the report
+// service and the time spent computing over the index, and counts days by where they came from
+@Component
+public class StatisticsMeters {
+    private final Timer fetchComplete;
+    private final Timer fetchPartial;
+    private final Timer compute;
+    private final Counter indexedDays;
+    private final Counter fetchedDays;
+
+    public StatisticsMeters(MeterRegistry registry) {
+        fetchComplete = ServiceMeters.timer(registry, "weather.statistics.fetch",
+                "Fetches of missing days from the report service", "outcome", "complete");
+        fetchPartial = ServiceMeters.timer(registry, "weather.statistics.fetch",
+                "Fetches of missing days from the report service", "outcome", "partial");
+        compute = ServiceMeters.timer(registry, "weather.statistics.compute",
+                "Statistics requests excluding time spent fetching");
+        indexedDays = ServiceMeters.counter(registry, "weather.statistics.days",
+                "Days aggregated per request by source", "source", "index");
+        fetchedDays = ServiceMeters.counter(registry, "weather.statistics.days",
+                "Days aggregated per request by source", "source", "fetched");
+    }
+
+    void fetch(long nanos, boolean complete) {
+        (complete ? fetchComplete : fetchPartial).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void compute(long nanos, long indexed, long fetched) {
+        compute.record(nanos, TimeUnit.NANOSECONDS);
+        indexedDays.increment(indexed);
+        fetchedDays.increment(fetched);
+    }
+}
@@ -1,16 +1,37 @@
 package com.weather.statistics.service;
 
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.MetricStatistics;
 import com.weather.common.model.WeatherReport;
+import com.weather.statistics.kernel.ReportColumns;
+import com.weather.statistics.kernel.StatisticsKernel;
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+import com.weather.storage.index.RangeSketch;
 import com.weather.storage.service.LocalStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -18,121 +39,268 @@ import java.util.Optional;
 public class StatisticsService {
     private final RestTemplate restTemplate;
     private final LocalStorageService storageService;
+    private final GeoGrid geoGrid;
+    private final ExecutorService reportFetchExecutor;
+    private final StatisticsKernel statisticsKernel;
+    private final StatisticsMeters meters;
+
+    @Value("${statistics.fetch.chunk-days:31}")
+    private int chunkDays;
+
+    @Value("${statistics.fetch.deadline-ms:800}")
+    private long fetchDeadlineMillis;
+
+    private static final String PERCENTILES_SUFFIX = "_percentiles";
 
     public com.weather.common.model.WeatherStatistics calculateStatistics(
             String location,
             LocalDate startDate,
             LocalDate endDate,
             List<String> metrics) {
+        return calculateCombinedStatistics(Collections.singletonList(location), startDate, endDate, metrics);
+    }
+
+    // Aggregates and percentile sketches are mergeable, so a multi-location result is
+    // the merge of each location's index answers rather than a pass over raw reports.
+    public com.weather.common.model.WeatherStatistics calculateCombinedStatistics(
+            List<String> locations,
+            LocalDate startDate,
+            LocalDate endDate,
+            List<String> metrics) {
 
-        // Try to get from local storage first
-        Optional<com.weather.common.model.WeatherStatistics> cached =
-                storageService.getStatistics(location, startDate, endDate);
-        if (cached.isPresent()) {
-            log.info("Returning cached statistics for {} from {} to {}",
-                    location, startDate, endDate);
-            return cached.get();
+        long started = System.nanoTime();
+        long fetchNanos = 0;
+        long fetchedDays = 0;
+        Set<IndexedMetric> requested = new LinkedHashSet<>();
+        Set<IndexedMetric> percentiles = new LinkedHashSet<>();
+        for (String name : metrics) {
+            boolean wantsPercentiles = name.endsWith(PERCENTILES_SUFFIX);
+            IndexedMetric metric = IndexedMetric.fromMetricName(wantsPercentiles
+                    ? name.substring(0, name.length() - PERCENTILES_SUFFIX.length())
+                    : name);
+            if (metric == null) {
+                log.warn("Ignoring unknown metric: {}", name);
+                continue;
+            }
+            requested.add(metric);
+            if (wantsPercentiles) {
+                percentiles.add(metric);
+            }
         }
 
-        // Fetch all required reports
-        List<WeatherReport> reports = fetchReports(location, startDate, endDate);
-        log.info("Fetched {} reports for {} from {} to {}",
-                reports.size(), location, startDate, endDate);
+        RangeAggregate aggregates = new RangeAggregate();
+        RangeSketch sketch = new RangeSketch();
+        // Every location's gaps are fetched at once under one deadline for the whole request
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchDeadlineMillis);
+        List<PendingRange> pending = new ArrayList<>();
+        try {
+            for (String location : locations) {
+                pending.add(startLoad(location, startDate, endDate));
+            }
+            for (PendingRange next : pending) {
+                LoadedRange range = finishLoad(next, startDate, endDate, deadline);
+                fetchNanos = Math.max(fetchNanos, range.fetchNanos);
+                fetchedDays += range.fetchedDays;
+                aggregates.merge(storageService.getReportAggregates(range.storageKey, startDate, endDate));
+                if (!percentiles.isEmpty()) {
+                    sketch.merge(storageService.getReportSketch(range.storageKey, startDate, endDate));
+                }
+                // Fetched days that aren't visible in the shared index yet are folded in directly
+                if (!range.unindexed.isEmpty()) {
+                    ReportColumns columns = ReportColumns.of(range.unindexed);
+                    aggregates.merge(statisticsKernel.aggregate(columns));
+                    if (!percentiles.isEmpty()) {
+                        for (int i = 0; i < columns.size(); i++) {
+                            sketch.add(columns.row(i));
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (PendingRange next : pending) {
+                next.chunks.forEach(chunk -> chunk.cancel(true));
+            }
+        }
+        if (aggregates.getCount() == 0) {
+            log.warn("No reports available for {} from {} to {}", locations, startDate, endDate);
+        }
 
         // Calculate statistics
         com.weather.common.model.WeatherStatistics stats = new com.weather.common.model.WeatherStatistics();
-        stats.setLocation(location);
+        stats.setLocation(String.join(",", locations));
         stats.setStartDate(startDate);
         stats.setEndDate(endDate);
         stats.setCalculated(LocalDateTime.now());
+        stats.setDaysRequested((ChronoUnit.DAYS.between(startDate, endDate) + 1) * locations.size());
+        stats.setDaysCovered(aggregates.getCount());
+        stats.setPartial(aggregates.getCount() < stats.getDaysRequested());
 
-        if (metrics.contains("temps")) {
-            stats.setAverageTemperature(calculateAverageTemp(reports));
-        }
-        if (metrics.contains("precipitate")) {
-            stats.setAveragePrecipitation(calculateAveragePrecip(reports));
-        }
-        if (metrics.contains("wind")) {
-            stats.setAverageWindSpeed(calculateAverageWind(reports));
-        }
-        if (metrics.contains("humidity")) {
-            stats.setAverageHumidity(calculateAverageHumidity(reports));
-        }
+        Map<String, MetricStatistics> metricStatistics = new LinkedHashMap<>();
+        for (IndexedMetric metric : requested) {
+            MetricStatistics summary = new MetricStatistics();
+            summary.setCount(aggregates.getCount());
+            summary.setAverage(aggregates.getAverage(metric));
+            summary.setMin(aggregates.getMin(metric));
+            summary.setMax(aggregates.getMax(metric));
+            summary.setVariance(aggregates.getVariance(metric));
+            if (percentiles.contains(metric)) {
+                summary.setP50(sketch.quantile(metric, 0.50));
+                summary.setP90(sketch.quantile(metric, 0.90));
+                summary.setP99(sketch.quantile(metric, 0.99));
+            }
+            metricStatistics.put(metric.getMetricName(), summary);
 
-        // Save to local storage with both dates
-        storageService.saveStatistics(location, startDate, endDate, stats);
-        log.info("Saved new statistics to cache for {} from {} to {}",
-                location, startDate, endDate);
+            switch (metric) {
+                case TEMPERATURE:
+                    stats.setAverageTemperature(summary.getAverage());
+                    break;
+                case PRECIPITATION:
+                    stats.setAveragePrecipitation(summary.getAverage());
+                    break;
+                case WIND:
+                    stats.setAverageWindSpeed(summary.getAverage());
+                    break;
+                case HUMIDITY:
+                    stats.setAverageHumidity(summary.getAverage());
+                    break;
+                default:
+                    break;
+            }
+        }
+        stats.setMetrics(metricStatistics);
 
+        meters.compute(System.nanoTime() - started - fetchNanos, aggregates.getCount() - fetchedDays, fetchedDays);
         return stats;
     }
 
-    private List<WeatherReport> fetchReports(String location, LocalDate startDate, LocalDate endDate) {
-        List<WeatherReport> reports = new ArrayList<>();
-        LocalDate current = startDate;
-
-        while (!current.isAfter(endDate)) {
-            try {
-                String url = String.format(
-                        "http://localhost:8081/api/weather/report?location=%s&date=%s",
-                        location, current
-                );
-                log.debug("Fetching report from: {}", url);
-                WeatherReport report = restTemplate.getForObject(url, WeatherReport.class);
-                if (report != null) {
-                    reports.add(report);
-                    log.debug("Received report for {}: {}", current, report);
-                }
-            } catch (Exception e) {
-                log.error("Failed to fetch report for {} with error: {}", current, e.getMessage());
+    // Days already stored are answered by the aggregate index; only gaps hit the report service
+    private PendingRange startLoad(String location, LocalDate startDate, LocalDate endDate) {
+        String storageKey = resolveStorageKey(location);
+        List<LocalDate> missing = storageService.getUnindexedReportDates(storageKey, startDate, endDate);
+        return new PendingRange(location, storageKey, missing, System.nanoTime(),
+                missing.isEmpty() ? Collections.emptyList() : submitFetches(location, missing));
+    }
+
+    private LoadedRange finishLoad(PendingRange pending, LocalDate startDate, LocalDate endDate, long deadline) {
+        if (pending.missing.isEmpty()) {
+            return new LoadedRange(pending.storageKey, Collections.emptyList(), 0, 0);
+        }
+
+        String location = pending.location;
+        List<LocalDate> missing = pending.missing;
+        List<WeatherReport> fetched = collectFetches(location, pending.chunks, deadline);
+        long fetchNanos = System.nanoTime() - pending.fetchStarted;
+        meters.fetch(fetchNanos, fetched.size() >= missing.size());
+        log.info("Fetched {} of {} missing reports for {} from {} to {}",
+                fetched.size(), missing.size(), location, startDate, endDate);
+        // The fetch may have geocoded the location for the first time
+        String storageKey = resolveStorageKey(location);
+
+        Set<LocalDate> stillMissing = new HashSet<>(
+                storageService.getUnindexedReportDates(storageKey, startDate, endDate));
+        List<WeatherReport> unindexed = new ArrayList<>();
+        for (WeatherReport report : fetched) {
+            if (stillMissing.remove(report.getDate())) {
+                unindexed.add(report);
             }
-            current = current.plusDays(1);
         }
+        return new LoadedRange(storageKey, unindexed, fetchNanos, fetched.size());
+    }
+
+    private static class PendingRange {
+        private final String location;
+        private final String storageKey;
+        private final List<LocalDate> missing;
+        private final long fetchStarted;
+        private final List<Future<WeatherReport[]>> chunks;
 
-        return reports;
+        private PendingRange(String location, String storageKey, List<LocalDate> missing, long fetchStarted,
+                             List<Future<WeatherReport[]>> chunks) {
+            this.location = location;
+            this.storageKey = storageKey;
+            this.missing = missing;
+            this.fetchStarted = fetchStarted;
+            this.chunks = chunks;
+        }
     }
 
-    private double calculateAverageTemp(List<WeatherReport> reports) {
-        if (reports.isEmpty()) {
-            log.warn("No reports available for temperature calculation");
-            return 0.0;
+    private static class LoadedRange {
+        private final String storageKey;
+        private final List<WeatherReport> unindexed;
+        private final long fetchNanos;
+        private final int fetchedDays;
+
+        private LoadedRange(String storageKey, List<WeatherReport> unindexed, long fetchNanos, int fetchedDays) {
+            this.storageKey = storageKey;
+            this.unindexed = unindexed;
+            this.fetchNanos = fetchNanos;
+            this.fetchedDays = fetchedDays;
         }
-        return reports.stream()
-                .mapToDouble(r -> (r.getHighTemp() + r.getLowTemp()) / 2)
-                .average()
-                .orElse(0.0);
     }
 
-    private double calculateAveragePrecip(List<WeatherReport> reports) {
-        if (reports.isEmpty()) {
-            log.warn("No reports available for precipitation calculation");
-            return 0.0;
+    // Reports are stored under the location's grid cell once the report service has geocoded it
+    public String resolveStorageKey(String location) {
+        Optional<String> cell = geoGrid.cellOf(location);
+        if (cell.isPresent()) {
+            return cell.get();
         }
-        return reports.stream()
-                .mapToDouble(WeatherReport::getPrecipitationChance)
-                .average()
-                .orElse(0.0);
+        return storageService.getLocationCell(location.trim().toLowerCase())
+                .map(stored -> geoGrid.cellOf(stored.getLatitude(), stored.getLongitude()))
+                .orElse(location);
     }
 
-    private double calculateAverageWind(List<WeatherReport> reports) {
-        if (reports.isEmpty()) {
-            log.warn("No reports available for wind calculation");
-            return 0.0;
+    // Missing days are grouped into contiguous chunks and pulled in parallel through the
+    // report service's bulk range endpoint, which stores them and so feeds the aggregate index
+    private List<Future<WeatherReport[]>> submitFetches(String location, List<LocalDate> dates) {
+        List<Future<WeatherReport[]>> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        for (int i = 1; i <= dates.size(); i++) {
+            boolean contiguous = i < dates.size()
+                    && dates.get(i).equals(dates.get(i - 1).plusDays(1))
+                    && i - chunkStart < chunkDays;
+            if (!contiguous) {
+                LocalDate from = dates.get(chunkStart);
+                LocalDate to = dates.get(i - 1);
+                chunks.add(reportFetchExecutor.submit(() -> fetchRange(location, from, to)));
+                chunkStart = i;
+            }
         }
-        return reports.stream()
-                .mapToDouble(WeatherReport::getWindSpeed)
-                .average()
-                .orElse(0.0);
+        return chunks;
     }
 
-    private double calculateAverageHumidity(List<WeatherReport> reports) {
-        if (reports.isEmpty()) {
-            log.warn("No reports available for humidity calculation");
-            return 0.0;
+    // Whatever hasn't arrived by the deadline is left out and reported as partial coverage.
+    // Chunks that finished in time are kept even once another location has used the deadline up.
+    private List<WeatherReport> collectFetches(String location, List<Future<WeatherReport[]>> chunks, long deadline) {
+        List<WeatherReport> fetched = new ArrayList<>();
+        boolean late = false;
+        try {
+            for (Future<WeatherReport[]> chunk : chunks) {
+                try {
+                    WeatherReport[] reports = chunk.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (reports != null) {
+                        fetched.addAll(Arrays.asList(reports));
+                    }
+                } catch (TimeoutException e) {
+                    late = true;
+                } catch (ExecutionException e) {
+                    log.error("Failed to fetch reports for {} with error: {}", location, e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (late) {
+            log.warn("Report fetch deadline of {}ms passed for {}", fetchDeadlineMillis, location);
         }
-        return reports.stream()
-                .mapToDouble(WeatherReport::getHumidity)
-                .average()
-                .orElse(0.0);
+        return fetched;
+    }
+
+    private WeatherReport[] fetchRange(String location, LocalDate startDate, LocalDate endDate) {
+        String url = String.format(
+                "http://localhost:8081/api/weather/range?location=%s&startDate=%s&endDate=%s",
+                location, startDate, endDate
+        );
+        log.debug("Fetching reports from: {}", url);
+        return restTemplate.getForObject(url, WeatherReport[].class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.weather.statistics.kernel;
+
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatisticsKernelTest {
+    private final StatisticsKernel scalar = new ScalarStatisticsKernel();
+
+    @Test
+    void scalarKernelMatchesAggregatingRowByRow() {
+        ReportColumns columns = columns(new Random(5), 257);
+        RangeAggregate expected = new RangeAggregate();
+        for (int i = 0; i < columns.size(); i++) {
+            expected.add(columns.row(i));
+        }
+        RangeAggregate actual = scalar.aggregate(columns);
+
+        assertEquals(expected.getCount(), actual.getCount());
+        for (IndexedMetric metric : IndexedMetric.values()) {
+            assertEquals(expected.getAverage(metric), actual.getAverage(metric), 1e-9, metric.name());
+            assertEquals(expected.getVariance(metric), actual.getVariance(metric), 1e-6, metric.name());
+            assertEquals(expected.getMin(metric), actual.getMin(metric), 0, metric.name());
+            assertEquals(expected.getMax(metric), actual.getMax(metric), 0, metric.name());
+        }
+    }
+
+    static ReportColumns columns(Random random, int size) {
+        double[][] columns = new double[IndexedMetric.COUNT][size];
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            for (int i = 0; i < size; i++) {
+                columns[m][i] = random.nextDouble() * 120 - 40;
+            }
+        }
+        return new ReportColumns(columns, size);
+    }
+}
@@ -0,0 +1,45 @@
+package com.weather.statistics.kernel;
+
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.weather.statistics.kernel.StatisticsKernelTest.columns;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Built and run only with -Pvector
+class VectorStatisticsKernelTest {
+    private final StatisticsKernel scalar = new ScalarStatisticsKernel();
+    private final StatisticsKernel vector = StatisticsKernels.select(true);
+
+    @Test
+    void surefireRunsWithTheVectorModule() {
+        assertInstanceOf(VectorStatisticsKernel.class, vector);
+        assertTrue(vector.getName().startsWith("vector-"));
+    }
+
+    @Test
+    void vectorKernelMatchesTheScalarKernel() {
+        Random random = new Random(3);
+        // Sizes below, at and around multiples of every lane count, so the scalar tail is covered
+        for (int size : new int[]{0, 1, 3, 7, 8, 9, 31, 64, 1001, 100_000}) {
+            ReportColumns columns = columns(random, size);
+            RangeAggregate expected = scalar.aggregate(columns);
+            RangeAggregate actual = vector.aggregate(columns);
+
+            assertEquals(expected.getCount(), actual.getCount());
+            for (IndexedMetric metric : IndexedMetric.values()) {
+                String label = metric + " size=" + size;
+                // Lane-wise sums add in a different order, so allow for rounding
+                assertEquals(expected.getSum(metric), actual.getSum(metric), 1e-9 * Math.max(1, size), label);
+                assertEquals(expected.getVariance(metric), actual.getVariance(metric), 1e-6, label);
+                assertEquals(expected.getMin(metric), actual.getMin(metric), 0, label);
+                assertEquals(expected.getMax(metric), actual.getMax(metric), 0, label);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.weather.statistics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.common.model.WeatherStatistics;
+import com.weather.statistics.model.BatchStatisticsRequest;
+import com.weather.statistics.model.LocationStatisticsResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchStatisticsServiceTest {
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final StatisticsService statisticsService = mock(StatisticsService.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final BatchStatisticsService batchService = new BatchStatisticsService(statisticsService, executor, objectMapper);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void spellingsAreResolvedOnceAndPartitionsComputedOnce() throws Exception {
+        when(statisticsService.resolveStorageKey("boston")).thenReturn("gh-drt2z");
+        when(statisticsService.resolveStorageKey("02108")).thenReturn("gh-drt2z");
+        when(statisticsService.resolveStorageKey("10001")).thenReturn("gh-dr5ru");
+        when(statisticsService.calculateStatistics(anyString(), eq(START), eq(END), any()))
+                .thenAnswer(invocation -> statistics(invocation.getArgument(0)));
+
+        Map<String, LocationStatisticsResult> results = stream(" Boston", "BOSTON ", "02108", "10001", "boston", " ");
+
+        verify(statisticsService, times(1)).resolveStorageKey("boston");
+        verify(statisticsService, times(3)).resolveStorageKey(anyString());
+        verify(statisticsService, times(2)).calculateStatistics(anyString(), eq(START), eq(END), any());
+        // One line per distinct spelling, each carrying its own location
+        assertEquals(5, results.size());
+        for (String location : Arrays.asList("Boston", "BOSTON", "boston", "02108", "10001")) {
+            assertEquals(location, results.get(location).getStatistics().getLocation());
+            assertEquals(30, results.get(location).getStatistics().getDaysCovered());
+        }
+    }
+
+    @Test
+    void failedPartitionsReportTheirErrorPerLocation() throws Exception {
+        when(statisticsService.resolveStorageKey(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statisticsService.calculateStatistics(eq("nowhere"), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Unknown location"));
+        when(statisticsService.calculateStatistics(eq("10001"), any(), any(), any())).thenReturn(statistics("10001"));
+
+        Map<String, LocationStatisticsResult> results = stream("nowhere", "10001");
+
+        assertNull(results.get("nowhere").getStatistics());
+        assertEquals("Unknown location", results.get("nowhere").getError());
+        assertNull(results.get("10001").getError());
+    }
+
+    private Map<String, LocationStatisticsResult> stream(String... locations) throws Exception {
+        BatchStatisticsRequest request = new BatchStatisticsRequest();
+        request.setLocations(Arrays.asList(locations));
+        request.setStartDate(START);
+        request.setEndDate(END);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchService.streamStatistics(request, out);
+
+        Map<String, LocationStatisticsResult> results = new HashMap<>();
+        List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+        for (String line : lines) {
+            LocationStatisticsResult result = objectMapper.readValue(line, LocationStatisticsResult.class);
+            results.put(result.getLocation(), result);
+        }
+        assertEquals(lines.size(), results.size(), "one line per location");
+        return results;
+    }
+
+    private static WeatherStatistics statistics(String location) {
+        return WeatherStatistics.builder()
+                .location(location)
+                .startDate(START)
+                .endDate(END)
+                .averageTemperature(21.5)
+                .daysRequested(30)
+                .daysCovered(30)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.weather.statistics.service;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherStatistics;
+import com.weather.statistics.kernel.StatisticsKernels;
+import com.weather.storage.service.LocalStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatisticsServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+    private static final List<String> LOCATIONS = Arrays.asList("gh-dr5ru", "gh-drt2z", "gh-9q8yy", "gh-dp3wj");
+
+    @TempDir
+    Path storage;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private StatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StatisticsService(restTemplate, new LocalStorageService(storage), new GeoGrid(5), executor,
+                StatisticsKernels.select(false), new StatisticsMeters(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "chunkDays", 31);
+        ReflectionTestUtils.setField(service, "fetchDeadlineMillis", 800L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void locationsAreFetchedTogetherUnderOneDeadline() {
+        when(restTemplate.getForObject(anyString(), eq(WeatherReport[].class))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return new WeatherReport[]{report(DAY)};
+        });
+
+        long started = System.nanoTime();
+        WeatherStatistics statistics = service.calculateCombinedStatistics(LOCATIONS, DAY, DAY,
+                Arrays.asList("temps"));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // One at a time, four 500ms fetches would take 2s and each would get its own 800ms
+        assertTrue(elapsedMillis < 800, "took " + elapsedMillis + "ms");
+        assertEquals(4, statistics.getDaysCovered());
+        assertEquals(20.0, statistics.getAverageTemperature(), 1e-9);
+    }
+
+    @Test
+    void slowLocationsAreLeftOutOnceTheRequestDeadlinePasses() {
+        when(restTemplate.getForObject(anyString(), eq(WeatherReport[].class))).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            Thread.sleep(url.contains("gh-dp3wj") || url.contains("gh-9q8yy") ? 5_000 : 100);
+            return new WeatherReport[]{report(DAY)};
+        });
+
+        long started = System.nanoTime();
+        WeatherStatistics statistics = service.calculateCombinedStatistics(LOCATIONS, DAY, DAY,
+                Arrays.asList("temps"));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1500, "took " + elapsedMillis + "ms");
+        assertEquals(2, statistics.getDaysCovered());
+        assertEquals(4, statistics.getDaysRequested());
+        assertTrue(statistics.isPartial());
+    }
+
+    private static WeatherReport report(LocalDate date) {
+        WeatherReport report = new WeatherReport();
+        report.setDate(date);
+        report.setHighTemp(25);
+        report.setLowTemp(15);
+        report.setHumidity(50);
+        report.setWindSpeed(3);
+        report.setPrecipitationChance(10);
+        return report;
+    }
+}
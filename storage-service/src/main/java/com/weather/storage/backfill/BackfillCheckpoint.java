@@ -0,0 +1,22 @@
+package com.weather.storage.backfill;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// How far a backfill got through its source file. Offset is the byte position after the last
+// chunk whose reports are all stored; the counts are totals across every run on the file.
+// A checkpoint only applies while the file's size and modification time are unchanged.
+@Data
+@NoArgsConstructor
+public class BackfillCheckpoint {
+    private String id;
+    private String source;
+    private long size;
+    private long lastModified;
+    private long offset;
+    private long written;
+    private long existing;
+    private long invalid;
+    private long unresolved;
+    private long updated;
+}
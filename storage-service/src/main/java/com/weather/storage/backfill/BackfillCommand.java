@@ -0,0 +1,83 @@
+package com.weather.storage.backfill;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.storage.service.LocalStorageService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Backfills one file straight into a storage directory without starting the service, e.g.
+//   java -cp storage-service/target/fast-start/storage-service-0.0.1-SNAPSHOT-exec.jar \
+//     com.weather.storage.backfill.BackfillCommand history.csv [--format=csv|ndjson] [--restart] \
+//     [--overwrite] [--parallelism=4] [--chunk-bytes=1048576] [--storage=<dir>] [--precision=5]
+// Ctrl-C stops after the current chunk; running the same file again resumes from its checkpoint
+// unless the file has changed or --restart is given. Days already stored are kept unless
+// --overwrite is given. --precision must match the report service's weather.geo.precision.
+public class BackfillCommand {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        String file = null;
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals), equals < 0 ? "true" : arg.substring(equals + 1));
+            } else {
+                file = arg;
+            }
+        }
+        if (file == null) {
+            System.err.println("Usage: BackfillCommand <file> [--format=csv|ndjson] [--restart] [--overwrite]"
+                    + " [--parallelism=N] [--chunk-bytes=N] [--storage=<dir>] [--precision=N]");
+            System.exit(2);
+        }
+
+        LocalStorageService storageService = options.containsKey("storage")
+                ? new LocalStorageService(Paths.get(options.get("storage")))
+                : new LocalStorageService();
+        BackfillService backfillService = new BackfillService(storageService,
+                new GeoGrid(Integer.parseInt(options.getOrDefault("precision", "5"))),
+                Integer.parseInt(options.getOrDefault("parallelism", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(options.getOrDefault("chunk-bytes", "1048576")));
+
+        CountDownLatch finished = new CountDownLatch(1);
+        // The job runs on this thread, so the hook only asks it to stop and waits for its checkpoint
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            backfillService.stopAll();
+            try {
+                finished.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        BackfillStatus status;
+        try {
+            status = backfillService.run(Paths.get(file),
+                    options.containsKey("format") ? BackfillFormat.parse(options.get("format")) : null,
+                    options.containsKey("restart"), options.containsKey("overwrite"), BackfillCommand::print);
+            if (status.getFirstInvalid() != null) {
+                System.out.println("First invalid record: " + status.getFirstInvalid());
+            }
+            if (status.getError() != null) {
+                System.out.println("Failed: " + status.getError());
+            }
+        } finally {
+            finished.countDown();
+        }
+        backfillService.shutdown();
+        System.exit(status.getState() == BackfillStatus.State.FAILED ? 1 : 0);
+    }
+
+    private static void print(BackfillStatus status) {
+        System.out.printf(Locale.ROOT, "%-9s %8.1f/%.1f MB %10d written %10d existing %8d invalid %8d unresolved %10.0f rec/s %7.1f MB/s%n",
+                status.getState(), status.getOffset() / (1024.0 * 1024), status.getSize() / (1024.0 * 1024),
+                status.getWritten(), status.getExisting(), status.getInvalid(), status.getUnresolved(),
+                status.getRecordsPerSecond(), status.getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,27 @@
+package com.weather.storage.backfill;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Input formats, one record per line. NDJSON lines are stored-report JSON objects (location,
+// date, highTemp, ...), optionally with latitude and longitude. CSV files start with a header
+// naming the same fields; case, underscores and dashes in the names are ignored.
+public enum BackfillFormat {
+    CSV,
+    NDJSON;
+
+    public static BackfillFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Can't tell the format of " + name + " from its extension; pass csv or ndjson");
+    }
+
+    public static BackfillFormat parse(String format) {
+        return valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
+}
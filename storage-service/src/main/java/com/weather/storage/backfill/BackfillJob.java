@@ -0,0 +1,240 @@
+package com.weather.storage.backfill;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.storage.backfill.BackfillStatus.State;
+import com.weather.storage.service.LocalStorageService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// One file's backfill. Chunks are read sequentially, parsed on the shared pool with at most
+// `window` chunks in flight, and written in file order on the job's own thread, so memory stays
+// bounded by the window however large the file is. A checkpoint follows every written chunk;
+// a crash repeats at most the chunks after it, and rewriting those days is harmless.
+@Slf4j
+public class BackfillJob {
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private final String id;
+    private final Path file;
+    private final BackfillFormat format;
+    private final boolean restart;
+    private final boolean overwrite;
+    private final LocalStorageService storageService;
+    private final GeoGrid geoGrid;
+    private final ExecutorService parsePool;
+    private final int window;
+    private final int chunkBytes;
+    private final Consumer<BackfillStatus> progress;
+
+    // Written by the job thread only, read by status()
+    private volatile State state = State.QUEUED;
+    private volatile boolean stopRequested;
+    private volatile long size;
+    private volatile long lastModified;
+    private volatile long resumedFrom;
+    private volatile long offset;
+    private volatile long written;
+    private volatile long existing;
+    private volatile long invalid;
+    private volatile long unresolved;
+    private volatile String firstInvalid;
+    private volatile String error;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private long processedBefore;
+
+    BackfillJob(String id, Path file, BackfillFormat format, boolean restart, boolean overwrite,
+                LocalStorageService storageService, GeoGrid geoGrid, ExecutorService parsePool,
+                int window, int chunkBytes, Consumer<BackfillStatus> progress) {
+        this.id = id;
+        this.file = file;
+        this.format = format;
+        this.restart = restart;
+        this.overwrite = overwrite;
+        this.storageService = storageService;
+        this.geoGrid = geoGrid;
+        this.parsePool = parsePool;
+        this.window = window;
+        this.chunkBytes = chunkBytes;
+        this.progress = progress;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    // Stops after the chunk being written; the checkpoint lets a later run carry on from there
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public BackfillStatus run() {
+        startedNanos = System.nanoTime();
+        state = State.RUNNING;
+        Deque<Future<BackfillParser.Parsed>> inFlight = new ArrayDeque<>();
+        try {
+            size = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+            String header = null;
+            long headerBytes = 0;
+            if (format == BackfillFormat.CSV) {
+                byte[] line = firstLine();
+                headerBytes = line.length;
+                header = new String(line, StandardCharsets.UTF_8).trim();
+            }
+            BackfillParser parser = new BackfillParser(format, header, geoGrid, storageService);
+            resume(headerBytes);
+
+            long nextProgress = System.nanoTime() + PROGRESS_INTERVAL_NANOS;
+            try (ChunkReader reader = new ChunkReader(file, offset, chunkBytes)) {
+                ChunkReader.Chunk chunk;
+                while (!stopRequested && (chunk = reader.next()) != null) {
+                    ChunkReader.Chunk next = chunk;
+                    inFlight.add(parsePool.submit(() -> parser.parse(next)));
+                    if (inFlight.size() >= window) {
+                        write(inFlight.poll().get());
+                    }
+                    if (System.nanoTime() >= nextProgress) {
+                        progress.accept(status());
+                        nextProgress += PROGRESS_INTERVAL_NANOS;
+                    }
+                }
+                while (!stopRequested && !inFlight.isEmpty()) {
+                    write(inFlight.poll().get());
+                }
+            }
+            state = stopRequested ? State.STOPPED : State.COMPLETED;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            error = e.getMessage();
+            state = State.FAILED;
+            log.error("Backfill of {} failed at byte {}", file, offset, e);
+        } finally {
+            for (Future<BackfillParser.Parsed> pending : inFlight) {
+                pending.cancel(true);
+            }
+            finishedNanos = System.nanoTime();
+        }
+        BackfillStatus status = status();
+        progress.accept(status);
+        return status;
+    }
+
+    public BackfillStatus status() {
+        long elapsedNanos = state == State.QUEUED ? 0
+                : (finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos;
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-3);
+        long processed = written + existing + invalid + unresolved - processedBefore;
+        return BackfillStatus.builder()
+                .id(id)
+                .source(file.toString())
+                .format(format)
+                .state(state)
+                .size(size)
+                .resumedFrom(resumedFrom)
+                .offset(offset)
+                .written(written)
+                .existing(existing)
+                .invalid(invalid)
+                .unresolved(unresolved)
+                .firstInvalid(firstInvalid)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .recordsPerSecond(elapsedNanos == 0 ? 0 : processed / seconds)
+                .megabytesPerSecond(elapsedNanos == 0 ? 0 : (offset - resumedFrom) / seconds / (1024 * 1024))
+                .error(error)
+                .build();
+    }
+
+    // Carries on from the checkpoint when the file is the one it was taken on
+    private void resume(long headerBytes) {
+        BackfillCheckpoint previous = restart ? null : storageService.getBackfillCheckpoint(id).orElse(null);
+        if (previous != null && previous.getSource().equals(file.toString())
+                && previous.getSize() == size && previous.getLastModified() == lastModified) {
+            offset = previous.getOffset();
+            written = previous.getWritten();
+            existing = previous.getExisting();
+            invalid = previous.getInvalid();
+            unresolved = previous.getUnresolved();
+            processedBefore = written + existing + invalid + unresolved;
+            log.info("Resuming backfill of {} at byte {} of {}", file, offset, size);
+        } else {
+            if (previous != null && !restart) {
+                log.info("{} changed since its last checkpoint; backfilling it from the start", file);
+            }
+            offset = headerBytes;
+        }
+        resumedFrom = offset;
+    }
+
+    private void write(BackfillParser.Parsed parsed) {
+        for (Map.Entry<String, List<WeatherReport>> entry : parsed.reports.entrySet()) {
+            int stored = storageService.saveWeatherReports(entry.getKey(), entry.getValue(), overwrite);
+            written += stored;
+            existing += entry.getValue().size() - stored;
+        }
+        invalid += parsed.invalid;
+        unresolved += parsed.unresolved;
+        if (firstInvalid == null && parsed.firstInvalid != null) {
+            firstInvalid = parsed.firstInvalid;
+            log.warn("Skipping invalid backfill record in {} at {}", file, parsed.firstInvalid);
+        }
+        offset = parsed.end;
+        storageService.saveBackfillCheckpoint(checkpoint());
+    }
+
+    private BackfillCheckpoint checkpoint() {
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setSource(file.toString());
+        checkpoint.setSize(size);
+        checkpoint.setLastModified(lastModified);
+        checkpoint.setOffset(offset);
+        checkpoint.setWritten(written);
+        checkpoint.setExisting(existing);
+        checkpoint.setInvalid(invalid);
+        checkpoint.setUnresolved(unresolved);
+        checkpoint.setUpdated(System.currentTimeMillis());
+        return checkpoint;
+    }
+
+    // The CSV header line including its newline, whose length is where the records start
+    private byte[] firstLine() throws IOException {
+        byte[] line = new byte[MAX_HEADER_BYTES];
+        int length = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int b;
+            while (length < line.length && (b = in.read()) >= 0) {
+                line[length++] = (byte) b;
+                if (b == '\n') {
+                    return Arrays.copyOf(line, length);
+                }
+            }
+        }
+        if (length == line.length) {
+            throw new IOException("CSV header is longer than " + MAX_HEADER_BYTES + " bytes");
+        }
+        return Arrays.copyOf(line, length);
+    }
+}
@@ -0,0 +1,238 @@
+package com.weather.storage.backfill;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.storage.service.LocalStorageService;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Turns one chunk of lines into reports grouped by the grid cell they are stored under, the
+// same cell the report service resolves a location to. Cell ids and "lat,lon" locations map
+// directly; zips and names only resolve if the report service has geocoded them before.
+// Safe to call from several threads at once.
+class BackfillParser {
+    private static final String[] FIELDS = {"location", "latitude", "longitude", "date", "hightemp", "lowtemp",
+            "humidity", "windspeed", "winddirection", "precipitationchance"};
+    private static final int LOCATION = 0;
+    private static final int LATITUDE = 1;
+    private static final int LONGITUDE = 2;
+    private static final int DATE = 3;
+    private static final int HIGH_TEMP = 4;
+    private static final int LOW_TEMP = 5;
+    private static final int HUMIDITY = 6;
+    private static final int WIND_SPEED = 7;
+    private static final int WIND_DIRECTION = 8;
+    private static final int PRECIPITATION = 9;
+    private static final String UNRESOLVED = "";
+
+    private static final ObjectReader ROW_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(Row.class);
+
+    private final BackfillFormat format;
+    // CSV column of each field, -1 where the header doesn't have it
+    private final int[] columns;
+    private final GeoGrid geoGrid;
+    private final LocalStorageService storageService;
+    private final ConcurrentMap<String, String> cells = new ConcurrentHashMap<>();
+
+    BackfillParser(BackfillFormat format, String csvHeader, GeoGrid geoGrid, LocalStorageService storageService) {
+        this.format = format;
+        this.geoGrid = geoGrid;
+        this.storageService = storageService;
+        this.columns = format == BackfillFormat.CSV ? columns(csvHeader) : null;
+    }
+
+    Parsed parse(ChunkReader.Chunk chunk) {
+        Parsed parsed = new Parsed(chunk.end);
+        byte[] bytes = chunk.bytes;
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && bytes[end - 1] == '\r') {
+                length--;
+            }
+            if (length > 0) {
+                try {
+                    add(parsed, format == BackfillFormat.CSV
+                            ? csvRow(new String(bytes, start, length, StandardCharsets.UTF_8))
+                            : ROW_READER.<Row>readValue(bytes, start, length));
+                } catch (Exception e) {
+                    parsed.invalid(chunk.start + start, e.getMessage());
+                }
+            }
+            start = end + 1;
+        }
+        return parsed;
+    }
+
+    private void add(Parsed parsed, Row row) {
+        if (row.getDate() == null) {
+            throw new IllegalArgumentException("missing date");
+        }
+        String cell = cellOf(row);
+        if (cell == null) {
+            parsed.unresolved++;
+            return;
+        }
+        WeatherReport report = new WeatherReport();
+        report.setLocation(cell);
+        report.setDate(LocalDate.parse(row.getDate().trim()));
+        report.setHighTemp(row.getHighTemp());
+        report.setLowTemp(row.getLowTemp());
+        report.setHumidity(row.getHumidity());
+        report.setWindSpeed(row.getWindSpeed());
+        report.setWindDirection(row.getWindDirection());
+        report.setPrecipitationChance(row.getPrecipitationChance());
+        parsed.reports.computeIfAbsent(cell, key -> new ArrayList<>()).add(report);
+    }
+
+    private String cellOf(Row row) {
+        if (row.getLatitude() != null && row.getLongitude() != null) {
+            return geoGrid.cellOf(row.getLatitude(), row.getLongitude());
+        }
+        if (row.getLocation() == null || row.getLocation().trim().isEmpty()) {
+            throw new IllegalArgumentException("missing location");
+        }
+        String key = row.getLocation().trim().toLowerCase(Locale.ROOT);
+        String cell = cells.get(key);
+        if (cell == null) {
+            cell = geoGrid.cellOf(key)
+                    .orElseGet(() -> storageService.getLocationCell(key)
+                            .map(stored -> geoGrid.cellOf(stored.getLatitude(), stored.getLongitude()))
+                            .orElse(UNRESOLVED));
+            cells.put(key, cell);
+        }
+        return cell.equals(UNRESOLVED) ? null : cell;
+    }
+
+    private Row csvRow(String line) {
+        List<String> values = splitCsv(line);
+        Row row = new Row();
+        row.setLocation(value(values, LOCATION));
+        row.setLatitude(number(values, LATITUDE));
+        row.setLongitude(number(values, LONGITUDE));
+        row.setDate(value(values, DATE));
+        row.setHighTemp(orZero(number(values, HIGH_TEMP)));
+        row.setLowTemp(orZero(number(values, LOW_TEMP)));
+        row.setHumidity(orZero(number(values, HUMIDITY)));
+        row.setWindSpeed(orZero(number(values, WIND_SPEED)));
+        row.setWindDirection(value(values, WIND_DIRECTION));
+        row.setPrecipitationChance(orZero(number(values, PRECIPITATION)));
+        return row;
+    }
+
+    private String value(List<String> values, int field) {
+        int column = columns[field];
+        if (column < 0 || column >= values.size()) {
+            return null;
+        }
+        String value = values.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Double number(List<String> values, int field) {
+        String value = value(values, field);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static double orZero(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    private static int[] columns(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file has no header line");
+        }
+        Map<String, Integer> byName = new HashMap<>();
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            byName.put(names.get(i).trim().toLowerCase(Locale.ROOT).replaceAll("[_\\- ]", ""), i);
+        }
+        int[] columns = new int[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            Integer column = byName.get(FIELDS[field]);
+            columns[field] = column == null ? -1 : column;
+        }
+        if (columns[DATE] < 0 || (columns[LOCATION] < 0 && (columns[LATITUDE] < 0 || columns[LONGITUDE] < 0))) {
+            throw new IllegalArgumentException("CSV header needs a date column and location or latitude/longitude columns");
+        }
+        return columns;
+    }
+
+    // Commas inside double quotes don't split, so "40.7,-74.0" works as a location
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    // One input record; NDJSON lines bind to it directly
+    @Data
+    static class Row {
+        private String location;
+        private Double latitude;
+        private Double longitude;
+        private String date;
+        private double highTemp;
+        private double lowTemp;
+        private double humidity;
+        private double windSpeed;
+        private String windDirection;
+        private double precipitationChance;
+    }
+
+    static class Parsed {
+        final long end;
+        final Map<String, List<WeatherReport>> reports = new LinkedHashMap<>();
+        long invalid;
+        long unresolved;
+        String firstInvalid;
+
+        Parsed(long end) {
+            this.end = end;
+        }
+
+        void invalid(long offset, String reason) {
+            if (firstInvalid == null) {
+                firstInvalid = "byte " + offset + ": " + reason;
+            }
+            invalid++;
+        }
+    }
+}
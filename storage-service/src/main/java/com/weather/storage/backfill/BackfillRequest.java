@@ -0,0 +1,12 @@
+package com.weather.storage.backfill;
+
+import lombok.Data;
+
+// Body of a backfill request; path is relative to storage.backfill.import-dir
+@Data
+public class BackfillRequest {
+    private String path;
+    private String format;
+    private boolean restart;
+    private boolean overwrite;
+}
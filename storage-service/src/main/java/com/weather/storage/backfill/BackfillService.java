@@ -0,0 +1,145 @@
+package com.weather.storage.backfill;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.storage.service.LocalStorageService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Bulk loads of historical reports into storage. Jobs queue behind each other on one writer
+// thread, since storage writes gain nothing from running two files at once, while each job's
+// parsing fans out over a shared pool. The command line tool runs jobs inline instead.
+@Slf4j
+public class BackfillService {
+    private final LocalStorageService storageService;
+    private final GeoGrid geoGrid;
+    private final int parallelism;
+    private final int chunkBytes;
+    private final ExecutorService parsePool;
+    private final ExecutorService jobRunner;
+    private final ConcurrentMap<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    public BackfillService(LocalStorageService storageService, GeoGrid geoGrid, int parallelism, int chunkBytes) {
+        this.storageService = storageService;
+        this.geoGrid = geoGrid;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkBytes = chunkBytes;
+        this.parsePool = Executors.newFixedThreadPool(this.parallelism, threads("backfill-parse"));
+        this.jobRunner = Executors.newSingleThreadExecutor(threads("backfill-writer"));
+    }
+
+    // Queues a file; throws IllegalStateException if the same file is already queued or running
+    public BackfillStatus start(Path file, BackfillFormat format, boolean restart, boolean overwrite)
+            throws NoSuchFileException {
+        BackfillJob job = create(file, format, restart, overwrite, BackfillService::logProgress);
+        jobs.compute(job.getId(), (id, current) -> {
+            if (current != null && current.isActive()) {
+                throw new IllegalStateException("Backfill " + id + " is already " + current.status().getState());
+            }
+            return job;
+        });
+        jobRunner.execute(job::run);
+        return job.status();
+    }
+
+    // Runs a file on the calling thread and returns once it has finished or been stopped
+    public BackfillStatus run(Path file, BackfillFormat format, boolean restart, boolean overwrite,
+                              Consumer<BackfillStatus> progress) throws NoSuchFileException {
+        BackfillJob job = create(file, format, restart, overwrite, progress);
+        jobs.put(job.getId(), job);
+        return job.run();
+    }
+
+    public Optional<BackfillStatus> getStatus(String id) {
+        BackfillJob job = jobs.get(id);
+        return job == null ? Optional.empty() : Optional.of(job.status());
+    }
+
+    public List<BackfillStatus> getStatuses() {
+        List<BackfillStatus> statuses = new ArrayList<>();
+        for (BackfillJob job : jobs.values()) {
+            statuses.add(job.status());
+        }
+        return statuses;
+    }
+
+    public boolean stop(String id) {
+        BackfillJob job = jobs.get(id);
+        if (job == null || !job.isActive()) {
+            return false;
+        }
+        job.stop();
+        return true;
+    }
+
+    // Stops running jobs after their current chunk, so each leaves a checkpoint to resume from
+    public void stopAll() {
+        for (BackfillJob job : jobs.values()) {
+            job.stop();
+        }
+    }
+
+    public void shutdown() {
+        stopAll();
+        jobRunner.shutdown();
+        try {
+            if (!jobRunner.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Backfill did not stop within 30s; it will resume from its last checkpoint");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        jobRunner.shutdownNow();
+        parsePool.shutdownNow();
+    }
+
+    private BackfillJob create(Path file, BackfillFormat format, boolean restart, boolean overwrite,
+                               Consumer<BackfillStatus> progress) throws NoSuchFileException {
+        Path source = file.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+        // Parsing runs ahead of writing by at most two chunks per thread
+        return new BackfillJob(idOf(source), source, format != null ? format : BackfillFormat.of(source),
+                restart, overwrite, storageService, geoGrid, parsePool, parallelism * 2, chunkBytes, progress);
+    }
+
+    // Stable per path, so running the same file again finds its checkpoint
+    static String idOf(Path source) {
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+        return name + "-" + Integer.toHexString(source.toString().hashCode());
+    }
+
+    private static void logProgress(BackfillStatus status) {
+        log.info("Backfill {} {}: {}/{} MB, {} written, {} already stored, {} invalid, {} unresolved, {} records/s, {} MB/s",
+                status.getId(), status.getState(),
+                String.format(Locale.ROOT, "%.1f", status.getOffset() / (1024.0 * 1024)),
+                String.format(Locale.ROOT, "%.1f", status.getSize() / (1024.0 * 1024)),
+                status.getWritten(), status.getExisting(), status.getInvalid(), status.getUnresolved(),
+                String.format(Locale.ROOT, "%.0f", status.getRecordsPerSecond()),
+                String.format(Locale.ROOT, "%.1f", status.getMegabytesPerSecond()));
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
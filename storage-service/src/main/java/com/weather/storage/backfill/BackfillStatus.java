@@ -0,0 +1,28 @@
+package com.weather.storage.backfill;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Progress of one backfill. Counts are totals across resumed runs; the rates cover this run.
+@Data
+@Builder
+public class BackfillStatus {
+    public enum State { QUEUED, RUNNING, COMPLETED, STOPPED, FAILED }
+
+    private String id;
+    private String source;
+    private BackfillFormat format;
+    private State state;
+    private long size;
+    private long resumedFrom;
+    private long offset;
+    private long written;
+    private long existing;
+    private long invalid;
+    private long unresolved;
+    private String firstInvalid;
+    private long elapsedMillis;
+    private double recordsPerSecond;
+    private double megabytesPerSecond;
+    private String error;
+}
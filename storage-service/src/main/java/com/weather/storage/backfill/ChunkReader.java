@@ -0,0 +1,87 @@
+package com.weather.storage.backfill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Reads a file sequentially in chunks of about chunkBytes that end on a line boundary, so
+// chunks can be parsed independently and each one's end offset is a valid resume point.
+// A line longer than a chunk grows that one chunk rather than being split.
+class ChunkReader implements Closeable {
+    private final InputStream in;
+    private final int chunkBytes;
+    private long offset;
+    private byte[] carry = new byte[0];
+    private boolean eof;
+
+    ChunkReader(Path file, long offset, int chunkBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(offset);
+        this.in = Channels.newInputStream(channel);
+        this.offset = offset;
+        this.chunkBytes = chunkBytes;
+    }
+
+    // Null once the file is exhausted
+    Chunk next() throws IOException {
+        byte[] buffer = Arrays.copyOf(carry, Math.max(chunkBytes, carry.length + 1));
+        int filled = carry.length;
+        while (true) {
+            filled = fill(buffer, filled);
+            int end = eof ? filled : lastNewline(buffer, filled) + 1;
+            if (end > 0) {
+                carry = Arrays.copyOfRange(buffer, end, filled);
+                Chunk chunk = new Chunk(offset, offset + end, end == buffer.length ? buffer : Arrays.copyOf(buffer, end));
+                offset += end;
+                return chunk;
+            }
+            if (eof) {
+                return null;
+            }
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    private int fill(byte[] buffer, int filled) throws IOException {
+        while (filled < buffer.length && !eof) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                eof = true;
+            } else {
+                filled += read;
+            }
+        }
+        return filled;
+    }
+
+    private static int lastNewline(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static class Chunk {
+        final long start;
+        final long end;
+        final byte[] bytes;
+
+        Chunk(long start, long end, byte[] bytes) {
+            this.start = start;
+            this.end = end;
+            this.bytes = bytes;
+        }
+    }
+}
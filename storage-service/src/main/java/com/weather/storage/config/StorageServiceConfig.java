@@ -0,0 +1,30 @@
+package com.weather.storage.config;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.storage.backfill.BackfillService;
+import com.weather.storage.service.LocalStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StorageServiceConfig {
+    @Value("${weather.geo.precision:5}")
+    private int geoPrecision;
+
+    @Value("${storage.backfill.parallelism:4}")
+    private int backfillParallelism;
+
+    @Value("${storage.backfill.chunk-bytes:1048576}")
+    private int backfillChunkBytes;
+
+    @Bean
+    public GeoGrid geoGrid() {
+        return new GeoGrid(geoPrecision);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BackfillService backfillService(LocalStorageService storageService, GeoGrid geoGrid) {
+        return new BackfillService(storageService, geoGrid, backfillParallelism, backfillChunkBytes);
+    }
+}
@@ -0,0 +1,96 @@
+package com.weather.storage.controller;
+
+import com.weather.storage.backfill.BackfillFormat;
+import com.weather.storage.backfill.BackfillRequest;
+import com.weather.storage.backfill.BackfillService;
+import com.weather.storage.backfill.BackfillStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/storage/backfill")
+@RequiredArgsConstructor
+@Slf4j
+public class BackfillController {
+    private final BackfillService backfillService;
+
+    // Only files under this directory can be backfilled over HTTP
+    @Value("${storage.backfill.import-dir:${user.home}/Documents/WeatherApp/imports}")
+    private String importDir;
+
+    @PostMapping
+    public ResponseEntity<BackfillStatus> startBackfill(@RequestBody BackfillRequest request) {
+        try {
+            Path root = Paths.get(importDir).toAbsolutePath().normalize();
+            if (request.getPath() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            Path file = root.resolve(request.getPath()).normalize();
+            if (!file.startsWith(root)) {
+                return ResponseEntity.badRequest().build();
+            }
+            BackfillFormat format = request.getFormat() == null ? null : BackfillFormat.parse(request.getFormat());
+            BackfillStatus status = backfillService.start(file, format, request.isRestart(), request.isOverwrite());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error starting backfill of {}", request.getPath(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BackfillStatus>> getBackfills() {
+        try {
+            return ResponseEntity.ok(backfillService.getStatuses());
+        } catch (Exception e) {
+            log.error("Error listing backfills", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BackfillStatus> getBackfill(@PathVariable("id") String id) {
+        try {
+            return backfillService.getStatus(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error getting backfill {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Stops after the current chunk; posting the same file again resumes it
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> stopBackfill(@PathVariable("id") String id) {
+        try {
+            return backfillService.stop(id)
+                    ? ResponseEntity.accepted().build()
+                    : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error stopping backfill {}", id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
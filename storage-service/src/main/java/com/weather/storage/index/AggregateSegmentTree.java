@@ -0,0 +1,129 @@
+package com.weather.storage.index;
+
+import java.util.Arrays;
+
+// Segment tree over epoch days answering range count/sum/sum of squares/min/max in O(log n).
+// Nodes live in flat primitive arrays (M metrics per node) to keep per-location
+// memory small. Covers [base, base + capacity) and doubles when a day falls outside.
+public class AggregateSegmentTree {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int M = IndexedMetric.COUNT;
+
+    private long base;
+    private int capacity;
+    private long[] count;
+    private double[] sum;
+    private double[] sumSq;
+    private double[] min;
+    private double[] max;
+    private double[][] leaves;
+
+    public AggregateSegmentTree(long firstDay) {
+        this.capacity = INITIAL_CAPACITY;
+        this.base = firstDay - capacity / 2;
+        allocate();
+    }
+
+    public void put(long epochDay, double[] values) {
+        ensureCovers(epochDay);
+        int leaf = (int) (epochDay - base);
+        leaves[leaf] = values;
+        int node = leaf + capacity;
+        setLeaf(node, values);
+        for (node >>= 1; node >= 1; node >>= 1) {
+            combine(node);
+        }
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= base && epochDay < base + capacity && leaves[(int) (epochDay - base)] != null;
+    }
+
+    public double[] get(long epochDay) {
+        return contains(epochDay) ? leaves[(int) (epochDay - base)] : null;
+    }
+
+    public RangeAggregate query(long fromDay, long toDay) {
+        RangeAggregate result = new RangeAggregate();
+        long lo = Math.max(fromDay, base);
+        long hi = Math.min(toDay, base + capacity - 1);
+        if (lo > hi) {
+            return result;
+        }
+        int l = (int) (lo - base) + capacity;
+        int r = (int) (hi - base) + capacity + 1;
+        while (l < r) {
+            if ((l & 1) == 1) {
+                mergeInto(result, l++);
+            }
+            if ((r & 1) == 1) {
+                mergeInto(result, --r);
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        return result;
+    }
+
+    private void mergeInto(RangeAggregate result, int node) {
+        result.merge(count[node], sum, sumSq, min, max, node * M);
+    }
+
+    private void setLeaf(int node, double[] values) {
+        count[node] = 1;
+        System.arraycopy(values, 0, sum, node * M, M);
+        for (int m = 0; m < M; m++) {
+            sumSq[node * M + m] = values[m] * values[m];
+        }
+        System.arraycopy(values, 0, min, node * M, M);
+        System.arraycopy(values, 0, max, node * M, M);
+    }
+
+    private void combine(int node) {
+        int left = 2 * node;
+        int right = left + 1;
+        count[node] = count[left] + count[right];
+        for (int m = 0; m < M; m++) {
+            sum[node * M + m] = sum[left * M + m] + sum[right * M + m];
+            sumSq[node * M + m] = sumSq[left * M + m] + sumSq[right * M + m];
+            min[node * M + m] = Math.min(min[left * M + m], min[right * M + m]);
+            max[node * M + m] = Math.max(max[left * M + m], max[right * M + m]);
+        }
+    }
+
+    private void ensureCovers(long epochDay) {
+        if (epochDay >= base && epochDay < base + capacity) {
+            return;
+        }
+        long oldBase = base;
+        double[][] oldLeaves = leaves;
+        long lo = Math.min(epochDay, base);
+        long hi = Math.max(epochDay, base + capacity - 1);
+        while (capacity <= hi - lo) {
+            capacity *= 2;
+        }
+        base = epochDay < oldBase ? hi - capacity + 1 : lo;
+        allocate();
+        for (int i = 0; i < oldLeaves.length; i++) {
+            if (oldLeaves[i] != null) {
+                int leaf = (int) (oldBase + i - base);
+                leaves[leaf] = oldLeaves[i];
+                setLeaf(leaf + capacity, oldLeaves[i]);
+            }
+        }
+        for (int node = capacity - 1; node >= 1; node--) {
+            combine(node);
+        }
+    }
+
+    private void allocate() {
+        leaves = new double[capacity][];
+        count = new long[2 * capacity];
+        sum = new double[2 * capacity * M];
+        sumSq = new double[2 * capacity * M];
+        min = new double[2 * capacity * M];
+        max = new double[2 * capacity * M];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+}
@@ -0,0 +1,60 @@
+package com.weather.storage.index;
+
+import com.weather.common.model.WeatherReport;
+
+// Per-day values kept in the aggregate index, keyed by the statistics metric names
+public enum IndexedMetric {
+    TEMPERATURE("temps", -60.0, 60.0, 0.5),
+    PRECIPITATION("precipitate", 0.0, 100.0, 1.0),
+    WIND("wind", 0.0, 80.0, 0.5),
+    HUMIDITY("humidity", 0.0, 100.0, 1.0);
+
+    public static final int COUNT = values().length;
+
+    private final String metricName;
+    // Histogram layout for percentile sketches; quantiles are exact to half a bucket inside the range
+    private final double histogramMin;
+    private final double histogramMax;
+    private final double bucketWidth;
+
+    IndexedMetric(String metricName, double histogramMin, double histogramMax, double bucketWidth) {
+        this.metricName = metricName;
+        this.histogramMin = histogramMin;
+        this.histogramMax = histogramMax;
+        this.bucketWidth = bucketWidth;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public double getHistogramMin() {
+        return histogramMin;
+    }
+
+    public double getHistogramMax() {
+        return histogramMax;
+    }
+
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public static IndexedMetric fromMetricName(String name) {
+        for (IndexedMetric metric : values()) {
+            if (metric.metricName.equalsIgnoreCase(name)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    public static double[] valuesOf(WeatherReport report) {
+        double[] values = new double[COUNT];
+        values[TEMPERATURE.ordinal()] = (report.getHighTemp() + report.getLowTemp()) / 2;
+        values[PRECIPITATION.ordinal()] = report.getPrecipitationChance();
+        values[WIND.ordinal()] = report.getWindSpeed();
+        values[HUMIDITY.ordinal()] = report.getHumidity();
+        return values;
+    }
+}
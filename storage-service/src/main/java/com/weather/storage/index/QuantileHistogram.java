@@ -0,0 +1,49 @@
+package com.weather.storage.index;
+
+// Fixed-bucket histogram for one metric. Histograms with the same layout merge by
+// adding counts, so memory is bounded by the bucket count no matter how many days
+// or locations are combined. Values outside the layout clamp to the edge buckets.
+public class QuantileHistogram {
+    private final IndexedMetric metric;
+    private final long[] counts;
+    private long total;
+
+    public QuantileHistogram(IndexedMetric metric) {
+        this.metric = metric;
+        int buckets = (int) Math.ceil((metric.getHistogramMax() - metric.getHistogramMin()) / metric.getBucketWidth());
+        this.counts = new long[buckets];
+    }
+
+    public void add(double value) {
+        int bucket = (int) Math.floor((value - metric.getHistogramMin()) / metric.getBucketWidth());
+        counts[Math.max(0, Math.min(counts.length - 1, bucket))]++;
+        total++;
+    }
+
+    public void merge(QuantileHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    // Midpoint of the bucket holding the q-th quantile (0 < q <= 1)
+    public double quantile(double q) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return metric.getHistogramMin() + (i + 0.5) * metric.getBucketWidth();
+            }
+        }
+        return metric.getHistogramMax();
+    }
+}
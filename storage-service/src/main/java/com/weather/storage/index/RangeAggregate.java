@@ -0,0 +1,88 @@
+package com.weather.storage.index;
+
+import java.util.Arrays;
+
+// Count, sum, sum of squares, min and max of every indexed metric over a set of days. Mergeable,
+// so segment tree nodes and ad-hoc report batches combine the same way.
+public class RangeAggregate {
+    private long count;
+    private final double[] sum = new double[IndexedMetric.COUNT];
+    private final double[] sumSq = new double[IndexedMetric.COUNT];
+    private final double[] min = new double[IndexedMetric.COUNT];
+    private final double[] max = new double[IndexedMetric.COUNT];
+
+    public RangeAggregate() {
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    // Builds an aggregate from per-metric totals computed elsewhere, e.g. a columnar kernel
+    public static RangeAggregate of(long count, double[] sums, double[] sumSquares, double[] mins, double[] maxes) {
+        RangeAggregate aggregate = new RangeAggregate();
+        aggregate.merge(count, sums, sumSquares, mins, maxes, 0);
+        return aggregate;
+    }
+
+    public void add(double[] values) {
+        count++;
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            sum[m] += values[m];
+            sumSq[m] += values[m] * values[m];
+            min[m] = Math.min(min[m], values[m]);
+            max[m] = Math.max(max[m], values[m]);
+        }
+    }
+
+    public void merge(RangeAggregate other) {
+        count += other.count;
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            sum[m] += other.sum[m];
+            sumSq[m] += other.sumSq[m];
+            min[m] = Math.min(min[m], other.min[m]);
+            max[m] = Math.max(max[m], other.max[m]);
+        }
+    }
+
+    // Merges one node of the segment tree's flat arrays
+    void merge(long nodeCount, double[] sums, double[] sumSquares, double[] mins, double[] maxes, int offset) {
+        if (nodeCount == 0) {
+            return;
+        }
+        count += nodeCount;
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            sum[m] += sums[offset + m];
+            sumSq[m] += sumSquares[offset + m];
+            min[m] = Math.min(min[m], mins[offset + m]);
+            max[m] = Math.max(max[m], maxes[offset + m]);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum(IndexedMetric metric) {
+        return sum[metric.ordinal()];
+    }
+
+    public double getAverage(IndexedMetric metric) {
+        return count == 0 ? 0.0 : sum[metric.ordinal()] / count;
+    }
+
+    // Population variance from the running moments
+    public double getVariance(IndexedMetric metric) {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = sum[metric.ordinal()] / count;
+        return Math.max(0.0, sumSq[metric.ordinal()] / count - mean * mean);
+    }
+
+    public double getMin(IndexedMetric metric) {
+        return count == 0 ? 0.0 : min[metric.ordinal()];
+    }
+
+    public double getMax(IndexedMetric metric) {
+        return count == 0 ? 0.0 : max[metric.ordinal()];
+    }
+}
@@ -0,0 +1,33 @@
+package com.weather.storage.index;
+
+// One quantile histogram per indexed metric over a set of days; merges across
+// ranges and locations for percentile statistics.
+public class RangeSketch {
+    private final QuantileHistogram[] histograms = new QuantileHistogram[IndexedMetric.COUNT];
+
+    public RangeSketch() {
+        for (IndexedMetric metric : IndexedMetric.values()) {
+            histograms[metric.ordinal()] = new QuantileHistogram(metric);
+        }
+    }
+
+    public void add(double[] values) {
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            histograms[m].add(values[m]);
+        }
+    }
+
+    public void merge(RangeSketch other) {
+        for (int m = 0; m < IndexedMetric.COUNT; m++) {
+            histograms[m].merge(other.histograms[m]);
+        }
+    }
+
+    public double quantile(IndexedMetric metric, double q) {
+        return histograms[metric.ordinal()].quantile(q);
+    }
+
+    public long getCount() {
+        return histograms[0].getCount();
+    }
+}
@@ -0,0 +1,266 @@
+package com.weather.storage.index;
+
+import com.weather.common.model.WeatherReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-location daily aggregate index. Every stored report is appended to an
+// append-only log per location; readers tail the log into an in-memory segment
+// tree, so services sharing the storage directory all see each other's writes.
+// Percentile sketches are merged from per-day values, with whole months served
+// from lazily built monthly histograms. Only the most recently used locations are kept in
+// memory; an evicted location is rebuilt from its log on its next query.
+@Slf4j
+public class ReportAggregateIndex {
+    private static final int DEFAULT_MAX_LOCATIONS = 4096;
+
+    private final Path indexDir;
+    private final Map<String, LocationIndex> locations;
+
+    public ReportAggregateIndex(Path indexDir) {
+        this(indexDir, DEFAULT_MAX_LOCATIONS);
+    }
+
+    public ReportAggregateIndex(Path indexDir, final int maxLocations) {
+        this.indexDir = indexDir;
+        this.locations = new LinkedHashMap<String, LocationIndex>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocationIndex> eldest) {
+                return size() > maxLocations;
+            }
+        };
+    }
+
+    public void record(String location, LocalDate date, WeatherReport report) throws IOException {
+        // Single small O_APPEND writes don't interleave between processes
+        Files.write(logFile(location), line(date, report).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Bulk loads append a location's whole batch in one write rather than one per day. The
+    // kernel serializes O_APPEND writes to a file, so other writers' lines stay whole around it.
+    public void recordAll(String location, List<WeatherReport> reports) throws IOException {
+        if (reports.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(reports.size() * 48);
+        for (WeatherReport report : reports) {
+            lines.append(line(report.getDate(), report));
+        }
+        Files.write(logFile(location), lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String line(LocalDate date, WeatherReport report) {
+        return date.toEpochDay()
+                + "," + report.getHighTemp()
+                + "," + report.getLowTemp()
+                + "," + report.getHumidity()
+                + "," + report.getWindSpeed()
+                + "," + report.getPrecipitationChance()
+                + "\n";
+    }
+
+    public boolean exists(String location) {
+        return Files.exists(logFile(location));
+    }
+
+    public void touch(String location) throws IOException {
+        Path logPath = logFile(location);
+        if (!Files.exists(logPath)) {
+            Files.write(logPath, new byte[0], StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    public RangeAggregate query(String location, LocalDate startDate, LocalDate endDate) {
+        LocationIndex index = refresh(location);
+        synchronized (index) {
+            if (index.tree == null) {
+                return new RangeAggregate();
+            }
+            return index.tree.query(startDate.toEpochDay(), endDate.toEpochDay());
+        }
+    }
+
+    public RangeSketch sketch(String location, LocalDate startDate, LocalDate endDate) {
+        LocationIndex index = refresh(location);
+        RangeSketch result = new RangeSketch();
+        synchronized (index) {
+            if (index.tree == null) {
+                return result;
+            }
+            LocalDate cursor = startDate;
+            while (!cursor.isAfter(endDate)) {
+                LocalDate monthEnd = cursor.with(TemporalAdjusters.lastDayOfMonth());
+                if (cursor.getDayOfMonth() == 1 && !monthEnd.isAfter(endDate)) {
+                    result.merge(monthSketch(index, cursor));
+                } else {
+                    LocalDate last = monthEnd.isAfter(endDate) ? endDate : monthEnd;
+                    addDays(index, result, cursor, last);
+                }
+                cursor = monthEnd.plusDays(1);
+            }
+        }
+        return result;
+    }
+
+    public List<LocalDate> missingDates(String location, LocalDate startDate, LocalDate endDate) {
+        LocationIndex index = refresh(location);
+        List<LocalDate> missing = new ArrayList<>();
+        synchronized (index) {
+            for (long day = startDate.toEpochDay(); day <= endDate.toEpochDay(); day++) {
+                if (index.tree == null || !index.tree.contains(day)) {
+                    missing.add(LocalDate.ofEpochDay(day));
+                }
+            }
+        }
+        return missing;
+    }
+
+    private RangeSketch monthSketch(LocationIndex index, LocalDate monthStart) {
+        long key = monthKey(monthStart);
+        RangeSketch sketch = index.monthSketches.get(key);
+        if (sketch == null) {
+            sketch = new RangeSketch();
+            addDays(index, sketch, monthStart, monthStart.with(TemporalAdjusters.lastDayOfMonth()));
+            index.monthSketches.put(key, sketch);
+        }
+        return sketch;
+    }
+
+    private void addDays(LocationIndex index, RangeSketch sketch, LocalDate from, LocalDate to) {
+        for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+            double[] values = index.tree.get(day);
+            if (values != null) {
+                sketch.add(values);
+            }
+        }
+    }
+
+    private static long monthKey(LocalDate date) {
+        return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+
+    public void clear() {
+        synchronized (locations) {
+            locations.clear();
+        }
+    }
+
+    int cachedLocations() {
+        synchronized (locations) {
+            return locations.size();
+        }
+    }
+
+    // A query already holding an evicted index finishes on it; the next one starts a fresh index
+    private LocationIndex indexFor(String location) {
+        String key = normalize(location);
+        synchronized (locations) {
+            LocationIndex index = locations.get(key);
+            if (index == null) {
+                index = new LocationIndex();
+                locations.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    private LocationIndex refresh(String location) {
+        LocationIndex index = indexFor(location);
+        synchronized (index) {
+            Path logPath = logFile(location);
+            try {
+                long size = Files.exists(logPath) ? Files.size(logPath) : 0;
+                if (size < index.offset) {
+                    // Log was truncated (cache cleared), start over
+                    index.tree = null;
+                    index.offset = 0;
+                    index.monthSketches.clear();
+                }
+                if (size > index.offset) {
+                    tail(logPath, index, size);
+                }
+            } catch (IOException e) {
+                log.error("Failed to read aggregate index for {}", location, e);
+            }
+        }
+        return index;
+    }
+
+    private void tail(Path logPath, LocationIndex index, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - index.offset));
+            // A read may return fewer bytes than asked for; stop early only if the log shrank meanwhile
+            long position = index.offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            String chunk = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+
+            int start = 0;
+            int newline;
+            // A trailing partial line is left for the next refresh
+            while ((newline = chunk.indexOf('\n', start)) >= 0) {
+                apply(index, chunk.substring(start, newline));
+                start = newline + 1;
+            }
+            index.offset += chunk.substring(0, start).getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+
+    private void apply(LocationIndex index, String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 6) {
+            return;
+        }
+        try {
+            long epochDay = Long.parseLong(fields[0]);
+            WeatherReport report = new WeatherReport();
+            report.setHighTemp(Double.parseDouble(fields[1]));
+            report.setLowTemp(Double.parseDouble(fields[2]));
+            report.setHumidity(Double.parseDouble(fields[3]));
+            report.setWindSpeed(Double.parseDouble(fields[4]));
+            report.setPrecipitationChance(Double.parseDouble(fields[5]));
+            if (index.tree == null) {
+                index.tree = new AggregateSegmentTree(epochDay);
+            }
+            index.tree.put(epochDay, IndexedMetric.valuesOf(report));
+            index.monthSketches.remove(monthKey(LocalDate.ofEpochDay(epochDay)));
+        } catch (NumberFormatException e) {
+            log.warn("Skipping malformed index entry: {}", line);
+        }
+    }
+
+    private Path logFile(String location) {
+        return indexDir.resolve(String.format("index_%s.log", normalize(location)));
+    }
+
+    private static String normalize(String location) {
+        return location.toLowerCase().replace(" ", "_");
+    }
+
+    private static class LocationIndex {
+        private AggregateSegmentTree tree;
+        private long offset;
+        private final Map<Long, RangeSketch> monthSketches = new HashMap<>();
+    }
+}
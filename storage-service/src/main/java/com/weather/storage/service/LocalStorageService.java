@@ -7,15 +7,26 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.weather.common.model.Alert;
 import com.weather.common.model.AlertNotification;
+import com.weather.common.model.AlertTriggerState;
+import com.weather.common.model.LocationCell;
+import com.weather.common.model.MemberLease;
 import com.weather.common.model.WeatherReport;
 import com.weather.common.model.WeatherStatistics;
+import com.weather.storage.backfill.BackfillCheckpoint;
+import com.weather.storage.index.RangeAggregate;
+import com.weather.storage.index.RangeSketch;
+import com.weather.storage.index.ReportAggregateIndex;
+import com.weather.storage.service.StorageMeters.Record;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -32,8 +43,21 @@ public class LocalStorageService {
     private static final String ALERTS_DIR = "alerts";
     private static final String STATISTICS_DIR = "statistics";
     private static final String NOTIFICATIONS_DIR = "notifications";
+    private static final String LOCATIONS_DIR = "locations";
+    private static final String INDEX_DIR = "index";
+    private static final String MEMBERS_DIR = "members";
+    private static final String BACKFILL_DIR = "backfill";
+    private static final String TRIGGERS_DIR = "triggers";
+    private final ReportAggregateIndex aggregateIndex;
+    private final StorageMeters meters = new StorageMeters(Metrics.globalRegistry);
 
     public LocalStorageService() {
+        // Set up storage in user's documents folder
+        this(Paths.get(System.getProperty("user.home"), "Documents", "WeatherApp"));
+    }
+
+    // Storage rooted elsewhere, e.g. a scratch directory for benchmarks and tools
+    public LocalStorageService(Path baseStoragePath) {
         // Configure ObjectMapper for proper serialization
         mapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())            // For LocalDateTime handling
@@ -42,9 +66,8 @@ public class LocalStorageService {
                 .configure(SerializationFeature.WRITE_DATES_WITH_ZONE_ID, true)    // Preserve timezone info
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL);         // Skip null fields
 
-        // Set up storage in user's documents folder
-        String userHome = System.getProperty("user.home");
-        baseStoragePath = Paths.get(userHome, "Documents", "WeatherApp");
+        this.baseStoragePath = baseStoragePath;
+        aggregateIndex = new ReportAggregateIndex(baseStoragePath.resolve(INDEX_DIR));
         initializeStorage();
     }
 
@@ -56,6 +79,11 @@ public class LocalStorageService {
             Files.createDirectories(baseStoragePath.resolve(ALERTS_DIR));
             Files.createDirectories(baseStoragePath.resolve(STATISTICS_DIR));
             Files.createDirectories(baseStoragePath.resolve(NOTIFICATIONS_DIR));
+            Files.createDirectories(baseStoragePath.resolve(LOCATIONS_DIR));
+            Files.createDirectories(baseStoragePath.resolve(INDEX_DIR));
+            Files.createDirectories(baseStoragePath.resolve(MEMBERS_DIR));
+            Files.createDirectories(baseStoragePath.resolve(BACKFILL_DIR));
+            Files.createDirectories(baseStoragePath.resolve(TRIGGERS_DIR));
             log.info("Storage directories initialized at: {}", baseStoragePath);
         } catch (Exception e) {
             log.error("Failed to initialize storage directories", e);
@@ -68,20 +96,48 @@ public class LocalStorageService {
         try {
             String fileName = generateReportFileName(location, date);
             Path filePath = baseStoragePath.resolve(REPORTS_DIR).resolve(fileName);
-            mapper.writeValue(filePath.toFile(), report);
+            // Index legacy files first, or the new index log would hide them from ensureIndexed
+            ensureIndexed(location);
+            writeJson(filePath, report, Record.REPORT);
+            aggregateIndex.record(location, date, report);
         } catch (Exception e) {
             log.error("Failed to save weather report", e);
             throw new RuntimeException("Save operation failed", e);
         }
     }
 
+    // Bulk load path: one location's reports, each carrying its date, with a single index append
+    // for the batch. Days already stored are left alone unless overwrite is set. Returns how
+    // many reports were written.
+    public int saveWeatherReports(String location, List<WeatherReport> reports, boolean overwrite) {
+        try {
+            // Index legacy files first, or the new index log would hide them from ensureIndexed
+            ensureIndexed(location);
+            Path reportsDir = baseStoragePath.resolve(REPORTS_DIR);
+            List<WeatherReport> written = new ArrayList<>(reports.size());
+            for (WeatherReport report : reports) {
+                Path filePath = reportsDir.resolve(generateReportFileName(location, report.getDate()));
+                if (!overwrite && Files.exists(filePath)) {
+                    continue;
+                }
+                writeJson(filePath, report, Record.REPORT);
+                written.add(report);
+            }
+            aggregateIndex.recordAll(location, written);
+            return written.size();
+        } catch (Exception e) {
+            log.error("Failed to save weather reports for {}", location, e);
+            throw new RuntimeException("Save operation failed", e);
+        }
+    }
+
     public Optional<WeatherReport> getWeatherReport(String location, LocalDate date) {
         try {
             String fileName = generateReportFileName(location, date);
             Path filePath = baseStoragePath.resolve(REPORTS_DIR).resolve(fileName);
 
             if (Files.exists(filePath)) {
-                return Optional.of(mapper.readValue(filePath.toFile(), WeatherReport.class));
+                return Optional.of(readJson(filePath, WeatherReport.class, Record.REPORT));
             }
             return Optional.empty();
         } catch (Exception e) {
@@ -99,12 +155,55 @@ public class LocalStorageService {
         return reports;
     }
 
+    // Aggregate Index Methods
+    public RangeAggregate getReportAggregates(String location, LocalDate startDate, LocalDate endDate) {
+        ensureIndexed(location);
+        return aggregateIndex.query(location, startDate, endDate);
+    }
+
+    public RangeSketch getReportSketch(String location, LocalDate startDate, LocalDate endDate) {
+        ensureIndexed(location);
+        return aggregateIndex.sketch(location, startDate, endDate);
+    }
+
+    public List<LocalDate> getUnindexedReportDates(String location, LocalDate startDate, LocalDate endDate) {
+        ensureIndexed(location);
+        return aggregateIndex.missingDates(location, startDate, endDate);
+    }
+
+    // Reports stored before the index existed are indexed on first use
+    private void ensureIndexed(String location) {
+        if (aggregateIndex.exists(location)) {
+            return;
+        }
+        String prefix = location.toLowerCase().replace(" ", "_") + "_";
+        Path reportsDir = baseStoragePath.resolve(REPORTS_DIR);
+        long started = System.nanoTime();
+        int files = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(reportsDir, prefix + "*.json")) {
+            for (Path path : stream) {
+                files++;
+                String name = path.getFileName().toString();
+                String datePart = name.substring(prefix.length(), name.length() - ".json".length());
+                if (datePart.length() != 10) {
+                    continue; // belongs to a longer location name sharing the prefix
+                }
+                LocalDate date = LocalDate.parse(datePart, DateTimeFormatter.ISO_DATE);
+                aggregateIndex.record(location, date, readJson(path, WeatherReport.class, Record.REPORT));
+            }
+            aggregateIndex.touch(location);
+            meters.scan(Record.REPORT, files, System.nanoTime() - started);
+        } catch (Exception e) {
+            log.error("Failed to index stored reports for {}", location, e);
+        }
+    }
+
     // Alert Storage Methods
     public void saveAlert(Alert alert) {
         try {
             String fileName = String.format("alert_%s.json", alert.getId());
             Path filePath = baseStoragePath.resolve(ALERTS_DIR).resolve(fileName);
-            mapper.writeValue(filePath.toFile(), alert);
+            writeJson(filePath, alert, Record.ALERT);
             log.info("Saved alert with {} conditions", alert.getConditions().size());
         } catch (Exception e) {
             log.error("Failed to save alert", e);
@@ -118,7 +217,7 @@ public class LocalStorageService {
             Path filePath = baseStoragePath.resolve(ALERTS_DIR).resolve(fileName);
 
             if (Files.exists(filePath)) {
-                Alert alert = mapper.readValue(filePath.toFile(), Alert.class);
+                Alert alert = readJson(filePath, Alert.class, Record.ALERT);
                 log.info("Retrieved alert {} with {} conditions", alertId, alert.getConditions().size());
                 return Optional.of(alert);
             }
@@ -133,16 +232,20 @@ public class LocalStorageService {
         try {
             List<Alert> alerts = new ArrayList<>();
             Path alertsDir = baseStoragePath.resolve(ALERTS_DIR);
+            long started = System.nanoTime();
+            int files = 0;
 
             try (DirectoryStream<Path> stream = Files.newDirectoryStream(alertsDir, "*.json")) {
                 for (Path path : stream) {
-                    Alert alert = mapper.readValue(path.toFile(), Alert.class);
+                    files++;
+                    Alert alert = readJson(path, Alert.class, Record.ALERT);
                     if (alert.isActive()) {
                         alerts.add(alert);
                         log.debug("Found active alert with {} conditions", alert.getConditions().size());
                     }
                 }
             }
+            meters.scan(Record.ALERT, files, System.nanoTime() - started);
             log.info("Retrieved {} active alerts", alerts.size());
             return alerts;
         } catch (Exception e) {
@@ -155,7 +258,7 @@ public class LocalStorageService {
         try {
             String fileName = String.format("notification_%s.json", notification.getId());
             Path filePath = baseStoragePath.resolve(NOTIFICATIONS_DIR).resolve(fileName);
-            mapper.writeValue(filePath.toFile(), notification);
+            writeJson(filePath, notification, Record.NOTIFICATION);
         } catch (Exception e) {
             log.error("Failed to save notification", e);
             throw new RuntimeException("Save operation failed", e);
@@ -165,12 +268,14 @@ public class LocalStorageService {
     public List<AlertNotification> getNotifications() {
         List<AlertNotification> notifications = new ArrayList<>();
         Path notificationsDir = baseStoragePath.resolve(NOTIFICATIONS_DIR);
+        long started = System.nanoTime();
 
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(notificationsDir, "*.json")) {
             for (Path path : stream) {
-                AlertNotification notification = mapper.readValue(path.toFile(), AlertNotification.class);
+                AlertNotification notification = readJson(path, AlertNotification.class, Record.NOTIFICATION);
                 notifications.add(notification);
             }
+            meters.scan(Record.NOTIFICATION, notifications.size(), System.nanoTime() - started);
         } catch (Exception e) {
             log.error("Failed to read notifications", e);
         }
@@ -182,7 +287,7 @@ public class LocalStorageService {
         try {
             String fileName = generateStatisticsFileName(location, startDate, endDate);
             Path filePath = baseStoragePath.resolve(STATISTICS_DIR).resolve(fileName);
-            mapper.writeValue(filePath.toFile(), statistics);
+            writeJson(filePath, statistics, Record.STATISTICS);
         } catch (Exception e) {
             log.error("Failed to save statistics", e);
             throw new RuntimeException("Save operation failed", e);
@@ -195,7 +300,7 @@ public class LocalStorageService {
             Path filePath = baseStoragePath.resolve(STATISTICS_DIR).resolve(fileName);
 
             if (Files.exists(filePath)) {
-                return Optional.of(mapper.readValue(filePath.toFile(), WeatherStatistics.class));
+                return Optional.of(readJson(filePath, WeatherStatistics.class, Record.STATISTICS));
             }
             return Optional.empty();
         } catch (Exception e) {
@@ -204,7 +309,169 @@ public class LocalStorageService {
         }
     }
 
+    // Location Cell Methods
+    public void saveLocationCell(LocationCell locationCell) {
+        try {
+            String fileName = generateLocationFileName(locationCell.getLocation());
+            Path filePath = baseStoragePath.resolve(LOCATIONS_DIR).resolve(fileName);
+            writeJson(filePath, locationCell, Record.LOCATION);
+        } catch (Exception e) {
+            log.error("Failed to save location cell", e);
+            throw new RuntimeException("Save operation failed", e);
+        }
+    }
+
+    public Optional<LocationCell> getLocationCell(String location) {
+        try {
+            String fileName = generateLocationFileName(location);
+            Path filePath = baseStoragePath.resolve(LOCATIONS_DIR).resolve(fileName);
+
+            if (Files.exists(filePath)) {
+                return Optional.of(readJson(filePath, LocationCell.class, Record.LOCATION));
+            }
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Failed to read location cell", e);
+            return Optional.empty();
+        }
+    }
+
+    // Cluster Membership Methods
+    public void saveMemberLease(MemberLease lease) {
+        try {
+            Path groupDir = Files.createDirectories(baseStoragePath.resolve(MEMBERS_DIR).resolve(lease.getGroup()));
+            Path filePath = groupDir.resolve(String.format("lease_%s.json", lease.getInstanceId()));
+            // Written aside and moved into place so readers never see a partial lease
+            Path tempPath = groupDir.resolve(String.format(".lease_%s.tmp", lease.getInstanceId()));
+            writeJson(tempPath, lease, Record.LEASE);
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("Failed to save member lease", e);
+            throw new RuntimeException("Save operation failed", e);
+        }
+    }
+
+    // Leases of the group that haven't expired yet
+    public List<MemberLease> getMemberLeases(String group) {
+        List<MemberLease> leases = new ArrayList<>();
+        Path groupDir = baseStoragePath.resolve(MEMBERS_DIR).resolve(group);
+        if (!Files.isDirectory(groupDir)) {
+            return leases;
+        }
+        long now = System.currentTimeMillis();
+        long started = System.nanoTime();
+        int files = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(groupDir, "lease_*.json")) {
+            for (Path path : stream) {
+                files++;
+                try {
+                    MemberLease lease = readJson(path, MemberLease.class, Record.LEASE);
+                    if (lease.getExpiresAt() > now) {
+                        leases.add(lease);
+                    }
+                } catch (Exception e) {
+                    // A lease deleted between listing and reading just means that member left
+                    log.debug("Skipping unreadable lease {}", path);
+                }
+            }
+            meters.scan(Record.LEASE, files, System.nanoTime() - started);
+        } catch (Exception e) {
+            log.error("Failed to read member leases", e);
+        }
+        return leases;
+    }
+
+    public void deleteMemberLease(String group, String instanceId) {
+        try {
+            Files.deleteIfExists(baseStoragePath.resolve(MEMBERS_DIR).resolve(group)
+                    .resolve(String.format("lease_%s.json", instanceId)));
+        } catch (Exception e) {
+            log.error("Failed to delete member lease", e);
+        }
+    }
+
+    // Alert Trigger State Methods
+    public void saveAlertTriggerState(AlertTriggerState state) {
+        try {
+            Path triggersDir = baseStoragePath.resolve(TRIGGERS_DIR);
+            Path filePath = triggersDir.resolve(String.format("trigger_%s.json", state.getCell()));
+            if (state.getNotifiedAt() == null || state.getNotifiedAt().isEmpty()) {
+                Files.deleteIfExists(filePath);
+                return;
+            }
+            // Moved into place so the next owner of the cell never reads a partial state
+            Path tempPath = triggersDir.resolve(String.format(".trigger_%s.tmp", state.getCell()));
+            writeJson(tempPath, state, Record.TRIGGER);
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("Failed to save alert trigger state", e);
+            throw new RuntimeException("Save operation failed", e);
+        }
+    }
+
+    public Optional<AlertTriggerState> getAlertTriggerState(String cell) {
+        try {
+            Path filePath = baseStoragePath.resolve(TRIGGERS_DIR).resolve(String.format("trigger_%s.json", cell));
+            if (Files.exists(filePath)) {
+                return Optional.of(readJson(filePath, AlertTriggerState.class, Record.TRIGGER));
+            }
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Failed to read alert trigger state", e);
+            return Optional.empty();
+        }
+    }
+
+    // Backfill Checkpoint Methods
+    public void saveBackfillCheckpoint(BackfillCheckpoint checkpoint) {
+        try {
+            Path backfillDir = baseStoragePath.resolve(BACKFILL_DIR);
+            Path filePath = backfillDir.resolve(String.format("checkpoint_%s.json", checkpoint.getId()));
+            // Moved into place so a crash mid-write leaves the previous checkpoint intact
+            Path tempPath = backfillDir.resolve(String.format(".checkpoint_%s.tmp", checkpoint.getId()));
+            writeJson(tempPath, checkpoint, Record.CHECKPOINT);
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("Failed to save backfill checkpoint", e);
+            throw new RuntimeException("Save operation failed", e);
+        }
+    }
+
+    public Optional<BackfillCheckpoint> getBackfillCheckpoint(String id) {
+        try {
+            Path filePath = baseStoragePath.resolve(BACKFILL_DIR).resolve(String.format("checkpoint_%s.json", id));
+            if (Files.exists(filePath)) {
+                return Optional.of(readJson(filePath, BackfillCheckpoint.class, Record.CHECKPOINT));
+            }
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Failed to read backfill checkpoint", e);
+            return Optional.empty();
+        }
+    }
+
     // Helper Methods
+    // Records go through byte arrays so their sizes can be metered without another stat call
+    private <T> T readJson(Path path, Class<T> type, Record record) throws IOException {
+        long started = System.nanoTime();
+        byte[] bytes = Files.readAllBytes(path);
+        T value = mapper.readValue(bytes, type);
+        meters.read(record, bytes.length, System.nanoTime() - started);
+        return value;
+    }
+
+    private void writeJson(Path path, Object value, Record record) throws IOException {
+        long started = System.nanoTime();
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        Files.write(path, bytes);
+        meters.write(record, bytes.length, System.nanoTime() - started);
+    }
+
+    private String generateLocationFileName(String location) {
+        return String.format("location_%s.json",
+                location.trim().toLowerCase().replace(" ", "_"));
+    }
+
     private String generateReportFileName(String location, LocalDate date) {
         return String.format("%s_%s.json",
                 location.toLowerCase().replace(" ", "_"),
@@ -267,6 +534,7 @@ public class LocalStorageService {
                             log.error("Failed to delete file: {}", file, e);
                         }
                     });
+            aggregateIndex.clear();
         } catch (Exception e) {
             log.error("Failed to clear cache", e);
             throw new RuntimeException("Cache clear operation failed", e);
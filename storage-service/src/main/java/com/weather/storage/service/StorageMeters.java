@@ -0,0 +1,62 @@
+package com.weather.storage.service;
+
+import com.weather.common.metrics.ServiceMeters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Latency, bytes and files per scan of the file-backed storage, tagged by operation and record
+// type. Each service builds its LocalStorageService by hand, so the meters go on the global
+// registry: Spring Boot adds its own registries to it, and with none added they are no-ops.
+final class StorageMeters {
+    enum Record {
+        REPORT, ALERT, NOTIFICATION, STATISTICS, LOCATION, LEASE, CHECKPOINT, TRIGGER;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Timer[] reads = new Timer[Record.values().length];
+    private final Timer[] writes = new Timer[Record.values().length];
+    private final Timer[] scans = new Timer[Record.values().length];
+    private final DistributionSummary[] readBytes = new DistributionSummary[Record.values().length];
+    private final DistributionSummary[] writeBytes = new DistributionSummary[Record.values().length];
+    private final DistributionSummary[] scanFiles = new DistributionSummary[Record.values().length];
+
+    StorageMeters(MeterRegistry registry) {
+        for (Record record : Record.values()) {
+            int i = record.ordinal();
+            reads[i] = ServiceMeters.timer(registry, "weather.storage.operation",
+                    "Storage reads and writes of one record", "operation", "read", "record", record.tag());
+            writes[i] = ServiceMeters.timer(registry, "weather.storage.operation",
+                    "Storage reads and writes of one record", "operation", "write", "record", record.tag());
+            scans[i] = ServiceMeters.timer(registry, "weather.storage.scan",
+                    "Directory scans that read every stored record of a type", "record", record.tag());
+            readBytes[i] = ServiceMeters.bytes(registry, "weather.storage.payload",
+                    "Record sizes read and written", "operation", "read", "record", record.tag());
+            writeBytes[i] = ServiceMeters.bytes(registry, "weather.storage.payload",
+                    "Record sizes read and written", "operation", "write", "record", record.tag());
+            scanFiles[i] = ServiceMeters.amounts(registry, "weather.storage.scan.files",
+                    "Files visited per directory scan", "record", record.tag());
+        }
+    }
+
+    void read(Record record, int bytes, long nanos) {
+        reads[record.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        readBytes[record.ordinal()].record(bytes);
+    }
+
+    void write(Record record, int bytes, long nanos) {
+        writes[record.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        writeBytes[record.ordinal()].record(bytes);
+    }
+
+    void scan(Record record, int files, long nanos) {
+        scans[record.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        scanFiles[record.ordinal()].record(files);
+    }
+}
@@ -0,0 +1,132 @@
+package com.weather.storage.backfill;
+
+import com.weather.common.geo.GeoGrid;
+import com.weather.storage.service.LocalStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackfillServiceTest {
+    private static final String HEADER = "location,date,highTemp,lowTemp,humidity,windSpeed,precipitationChance\n";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 100;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private StoppingStorage storage;
+    private BackfillService backfill;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = dir.resolve("history.csv");
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int day = 0; day < DAYS; day++) {
+            csv.append(line(day));
+        }
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        storage = new StoppingStorage(dir.resolve("storage"));
+        // Small chunks so the file takes many checkpoints
+        backfill = new BackfillService(storage, new GeoGrid(5), 2, 256);
+        storage.backfill = backfill;
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfill.shutdown();
+    }
+
+    @Test
+    void stoppedRunResumesFromItsCheckpoint() throws Exception {
+        storage.stopAfterCheckpoints = 1;
+        BackfillStatus stopped = backfill.run(file, null, false, false, status -> { });
+        BackfillCheckpoint checkpoint = storage.getBackfillCheckpoint(stopped.getId()).get();
+
+        assertEquals(BackfillStatus.State.STOPPED, stopped.getState());
+        assertEquals(checkpoint.getOffset(), stopped.getOffset());
+        assertTrue(checkpoint.getOffset() > HEADER.length() && checkpoint.getOffset() < Files.size(file));
+        assertTrue(checkpoint.getWritten() > 0 && checkpoint.getWritten() < DAYS);
+        assertEquals(checkpoint.getWritten(), stored());
+
+        BackfillStatus resumed = backfill.run(file, null, false, false, status -> { });
+
+        assertEquals(BackfillStatus.State.COMPLETED, resumed.getState());
+        assertEquals(checkpoint.getOffset(), resumed.getResumedFrom());
+        assertEquals(Files.size(file), resumed.getOffset());
+        // Nothing before the checkpoint is read again, so nothing is counted as already stored
+        assertEquals(DAYS, resumed.getWritten());
+        assertEquals(0, resumed.getExisting());
+        assertEquals(DAYS, stored());
+    }
+
+    @Test
+    void changedFileIsBackfilledFromTheStart() throws Exception {
+        assertEquals(DAYS, backfill.run(file, null, false, false, status -> { }).getWritten());
+
+        Files.write(file, line(DAYS).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        BackfillStatus rerun = backfill.run(file, null, false, false, status -> { });
+
+        assertEquals(BackfillStatus.State.COMPLETED, rerun.getState());
+        assertEquals(HEADER.length(), rerun.getResumedFrom());
+        assertEquals(1, rerun.getWritten());
+        assertEquals(DAYS, rerun.getExisting());
+        assertEquals(DAYS + 1, stored());
+    }
+
+    @Test
+    void restartIgnoresTheCheckpoint() throws Exception {
+        backfill.run(file, null, false, false, status -> { });
+
+        BackfillStatus restarted = backfill.run(file, null, true, true, status -> { });
+
+        assertEquals(HEADER.length(), restarted.getResumedFrom());
+        assertEquals(DAYS, restarted.getWritten());
+        assertEquals(0, restarted.getExisting());
+    }
+
+    private long stored() {
+        long count = 0;
+        for (int day = 0; day <= DAYS; day++) {
+            if (storage.getWeatherReport("gh-dr5ru", FIRST_DAY.plusDays(day)).isPresent()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String line(int day) {
+        return "gh-dr5ru," + FIRST_DAY.plusDays(day) + "," + (20 + day % 10) + "," + (10 + day % 5) + ",60,4.5,20\n";
+    }
+
+    // Stops the job once it has taken a given number of checkpoints, as Ctrl-C or the stop
+    // endpoint would, but at a known point in the file
+    private static class StoppingStorage extends LocalStorageService {
+        private final AtomicInteger checkpoints = new AtomicInteger();
+        private volatile BackfillService backfill;
+        private volatile int stopAfterCheckpoints;
+
+        StoppingStorage(Path baseStoragePath) {
+            super(baseStoragePath);
+        }
+
+        @Override
+        public void saveBackfillCheckpoint(BackfillCheckpoint checkpoint) {
+            super.saveBackfillCheckpoint(checkpoint);
+            if (checkpoints.incrementAndGet() == stopAfterCheckpoints) {
+                backfill.stop(checkpoint.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.weather.storage.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregateSegmentTreeTest {
+    private static final long FIRST_DAY = 19_000;
+
+    @Test
+    void rangeQueriesMatchABruteForceScan() {
+        Random random = new Random(42);
+        AggregateSegmentTree tree = new AggregateSegmentTree(FIRST_DAY);
+        Map<Long, double[]> days = new HashMap<>();
+        // Days land on both sides of the initial window so the tree grows in both directions
+        for (int i = 0; i < 2000; i++) {
+            long day = FIRST_DAY - 700 + random.nextInt(1400);
+            double[] values = values(random);
+            tree.put(day, values);
+            days.put(day, values);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            long from = FIRST_DAY - 800 + random.nextInt(1600);
+            long to = from + random.nextInt(400);
+            RangeAggregate expected = new RangeAggregate();
+            for (long day = from; day <= to; day++) {
+                if (days.containsKey(day)) {
+                    expected.add(days.get(day));
+                }
+            }
+            assertSame(expected, tree.query(from, to));
+        }
+    }
+
+    @Test
+    void rewritingADayReplacesItsValues() {
+        AggregateSegmentTree tree = new AggregateSegmentTree(FIRST_DAY);
+        tree.put(FIRST_DAY, new double[]{10, 0, 1, 50});
+        tree.put(FIRST_DAY, new double[]{20, 0, 1, 50});
+
+        RangeAggregate aggregate = tree.query(FIRST_DAY, FIRST_DAY);
+        assertEquals(1, aggregate.getCount());
+        assertEquals(20, aggregate.getSum(IndexedMetric.TEMPERATURE), 1e-9);
+        assertArrayEquals(new double[]{20, 0, 1, 50}, tree.get(FIRST_DAY), 1e-9);
+    }
+
+    @Test
+    void emptyAndOutOfRangeQueries() {
+        AggregateSegmentTree tree = new AggregateSegmentTree(FIRST_DAY);
+        tree.put(FIRST_DAY, new double[]{10, 0, 1, 50});
+
+        assertEquals(0, tree.query(FIRST_DAY + 1, FIRST_DAY + 10).getCount());
+        assertEquals(0, tree.query(FIRST_DAY + 10_000, FIRST_DAY + 20_000).getCount());
+        assertEquals(1, tree.query(FIRST_DAY - 10_000, FIRST_DAY + 10_000).getCount());
+        assertTrue(tree.contains(FIRST_DAY));
+        assertFalse(tree.contains(FIRST_DAY + 1));
+        assertNull(tree.get(FIRST_DAY - 10_000));
+    }
+
+    private static void assertSame(RangeAggregate expected, RangeAggregate actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        for (IndexedMetric metric : IndexedMetric.values()) {
+            assertEquals(expected.getSum(metric), actual.getSum(metric), 1e-6, metric.name());
+            assertEquals(expected.getVariance(metric), actual.getVariance(metric), 1e-6, metric.name());
+            assertEquals(expected.getMin(metric), actual.getMin(metric), 0, metric.name());
+            assertEquals(expected.getMax(metric), actual.getMax(metric), 0, metric.name());
+        }
+    }
+
+    private static double[] values(Random random) {
+        double[] values = new double[IndexedMetric.COUNT];
+        for (int m = 0; m < values.length; m++) {
+            values[m] = random.nextDouble() * 100 - 20;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,73 @@
+package com.weather.storage.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuantileHistogramTest {
+
+    @Test
+    void quantilesAreWithinHalfABucketOfTheExactValue() {
+        Random random = new Random(7);
+        QuantileHistogram histogram = new QuantileHistogram(IndexedMetric.TEMPERATURE);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 12 + 15;
+            histogram.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            double exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertEquals(exact, histogram.quantile(q), IndexedMetric.TEMPERATURE.getBucketWidth() / 2, "q=" + q);
+        }
+    }
+
+    @Test
+    void mergingMatchesAddingEverythingToOneHistogram() {
+        Random random = new Random(11);
+        QuantileHistogram whole = new QuantileHistogram(IndexedMetric.HUMIDITY);
+        QuantileHistogram left = new QuantileHistogram(IndexedMetric.HUMIDITY);
+        QuantileHistogram right = new QuantileHistogram(IndexedMetric.HUMIDITY);
+        for (int i = 0; i < 5_000; i++) {
+            double value = random.nextDouble() * 100;
+            whole.add(value);
+            (i % 3 == 0 ? left : right).add(value);
+        }
+        left.merge(right);
+
+        assertEquals(whole.getCount(), left.getCount());
+        for (double q = 0.05; q <= 1.0; q += 0.05) {
+            assertEquals(whole.quantile(q), left.quantile(q), 0, "q=" + q);
+        }
+    }
+
+    @Test
+    void valuesOutsideTheLayoutClampToTheEdgeBuckets() {
+        QuantileHistogram histogram = new QuantileHistogram(IndexedMetric.WIND);
+        histogram.add(-5);
+        histogram.add(500);
+
+        assertEquals(0.25, histogram.quantile(0.5), 1e-9);
+        assertEquals(79.75, histogram.quantile(1.0), 1e-9);
+        assertEquals(0.0, new QuantileHistogram(IndexedMetric.WIND).quantile(0.5), 0);
+    }
+
+    @Test
+    void sketchKeepsOneHistogramPerMetric() {
+        RangeSketch sketch = new RangeSketch();
+        sketch.add(new double[]{20, 40, 5, 60});
+        RangeSketch other = new RangeSketch();
+        other.add(new double[]{-10, 80, 15, 90});
+        sketch.merge(other);
+
+        assertEquals(2, sketch.getCount());
+        assertEquals(-9.75, sketch.quantile(IndexedMetric.TEMPERATURE, 0.5), 1e-9);
+        assertEquals(80.5, sketch.quantile(IndexedMetric.PRECIPITATION, 1.0), 1e-9);
+        assertEquals(5.25, sketch.quantile(IndexedMetric.WIND, 0.5), 1e-9);
+        assertEquals(90.5, sketch.quantile(IndexedMetric.HUMIDITY, 0.9), 1e-9);
+    }
+}
@@ -0,0 +1,125 @@
+package com.weather.storage.index;
+
+import com.weather.common.model.WeatherReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportAggregateIndexTest {
+    private static final String CELL = "gh-dr5ru";
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void readerTailsAppendsFromAnotherWriter() throws IOException {
+        ReportAggregateIndex writer = new ReportAggregateIndex(indexDir);
+        ReportAggregateIndex reader = new ReportAggregateIndex(indexDir);
+
+        writer.record(CELL, START, report(10));
+        assertEquals(1, reader.query(CELL, START, START.plusDays(1)).getCount());
+
+        writer.record(CELL, START.plusDays(1), report(20));
+        RangeAggregate aggregate = reader.query(CELL, START, START.plusDays(1));
+        assertEquals(2, aggregate.getCount());
+        assertEquals(15, aggregate.getAverage(IndexedMetric.TEMPERATURE), 1e-9);
+    }
+
+    @Test
+    void largeLogIsReadCompletely() throws IOException {
+        ReportAggregateIndex writer = new ReportAggregateIndex(indexDir);
+        List<WeatherReport> batch = new ArrayList<>();
+        // Several megabytes, well past a single read's worth
+        for (int day = 0; day < 100_000; day++) {
+            WeatherReport report = report(day % 40);
+            report.setDate(START.plusDays(day));
+            batch.add(report);
+        }
+        writer.recordAll(CELL, batch);
+
+        RangeAggregate aggregate = new ReportAggregateIndex(indexDir).query(CELL, START, START.plusDays(100_000));
+        assertEquals(100_000, aggregate.getCount());
+        assertEquals(39, aggregate.getMax(IndexedMetric.TEMPERATURE), 1e-9);
+    }
+
+    @Test
+    void partialLastLineWaitsForTheRestOfIt() throws IOException {
+        ReportAggregateIndex index = new ReportAggregateIndex(indexDir);
+        index.record(CELL, START, report(10));
+        Path log = indexDir.resolve("index_" + CELL + ".log");
+        String line = START.plusDays(1).toEpochDay() + ",20.0,20.0,50.0,3.0,10.0\n";
+
+        Files.write(log, line.substring(0, 10).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertEquals(1, index.query(CELL, START, START.plusDays(1)).getCount());
+
+        Files.write(log, line.substring(10).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertEquals(2, index.query(CELL, START, START.plusDays(1)).getCount());
+    }
+
+    @Test
+    void truncatedLogIsReadFromTheStart() throws IOException {
+        ReportAggregateIndex index = new ReportAggregateIndex(indexDir);
+        index.record(CELL, START, report(10));
+        index.record(CELL, START.plusDays(1), report(20));
+        assertEquals(2, index.query(CELL, START, START.plusDays(1)).getCount());
+
+        Files.write(indexDir.resolve("index_" + CELL + ".log"), new byte[0]);
+        index.record(CELL, START.plusDays(1), report(30));
+
+        RangeAggregate aggregate = index.query(CELL, START, START.plusDays(1));
+        assertEquals(1, aggregate.getCount());
+        assertEquals(30, aggregate.getMax(IndexedMetric.TEMPERATURE), 1e-9);
+    }
+
+    @Test
+    void missingDatesAreTheGapsInTheLog() throws IOException {
+        ReportAggregateIndex index = new ReportAggregateIndex(indexDir);
+        index.record(CELL, START, report(10));
+        index.record(CELL, START.plusDays(2), report(10));
+
+        assertEquals(1, index.missingDates(CELL, START, START.plusDays(2)).size());
+        assertEquals(START.plusDays(1), index.missingDates(CELL, START, START.plusDays(2)).get(0));
+    }
+
+    @Test
+    void leastRecentlyUsedLocationsAreEvictedAndReloadedFromTheLog() throws IOException {
+        ReportAggregateIndex index = new ReportAggregateIndex(indexDir, 2);
+        index.record("gh-a", START, report(10));
+        index.record("gh-b", START, report(20));
+        index.record("gh-c", START, report(30));
+
+        index.query("gh-a", START, START);
+        index.query("gh-b", START, START);
+        index.query("gh-a", START, START);
+        index.query("gh-c", START, START);
+        assertEquals(2, index.cachedLocations());
+
+        // gh-b was least recently used, so it comes back from its log
+        index.record("gh-b", START.plusDays(1), report(40));
+        RangeAggregate aggregate = index.query("gh-b", START, START.plusDays(1));
+        assertEquals(2, aggregate.getCount());
+        assertEquals(40, aggregate.getMax(IndexedMetric.TEMPERATURE), 1e-9);
+        assertEquals(2, index.cachedLocations());
+    }
+
+    private static WeatherReport report(double temperature) {
+        WeatherReport report = new WeatherReport();
+        report.setHighTemp(temperature);
+        report.setLowTemp(temperature);
+        report.setHumidity(50);
+        report.setWindSpeed(3);
+        report.setPrecipitationChance(10);
+        return report;
+    }
+}
@@ -0,0 +1,80 @@
+package com.weather.storage.service;
+
+import com.weather.common.model.WeatherReport;
+import com.weather.storage.index.IndexedMetric;
+import com.weather.storage.index.RangeAggregate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalStorageServiceTest {
+    private static final String CELL = "gh-dr5ru";
+    private static final LocalDate JUNE_1 = LocalDate.of(2024, 6, 1);
+
+    @TempDir
+    Path storage;
+
+    @Test
+    void firstSaveOnAnUpgradedInstallIndexesTheLegacyReports() throws IOException {
+        // Reports written before the aggregate index existed: files only, no index log
+        Files.createDirectories(storage.resolve("reports"));
+        for (int day = 0; day < 3; day++) {
+            writeLegacyReport(JUNE_1.plusDays(day), 20 + day);
+        }
+        LocalStorageService service = new LocalStorageService(storage);
+
+        service.saveWeatherReport(CELL, JUNE_1.plusDays(3), report(JUNE_1.plusDays(3), 23));
+
+        RangeAggregate aggregate = service.getReportAggregates(CELL, JUNE_1, JUNE_1.plusDays(3));
+        assertEquals(4, aggregate.getCount());
+        assertEquals(21.5, aggregate.getAverage(IndexedMetric.TEMPERATURE), 1e-9);
+        assertEquals(20, aggregate.getMin(IndexedMetric.TEMPERATURE), 1e-9);
+        assertTrue(service.getUnindexedReportDates(CELL, JUNE_1, JUNE_1.plusDays(3)).isEmpty());
+    }
+
+    @Test
+    void batchSavesSkipStoredDaysUnlessOverwriting() {
+        LocalStorageService service = new LocalStorageService(storage);
+        service.saveWeatherReport(CELL, JUNE_1, report(JUNE_1, 10));
+
+        int written = service.saveWeatherReports(CELL,
+                Arrays.asList(report(JUNE_1, 30), report(JUNE_1.plusDays(1), 30)), false);
+
+        assertEquals(1, written);
+        assertEquals(10, service.getWeatherReport(CELL, JUNE_1).get().getHighTemp(), 1e-9);
+        assertEquals(2, service.getReportAggregates(CELL, JUNE_1, JUNE_1.plusDays(1)).getCount());
+
+        assertEquals(2, service.saveWeatherReports(CELL,
+                Arrays.asList(report(JUNE_1, 30), report(JUNE_1.plusDays(1), 30)), true));
+        assertEquals(30, service.getReportAggregates(CELL, JUNE_1, JUNE_1).getMax(IndexedMetric.TEMPERATURE), 1e-9);
+    }
+
+    private void writeLegacyReport(LocalDate date, double temperature) throws IOException {
+        String json = "{\"location\":\"" + CELL + "\",\"date\":\"" + date + "\",\"highTemp\":" + temperature
+                + ",\"lowTemp\":" + temperature + ",\"humidity\":50.0,\"windSpeed\":3.0,"
+                + "\"windDirection\":\"N\",\"precipitationChance\":10.0}";
+        Files.write(storage.resolve("reports").resolve(CELL + "_" + date + ".json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static WeatherReport report(LocalDate date, double temperature) {
+        WeatherReport report = new WeatherReport();
+        report.setLocation(CELL);
+        report.setDate(date);
+        report.setHighTemp(temperature);
+        report.setLowTemp(temperature);
+        report.setHumidity(50);
+        report.setWindSpeed(3);
+        report.setWindDirection("N");
+        report.setPrecipitationChance(10);
+        return report;
+    }
+}
@@ -0,0 +1,106 @@
+package com.weather.benchmarks.alert;
+
+import com.weather.alert.evaluation.AlertMatchIndex;
+import com.weather.alert.evaluation.CompiledAlert;
+import com.weather.alert.evaluation.WeatherField;
+import com.weather.common.model.Alert;
+import com.weather.common.model.Condition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Matching one weather snapshot against every alert in a cell: brute force over compiled
+// alerts versus the sorted threshold index. Thresholds are spread so only a few percent of
+// alerts fire, which is the realistic case the index is built for.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AlertMatchingBenchmark {
+    private static final String CELL = "gh-dr5re";
+    private static final String[] PARAMETERS = {"temperature", "precipitation", "wind", "humidity"};
+    private static final String[] OPERATORS = {">", ">=", "<", "<=", "between"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int alerts;
+
+    private List<CompiledAlert> compiled;
+    private AlertMatchIndex index;
+    private double[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        compiled = new ArrayList<>(alerts);
+        for (int i = 0; i < alerts; i++) {
+            Alert alert = new Alert();
+            alert.setId(UUID.randomUUID().toString());
+            alert.setCell(CELL);
+            alert.setActive(true);
+            alert.setCombinator(random.nextInt(3) == 0 ? "OR" : "AND");
+            List<Condition> conditions = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            for (int c = 0; c < count; c++) {
+                conditions.add(randomCondition(random));
+            }
+            alert.setConditions(conditions);
+            compiled.add(CompiledAlert.compile(alert));
+        }
+        index = new AlertMatchIndex();
+        index.addAll(compiled);
+
+        values = new double[WeatherField.COUNT];
+        values[WeatherField.TEMPERATURE.ordinal()] = 21;
+        values[WeatherField.PRECIPITATION.ordinal()] = 40;
+        values[WeatherField.WIND.ordinal()] = 6;
+        values[WeatherField.HUMIDITY.ordinal()] = 55;
+    }
+
+    // Thresholds cluster away from the snapshot so most conditions are false
+    private Condition randomCondition(Random random) {
+        Condition condition = new Condition();
+        condition.setParameter(PARAMETERS[random.nextInt(PARAMETERS.length)]);
+        condition.setOperator(OPERATORS[random.nextInt(OPERATORS.length)]);
+        double scale = "temperature".equals(condition.getParameter()) ? 1 : 2;
+        boolean upper = condition.getOperator().startsWith(">")
+                || ("between".equals(condition.getOperator()) && random.nextBoolean());
+        double offset = (5 + random.nextDouble() * 40) * scale;
+        condition.setThreshold(upper ? 21 * scale + offset : 21 * scale - offset);
+        if ("between".equals(condition.getOperator())) {
+            condition.setUpperThreshold(condition.getThreshold() + random.nextDouble() * 10);
+        }
+        return condition;
+    }
+
+    @Benchmark
+    public void bruteForce(Blackhole blackhole) {
+        for (CompiledAlert alert : compiled) {
+            if (alert.matches(values)) {
+                blackhole.consume(alert);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<CompiledAlert> thresholdIndex() {
+        return index.match(CELL, values);
+    }
+}
@@ -0,0 +1,148 @@
+package com.weather.benchmarks.alert;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Opens and holds many alert stream subscribers against one alert-service node and reports
+// how many stay connected and how many frames they receive. Run it with:
+//   java -cp weather-benchmarks/target/benchmarks.jar com.weather.benchmarks.alert.WebSocketLoadDriver \
+//     --connections=50000 --hosts=127.0.0.1,127.0.0.2,127.0.0.3 --duration=300 [--locations=gh-dr5rs]
+// One client address only has ~28k ephemeral ports per destination, so 50k subscribers need
+// at least two loopback destinations (every 127.x address reaches a server bound to 0.0.0.0).
+// Both sides also need a file descriptor limit above the connection count (ulimit -n).
+public class WebSocketLoadDriver {
+    private final AtomicLong open = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong pings = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        new WebSocketLoadDriver().run(
+                Integer.parseInt(options.getOrDefault("connections", "50000")),
+                options.getOrDefault("hosts", "127.0.0.1").split(","),
+                Integer.parseInt(options.getOrDefault("port", "8083")),
+                options.getOrDefault("path", "/api/alerts/ws"),
+                options.getOrDefault("locations", "").split(","),
+                Integer.parseInt(options.getOrDefault("cells", "1000")),
+                Integer.parseInt(options.getOrDefault("handshakes", "500")),
+                Integer.parseInt(options.getOrDefault("clients", "16")),
+                Integer.parseInt(options.getOrDefault("duration", "120")));
+    }
+
+    private void run(int connections, String[] hosts, int port, String path, String[] locations, int cells,
+                     int maxHandshakes, int clientCount, int durationSeconds) throws Exception {
+        // Several clients spread the selector work; each subscriber follows one cell, taken from
+        // --locations when given so real alerts reach them, otherwise a synthetic one
+        List<HttpClient> clients = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++) {
+            clients.add(HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newFixedThreadPool(2))
+                    .build());
+        }
+        List<WebSocket> sockets = new ArrayList<>(connections);
+        Semaphore handshakes = new Semaphore(maxHandshakes);
+        long rampStart = System.nanoTime();
+
+        for (int i = 0; i < connections; i++) {
+            String location = locations[0].isEmpty() ? "load-" + (i % cells) : locations[i % locations.length];
+            URI uri = URI.create(String.format("ws://%s:%d%s?locations=%s",
+                    hosts[i % hosts.length], port, path, location));
+            handshakes.acquire();
+            CompletableFuture<WebSocket> connect = clients.get(i % clients.size())
+                    .newWebSocketBuilder()
+                    .buildAsync(uri, new Listener());
+            connect.whenComplete((socket, error) -> {
+                handshakes.release();
+                if (error != null) {
+                    failed.incrementAndGet();
+                } else {
+                    open.incrementAndGet();
+                    synchronized (sockets) {
+                        sockets.add(socket);
+                    }
+                }
+            });
+            if ((i + 1) % 5000 == 0) {
+                report("ramp", rampStart);
+            }
+        }
+        handshakes.acquire(maxHandshakes);
+        report("connected", rampStart);
+
+        long holdStart = System.nanoTime();
+        long end = holdStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (System.nanoTime() < end) {
+            Thread.sleep(5000);
+            report("hold", holdStart);
+        }
+
+        synchronized (sockets) {
+            for (WebSocket socket : sockets) {
+                socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+            }
+        }
+        report("done", holdStart);
+        System.exit(0);
+    }
+
+    private void report(String phase, long since) {
+        System.out.printf("%-9s t=%5.1fs open=%d failed=%d closed=%d frames=%d pings=%d%n",
+                phase, (System.nanoTime() - since) / 1e9,
+                open.get() - closed.get(), failed.get(), closed.get(), frames.get(), pings.get());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private class Listener implements WebSocket.Listener {
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (last) {
+                frames.incrementAndGet();
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onPing(WebSocket webSocket, ByteBuffer message) {
+            pings.incrementAndGet();
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.weather.benchmarks.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherReportChange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// JSON against Smile for the bodies of the internal hops: a statistics range fetch (one report
+// per day), the alert service's current-weather fetch, and a report change event. Mappers are
+// built the way Spring MVC's converters build theirs. The encoded sizes per hop are printed at
+// setup, since the bytes on the wire are half of the comparison. Smile's gain comes from
+// back-referencing repeated field names, so it grows with the number of reports per body.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCodecBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 6, 1);
+
+    @Param({"range-365", "range-31", "current", "change"})
+    public String hop;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+    private Object payload;
+    private Class<?> type;
+    private byte[] jsonBytes;
+    private byte[] smileBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        switch (hop) {
+            case "range-365" -> {
+                payload = range(365);
+                type = WeatherReport[].class;
+            }
+            case "range-31" -> {
+                payload = range(31);
+                type = WeatherReport[].class;
+            }
+            case "current" -> {
+                payload = report(0);
+                type = WeatherReport.class;
+            }
+            case "change" -> {
+                payload = new WeatherReportChange("dr5re", FIRST_DAY, report(0));
+                type = WeatherReportChange.class;
+            }
+            default -> throw new IllegalArgumentException("Unknown hop " + hop);
+        }
+        jsonBytes = json.writeValueAsBytes(payload);
+        smileBytes = smile.writeValueAsBytes(payload);
+        System.out.printf(Locale.ROOT, "%n%s: JSON %d bytes, Smile %d bytes (%+.0f%%)%n", hop,
+                jsonBytes.length, smileBytes.length, 100.0 * (smileBytes.length - jsonBytes.length) / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return json.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws Exception {
+        return smile.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws Exception {
+        return json.readValue(jsonBytes, type);
+    }
+
+    @Benchmark
+    public Object decodeSmile() throws Exception {
+        return smile.readValue(smileBytes, type);
+    }
+
+    private static WeatherReport[] range(int days) {
+        WeatherReport[] reports = new WeatherReport[days];
+        for (int i = 0; i < days; i++) {
+            reports[i] = report(i);
+        }
+        return reports;
+    }
+
+    private static WeatherReport report(int day) {
+        WeatherReport report = new WeatherReport();
+        report.setLocation("10001");
+        report.setDate(FIRST_DAY.plusDays(day));
+        report.setHighTemp(22.4 + 6 * Math.sin(day / 9.0));
+        report.setLowTemp(13.1 + 5 * Math.sin(day / 9.0));
+        report.setHumidity(40 + day % 50);
+        report.setWindSpeed(3.2 + (day % 7) * 0.85);
+        report.setWindDirection(new String[] {"N", "NE", "E", "SE", "S", "SW", "W", "NW"}[day % 8]);
+        report.setPrecipitationChance((day * 17) % 100);
+        return report;
+    }
+}
@@ -0,0 +1,98 @@
+package com.weather.benchmarks.report;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.common.model.WeatherReport;
+import com.weather.provider.model.OpenWeatherResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Turning an OpenWeather 5-day/3-hour forecast (40 entries, full upstream field set) into the
+// report for one day, as WeatherReportService does for every missing day of a range. report-service
+// is a repackaged Boot jar and can't be depended on, so map() mirrors its mapToWeatherReport.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForecastMappingBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 6, 1);
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private byte[] payload;
+    private OpenWeatherResponse response;
+    private LocalDate lastDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        StringBuilder json = new StringBuilder("{\"cod\":\"200\",\"message\":0,\"cnt\":40,\"list\":[");
+        LocalDateTime time = FIRST_DAY.atStartOfDay();
+        for (int i = 0; i < 40; i++, time = time.plusHours(3)) {
+            if (i > 0) {
+                json.append(',');
+            }
+            double temp = 18 + 6 * Math.sin(i / 2.5);
+            json.append(String.format(Locale.ROOT,
+                    "{\"dt\":%d,\"main\":{\"temp\":%.2f,\"feels_like\":%.2f,\"temp_min\":%.2f,\"temp_max\":%.2f,"
+                            + "\"pressure\":1014,\"sea_level\":1014,\"grnd_level\":1009,\"humidity\":%d,\"temp_kf\":0},"
+                            + "\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],"
+                            + "\"clouds\":{\"all\":75},\"wind\":{\"speed\":%.2f,\"deg\":%d,\"gust\":%.2f},"
+                            + "\"visibility\":10000,\"pop\":0.4,%s\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"%s\"}",
+                    1717200000L + i * 10800L, temp, temp - 1, temp - 2, temp + 2, 50 + i % 40,
+                    3 + (i % 7) * 0.8, (i * 37) % 360, 5 + (i % 5) * 1.1,
+                    i % 4 == 0 ? "\"rain\":{\"3h\":0.42}," : "",
+                    time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
+        }
+        json.append("],\"city\":{\"id\":5128581,\"name\":\"New York\",\"coord\":{\"lat\":40.7143,\"lon\":-74.006},"
+                + "\"country\":\"US\",\"population\":8175133,\"timezone\":-14400}}");
+        payload = json.toString().getBytes("UTF-8");
+        response = mapper.readValue(payload, OpenWeatherResponse.class);
+        lastDay = FIRST_DAY.plusDays(4);
+    }
+
+    @Benchmark
+    public WeatherReport map() {
+        return map(response, "gh-dr5re", lastDay);
+    }
+
+    // Parsing dominates: this is the cost per upstream response, before any day is mapped
+    @Benchmark
+    public WeatherReport parseAndMap() throws Exception {
+        OpenWeatherResponse parsed = mapper.readValue(payload, OpenWeatherResponse.class);
+        return map(parsed, "gh-dr5re", lastDay);
+    }
+
+    private static WeatherReport map(OpenWeatherResponse response, String location, LocalDate date) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        OpenWeatherResponse.WeatherData weatherData = response.getList().stream()
+                .filter(data -> LocalDateTime.parse(data.getDtTxt(), formatter).toLocalDate().equals(date))
+                .findFirst()
+                .orElse(response.getList().get(0));
+        WeatherReport report = new WeatherReport();
+        report.setLocation(location);
+        report.setDate(date);
+        report.setHighTemp(weatherData.getMain().getHighTemp());
+        report.setLowTemp(weatherData.getMain().getLowTemp());
+        report.setHumidity(weatherData.getMain().getHumidity());
+        report.setWindSpeed(weatherData.getWind().getSpeed());
+        report.setPrecipitationChance(weatherData.getRain() != null && weatherData.getRain().getThreeHours() > 0 ? 100.0 : 0.0);
+        return report;
+    }
+}
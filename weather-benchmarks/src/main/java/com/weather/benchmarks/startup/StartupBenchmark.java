@@ -0,0 +1,159 @@
+package com.weather.benchmarks.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Starts each service through scripts/fast-start.sh, with FAST_START=off and on, and reports the
+// time from launch until the first request is answered and the resident set size at that point.
+// Both modes run the same extracted jar, so the difference is AOT, the CDS archive and lazy
+// initialization. Build with -Pfast-start first, stop any running services, then from the root:
+//   java -cp weather-benchmarks/target/benchmarks.jar com.weather.benchmarks.startup.StartupBenchmark \
+//     [--services=storage-service,report-service] [--rounds=5]
+// RSS is read from /proc, so that column is Linux only. The probes are each service's cheapest
+// local endpoint; with lazy initialization on, beans a probe doesn't touch are still pending.
+public class StartupBenchmark {
+    private static final Map<String, String> PROBES = new LinkedHashMap<>();
+
+    static {
+        PROBES.put("api-gateway", "http://localhost:8080/api/gateway/admission");
+        PROBES.put("report-service", "http://localhost:8081/actuator/health");
+        PROBES.put("statistics-service", "http://localhost:8082/actuator/health");
+        PROBES.put("alert-service", "http://localhost:8083/api/alerts/engine");
+        PROBES.put("provider-service", "http://localhost:8084/api/provider/backends");
+        PROBES.put("storage-service", "http://localhost:8085/api/storage/cache/size");
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final Path logs;
+    private final Duration timeout;
+
+    StartupBenchmark(Path logs, Duration timeout) {
+        this.logs = logs;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<String> services = Arrays.asList(options.getOrDefault("services", String.join(",", PROBES.keySet())).split(","));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+        Path logs = Path.of(options.getOrDefault("logs", "startup-logs"));
+        Files.createDirectories(logs);
+        StartupBenchmark benchmark = new StartupBenchmark(logs,
+                Duration.ofSeconds(Integer.parseInt(options.getOrDefault("timeout", "120"))));
+
+        System.out.printf("%-20s %-5s %12s %12s %10s%n", "service", "mode", "median ms", "best ms", "RSS MB");
+        for (String service : services) {
+            if (!PROBES.containsKey(service)) {
+                throw new IllegalArgumentException("Unknown service " + service + "; one of " + PROBES.keySet());
+            }
+            String[] modes = {"off", "on"};
+            long[][] millis = new long[modes.length][rounds];
+            long[][] rss = new long[modes.length][rounds];
+            // Modes alternate round by round so drift on the machine lands on both alike
+            for (int round = 0; round < rounds; round++) {
+                for (int m = 0; m < modes.length; m++) {
+                    long[] sample = benchmark.start(service, modes[m], round);
+                    millis[m][round] = sample[0];
+                    rss[m][round] = sample[1];
+                }
+            }
+            double[] medians = new double[modes.length];
+            for (int m = 0; m < modes.length; m++) {
+                Arrays.sort(millis[m]);
+                Arrays.sort(rss[m]);
+                medians[m] = median(millis[m]);
+                System.out.printf(Locale.ROOT, "%-20s %-5s %12.0f %12d %10.1f%n", service, modes[m],
+                        medians[m], millis[m][0], median(rss[m]) / 1024.0);
+            }
+            System.out.printf(Locale.ROOT, "%-20s %-5s %11.2fx%n", service, "gain", medians[0] / medians[1]);
+        }
+    }
+
+    // Returns {milliseconds to first response, RSS in KB at that point}
+    private long[] start(String service, String mode, int round) throws Exception {
+        URI probe = URI.create(PROBES.get(service));
+        ProcessBuilder builder = new ProcessBuilder("scripts/fast-start.sh", service)
+                .redirectErrorStream(true)
+                .redirectOutput(logs.resolve(service + "-" + mode + "-" + round + ".log").toFile());
+        builder.environment().put("FAST_START", mode);
+        // The provider only needs a key to start; requests to OpenWeather aren't part of this
+        builder.environment().putIfAbsent("OW_API_KEY", "startup-benchmark");
+
+        long started = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (!answered(probe)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(service + " exited with " + process.exitValue()
+                            + "; see " + logs.resolve(service + "-" + mode + "-" + round + ".log"));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(service + " did not answer " + probe + " within " + timeout);
+                }
+                Thread.sleep(10);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new long[] {millis, residentKilobytes(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Any status counts: a 401 or 404 still means the server is up and serving requests
+    private boolean answered(URI probe) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long residentKilobytes(long pid) {
+        File status = new File("/proc/" + pid + "/status");
+        try {
+            for (String line : Files.readAllLines(status.toPath())) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException e) {
+            // Not Linux, or the process has gone
+        }
+        return 0;
+    }
+
+    private static double median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,86 @@
+package com.weather.benchmarks.statistics;
+
+import com.weather.common.model.WeatherReport;
+import com.weather.statistics.kernel.ReportColumns;
+import com.weather.statistics.kernel.ScalarStatisticsKernel;
+import com.weather.statistics.kernel.StatisticsKernel;
+import com.weather.statistics.kernel.StatisticsKernels;
+import com.weather.storage.index.RangeAggregate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares the original one-stream-per-metric averages with the fused columnar kernels. The vector
+// kernel falls back to scalar unless statistics-service was built with -Pvector.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+public class StatisticsKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    private List<WeatherReport> reports;
+    private ReportColumns columns;
+    private StatisticsKernel scalarKernel;
+    private StatisticsKernel vectorKernel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        reports = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            WeatherReport report = new WeatherReport();
+            report.setHighTemp(10 + random.nextDouble() * 25);
+            report.setLowTemp(-5 + random.nextDouble() * 20);
+            report.setPrecipitationChance(random.nextDouble() * 100);
+            report.setWindSpeed(random.nextDouble() * 20);
+            report.setHumidity(random.nextDouble() * 100);
+            reports.add(report);
+        }
+        columns = ReportColumns.of(reports);
+        scalarKernel = new ScalarStatisticsKernel();
+        vectorKernel = StatisticsKernels.select(true);
+    }
+
+    @Benchmark
+    public void streamAverages(Blackhole blackhole) {
+        blackhole.consume(reports.stream().mapToDouble(r -> (r.getHighTemp() + r.getLowTemp()) / 2).average().orElse(0.0));
+        blackhole.consume(reports.stream().mapToDouble(WeatherReport::getPrecipitationChance).average().orElse(0.0));
+        blackhole.consume(reports.stream().mapToDouble(WeatherReport::getWindSpeed).average().orElse(0.0));
+        blackhole.consume(reports.stream().mapToDouble(WeatherReport::getHumidity).average().orElse(0.0));
+    }
+
+    @Benchmark
+    public RangeAggregate scalarKernelIncludingColumnarConversion() {
+        return scalarKernel.aggregate(ReportColumns.of(reports));
+    }
+
+    @Benchmark
+    public RangeAggregate scalarKernel() {
+        return scalarKernel.aggregate(columns);
+    }
+
+    @Benchmark
+    public RangeAggregate vectorKernel() {
+        return vectorKernel.aggregate(columns);
+    }
+}
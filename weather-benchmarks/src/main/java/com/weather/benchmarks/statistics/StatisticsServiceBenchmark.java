@@ -0,0 +1,95 @@
+package com.weather.benchmarks.statistics;
+
+import com.weather.benchmarks.StorageFiles;
+import com.weather.common.geo.GeoGrid;
+import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherStatistics;
+import com.weather.statistics.kernel.StatisticsKernels;
+import com.weather.statistics.service.StatisticsMeters;
+import com.weather.statistics.service.StatisticsService;
+import com.weather.storage.service.LocalStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end StatisticsService aggregation over stored, indexed reports, so no report-service
+// fetch is involved: averages alone and with the percentile sketches merged in
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class StatisticsServiceBenchmark {
+    private static final String CELL = "gh-dr5re";
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final List<String> AVERAGES = Arrays.asList("temps", "precipitate", "wind", "humidity");
+    private static final List<String> PERCENTILES = Arrays.asList("temps", "temps_percentiles", "wind_percentiles");
+
+    @Param({"30", "365", "3650"})
+    private int days;
+
+    private Path root;
+    private ExecutorService fetchExecutor;
+    private StatisticsService statisticsService;
+    private LocalDate end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        root = StorageFiles.createRoot("statistics-service-bench");
+        LocalStorageService storage = new LocalStorageService(root);
+        Random random = new Random(42);
+        end = START.plusDays(days - 1);
+        for (LocalDate date = START; !date.isAfter(end); date = date.plusDays(1)) {
+            WeatherReport report = new WeatherReport();
+            report.setLocation(CELL);
+            report.setDate(date);
+            report.setHighTemp(10 + random.nextGaussian() * 8);
+            report.setLowTemp(report.getHighTemp() - 4 - random.nextDouble() * 6);
+            report.setHumidity(30 + random.nextDouble() * 60);
+            report.setWindSpeed(random.nextDouble() * 15);
+            report.setPrecipitationChance(random.nextInt(3) == 0 ? 100.0 : 0.0);
+            storage.saveWeatherReport(CELL, date, report);
+        }
+        fetchExecutor = Executors.newFixedThreadPool(2);
+        statisticsService = new StatisticsService(new RestTemplate(), storage, new GeoGrid(5),
+                fetchExecutor, StatisticsKernels.select(true), new StatisticsMeters(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fetchExecutor.shutdownNow();
+        StorageFiles.delete(root);
+    }
+
+    @Benchmark
+    public WeatherStatistics averages() {
+        return statisticsService.calculateStatistics(CELL, START, end, AVERAGES);
+    }
+
+    @Benchmark
+    public WeatherStatistics withPercentiles() {
+        return statisticsService.calculateStatistics(CELL, START, end, PERCENTILES);
+    }
+}
@@ -0,0 +1,171 @@
+package com.weather.benchmarks.storage;
+
+import com.weather.benchmarks.StorageFiles;
+import com.weather.common.model.Alert;
+import com.weather.common.model.AlertNotification;
+import com.weather.common.model.Condition;
+import com.weather.common.model.LocationCell;
+import com.weather.common.model.WeatherReport;
+import com.weather.common.model.WeatherStatistics;
+import com.weather.storage.service.LocalStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Single-record save and get for each record type LocalStorageService stores. Keys rotate
+// over a pre-populated pool so reads always hit an existing file and writes overwrite one.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageRecordBenchmark {
+    private static final int POOL = 1024;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private Path root;
+    private LocalStorageService storage;
+    private WeatherReport[] reports;
+    private Alert[] alerts;
+    private AlertNotification[] notifications;
+    private WeatherStatistics statistics;
+    private LocationCell[] locations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        root = StorageFiles.createRoot("storage-record-bench");
+        storage = new LocalStorageService(root);
+        reports = new WeatherReport[POOL];
+        alerts = new Alert[POOL];
+        notifications = new AlertNotification[POOL];
+        locations = new LocationCell[POOL];
+        for (int i = 0; i < POOL; i++) {
+            reports[i] = report(START.plusDays(i), i);
+            storage.saveWeatherReport("gh-dr5re", reports[i].getDate(), reports[i]);
+            alerts[i] = alert("alert-" + i);
+            storage.saveAlert(alerts[i]);
+            notifications[i] = AlertNotification.builder()
+                    .id("notification-" + i)
+                    .alertId(alerts[i].getId())
+                    .cell("gh-dr5re")
+                    .message("Temperature 31.0 is above 30.0")
+                    .timestamp(LocalDateTime.of(2024, 6, 1, 12, 0))
+                    .build();
+            storage.saveNotification(notifications[i]);
+            locations[i] = new LocationCell("location " + i, 40.7, -74.0, "gh-dr5re");
+            storage.saveLocationCell(locations[i]);
+        }
+        statistics = new WeatherStatistics();
+        statistics.setLocation("gh-dr5re");
+        statistics.setStartDate(START);
+        statistics.setEndDate(START.plusDays(POOL - 1));
+        statistics.setAverageTemperature(14.2);
+        statistics.setCalculated(LocalDateTime.of(2024, 6, 1, 12, 0));
+        for (int i = 0; i < POOL; i++) {
+            storage.saveStatistics("gh-dr5re", START, START.plusDays(i), statistics);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StorageFiles.delete(root);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (POOL - 1);
+        return next;
+    }
+
+    @Benchmark
+    public void saveWeatherReport() {
+        WeatherReport report = reports[nextIndex()];
+        storage.saveWeatherReport("gh-dr5re", report.getDate(), report);
+    }
+
+    @Benchmark
+    public Optional<WeatherReport> getWeatherReport() {
+        return storage.getWeatherReport("gh-dr5re", START.plusDays(nextIndex()));
+    }
+
+    @Benchmark
+    public void saveAlert() {
+        storage.saveAlert(alerts[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<Alert> getAlert() {
+        return storage.getAlert("alert-" + nextIndex());
+    }
+
+    @Benchmark
+    public void saveNotification() {
+        storage.saveNotification(notifications[nextIndex()]);
+    }
+
+    @Benchmark
+    public void saveStatistics() {
+        storage.saveStatistics("gh-dr5re", START, START.plusDays(nextIndex()), statistics);
+    }
+
+    @Benchmark
+    public Optional<WeatherStatistics> getStatistics() {
+        return storage.getStatistics("gh-dr5re", START, START.plusDays(nextIndex()));
+    }
+
+    @Benchmark
+    public void saveLocationCell() {
+        storage.saveLocationCell(locations[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<LocationCell> getLocationCell() {
+        return storage.getLocationCell("location " + nextIndex());
+    }
+
+    static WeatherReport report(LocalDate date, int seed) {
+        WeatherReport report = new WeatherReport();
+        report.setLocation("gh-dr5re");
+        report.setDate(date);
+        report.setHighTemp(10 + seed % 20);
+        report.setLowTemp(seed % 15);
+        report.setHumidity(40 + seed % 50);
+        report.setWindSpeed(seed % 12);
+        report.setPrecipitationChance(seed % 3 == 0 ? 100.0 : 0.0);
+        return report;
+    }
+
+    static Alert alert(String id) {
+        Condition condition = new Condition();
+        condition.setParameter("temperature");
+        condition.setOperator(">");
+        condition.setThreshold(30.0);
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setConditions(Collections.singletonList(condition));
+        alert.setCombinator("AND");
+        alert.setActive(true);
+        alert.setCreated(LocalDateTime.of(2024, 6, 1, 12, 0));
+        alert.setCell("gh-dr5re");
+        alert.setLatitude(40.7);
+        alert.setLongitude(-74.0);
+        return alert;
+    }
+}
@@ -0,0 +1,99 @@
+package com.weather.benchmarks.storage;
+
+import com.weather.benchmarks.StorageFiles;
+import com.weather.common.model.Alert;
+import com.weather.common.model.AlertNotification;
+import com.weather.storage.service.LocalStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full-directory reads: getActiveAlerts and getNotifications parse every file on each call.
+// The default sizes keep a run within a few GB of scratch disk; the million-file case is
+//   java -jar weather-benchmarks/target/benchmarks.jar StorageScan -p files=1000000
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageScanBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AlertFiles {
+        @Param({"1000", "10000", "100000"})
+        private int files;
+
+        private Path root;
+        private LocalStorageService storage;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            root = StorageFiles.createRoot("storage-scan-alerts");
+            storage = new LocalStorageService(root);
+            for (int i = 0; i < files; i++) {
+                Alert alert = StorageRecordBenchmark.alert("alert-" + i);
+                alert.setActive(i % 4 != 0);
+                storage.saveAlert(alert);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            StorageFiles.delete(root);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class NotificationFiles {
+        @Param({"1000", "10000", "100000"})
+        private int files;
+
+        private Path root;
+        private LocalStorageService storage;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            root = StorageFiles.createRoot("storage-scan-notifications");
+            storage = new LocalStorageService(root);
+            for (int i = 0; i < files; i++) {
+                storage.saveNotification(AlertNotification.builder()
+                        .id("notification-" + i)
+                        .alertId("alert-" + (i % 1000))
+                        .cell("gh-dr5re")
+                        .message("Temperature 31.0 is above 30.0")
+                        .timestamp(LocalDateTime.of(2024, 6, 1, 12, 0).plusMinutes(i))
+                        .build());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            StorageFiles.delete(root);
+        }
+    }
+
+    @Benchmark
+    public List<Alert> getActiveAlerts(AlertFiles state) {
+        return state.storage.getActiveAlerts();
+    }
+
+    @Benchmark
+    public List<AlertNotification> getNotifications(NotificationFiles state) {
+        return state.storage.getNotifications();
+    }
+}
@@ -0,0 +1,81 @@
+package com.weather.common.geo;
+
+import java.util.Locale;
+import java.util.Optional;
+
+// Maps coordinates onto canonical geohash cells so nearby locations share
+// upstream fetches, cache entries and storage keys.
+public class GeoGrid {
+    public static final String CELL_PREFIX = "gh-";
+
+    private final int precision;
+
+    public GeoGrid(int precision) {
+        if (precision < 1 || precision > GeoHash.MAX_PRECISION) {
+            throw new IllegalArgumentException("Geo grid precision must be between 1 and " + GeoHash.MAX_PRECISION);
+        }
+        this.precision = precision;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public String cellOf(double latitude, double longitude) {
+        return CELL_PREFIX + GeoHash.encode(latitude, longitude, precision);
+    }
+
+    // Cells of this grid or finer; a coarser cell spans many grid cells, so it names no single one
+    public boolean isCell(String location) {
+        return location != null
+                && location.startsWith(CELL_PREFIX)
+                && location.length() - CELL_PREFIX.length() >= precision
+                && GeoHash.isValid(location.substring(CELL_PREFIX.length()));
+    }
+
+    // Resolves cell ids and "lat,lon" strings; anything else (zip, city name) needs a geocoder
+    public Optional<String> cellOf(String location) {
+        if (location == null) {
+            return Optional.empty();
+        }
+        String trimmed = location.trim().toLowerCase(Locale.ROOT);
+        if (isCell(trimmed)) {
+            String hash = trimmed.substring(CELL_PREFIX.length());
+            // Finer cells are coarsened to the configured grid
+            return Optional.of(hash.length() > precision
+                    ? CELL_PREFIX + hash.substring(0, precision)
+                    : trimmed);
+        }
+        return parseCoordinates(trimmed).map(point -> cellOf(point.getLatitude(), point.getLongitude()));
+    }
+
+    public GeoPoint centerOf(String cell) {
+        if (!isCell(cell)) {
+            throw new IllegalArgumentException("Not a geo cell: " + cell);
+        }
+        double[] bounds = GeoHash.bounds(cell.substring(CELL_PREFIX.length()));
+        return new GeoPoint((bounds[0] + bounds[1]) / 2, (bounds[2] + bounds[3]) / 2);
+    }
+
+    // Cache key for a location: its cell when resolvable, otherwise the normalized name
+    public String key(String location) {
+        return cellOf(location).orElse(location == null ? "" : location.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Optional<GeoPoint> parseCoordinates(String location) {
+        int comma = location.indexOf(',');
+        if (comma < 0 || location.indexOf(',', comma + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            double latitude = Double.parseDouble(location.substring(0, comma).trim());
+            double longitude = Double.parseDouble(location.substring(comma + 1).trim());
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+                return Optional.empty();
+            }
+            return Optional.of(new GeoPoint(latitude, longitude));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
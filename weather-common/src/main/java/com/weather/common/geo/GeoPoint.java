@@ -0,0 +1,13 @@
+package com.weather.common.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoPoint {
+    private double latitude;
+    private double longitude;
+}
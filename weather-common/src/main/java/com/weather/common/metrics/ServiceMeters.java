@@ -0,0 +1,54 @@
+package com.weather.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+// Meter conventions shared by the backend services. Latency timers publish a percentile
+// histogram bounded to 100us..30s, so Prometheus can aggregate quantiles across instances
+// with a fixed, modest number of buckets per series. Meters are built once and kept in
+// fields: Timer.record on a held meter is cheap, a registry lookup per call is not.
+public final class ServiceMeters {
+    private static final Duration MIN_LATENCY = Duration.ofNanos(100_000);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(30);
+
+    private ServiceMeters() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_LATENCY)
+                .maximumExpectedValue(MAX_LATENCY)
+                .register(registry);
+    }
+
+    public static Counter counter(MeterRegistry registry, String name, String description, String... tags) {
+        return Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    // Payload sizes, e.g. bytes read or written per storage operation
+    public static DistributionSummary bytes(MeterRegistry registry, String name, String description, String... tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+    }
+
+    // Per-operation counts, e.g. files visited by one directory scan
+    public static DistributionSummary amounts(MeterRegistry registry, String name, String description, String... tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
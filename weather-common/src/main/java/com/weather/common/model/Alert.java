@@ -15,4 +15,7 @@ public class Alert {
     private List<Condition> conditions;
     private String combinator; // "AND" or "OR"
     private LocalDateTime created;
+    private Double latitude;
+    private Double longitude;
+    private String cell; // geo grid cell the alert is evaluated against
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 public class AlertNotification {
     private String id;
     private String alertId;
+    private String cell; // location the alert is evaluated against
     private String message;
     private LocalDateTime timestamp;
     private boolean acknowledged;
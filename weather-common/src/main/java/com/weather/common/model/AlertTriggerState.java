@@ -0,0 +1,17 @@
+package com.weather.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// The alerts of a cell that are firing and have been notified, so whichever instance owns the
+// cell next carries on without repeating their rising edge
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertTriggerState {
+    private String cell;
+    private Map<String, Long> notifiedAt; // alert id -> epoch millis of its last notification
+}
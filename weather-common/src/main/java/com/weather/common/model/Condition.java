@@ -5,6 +5,7 @@ import lombok.Data;
 @Data
 public class Condition {
     private String parameter;
-    private String operator;
+    private String operator; // >, >=, <, <=, = or between
     private double threshold;
-}
\ No newline at end of file
+    private Double upperThreshold; // only used by between
+}
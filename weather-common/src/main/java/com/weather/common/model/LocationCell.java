@@ -0,0 +1,15 @@
+package com.weather.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationCell {
+    private String location;
+    private double latitude;
+    private double longitude;
+    private String cell;
+}
@@ -0,0 +1,16 @@
+package com.weather.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A service instance's claim to cluster membership, valid until expiresAt (epoch millis)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberLease {
+    private String group;
+    private String instanceId;
+    private String url;
+    private long expiresAt;
+}
@@ -0,0 +1,20 @@
+package com.weather.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricStatistics {
+    private long count;
+    private double average;
+    private double min;
+    private double max;
+    private double variance;
+    // Only set when "<metric>_percentiles" is requested
+    private Double p50;
+    private Double p90;
+    private Double p99;
+}
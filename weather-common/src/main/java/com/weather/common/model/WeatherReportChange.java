@@ -0,0 +1,16 @@
+package com.weather.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+// Published when a report is stored for a grid cell so subscribers can react without polling
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeatherReportChange {
+    private String cell;
+    private LocalDate date;
+    private WeatherReport report;
+}
@@ -1,15 +1,18 @@
 package com.weather.common.model;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Builder(toBuilder = true)
 public class WeatherStatistics {
     private String location;
     private LocalDate startDate;
@@ -19,4 +22,8 @@ public class WeatherStatistics {
     private double averageWindSpeed;
     private double averageHumidity;
     private LocalDateTime calculated;
+    private Map<String, MetricStatistics> metrics; // keyed by requested metric name
+    private long daysRequested;
+    private long daysCovered;
+    private boolean partial; // some days could not be fetched before the deadline
 }
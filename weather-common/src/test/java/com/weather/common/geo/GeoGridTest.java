@@ -0,0 +1,57 @@
+package com.weather.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridTest {
+    private final GeoGrid grid = new GeoGrid(5);
+
+    @Test
+    void coordinatesResolveToTheirCell() {
+        assertEquals(Optional.of("gh-dr5ru"), grid.cellOf("40.7484,-73.9857"));
+        assertEquals(Optional.of("gh-dr5ru"), grid.cellOf(" 40.7484 , -73.9857 "));
+        assertEquals("gh-dr5ru", grid.cellOf(40.7484, -73.9857));
+    }
+
+    @Test
+    void finerCellsAreCoarsenedToTheGrid() {
+        assertEquals(Optional.of("gh-dr5ru"), grid.cellOf("gh-dr5ru7c"));
+        assertEquals(Optional.of("gh-dr5ru"), grid.cellOf("GH-DR5RU"));
+    }
+
+    @Test
+    void coarserCellsAreRejected() {
+        assertFalse(grid.isCell("gh-dr5"));
+        assertEquals(Optional.empty(), grid.cellOf("gh-dr5"));
+        assertThrows(IllegalArgumentException.class, () -> grid.centerOf("gh-dr5"));
+    }
+
+    @Test
+    void namesAndInvalidCoordinatesNeedAGeocoder() {
+        assertEquals(Optional.empty(), grid.cellOf("10001"));
+        assertEquals(Optional.empty(), grid.cellOf("new york"));
+        assertEquals(Optional.empty(), grid.cellOf("91,0"));
+        assertEquals(Optional.empty(), grid.cellOf("1,2,3"));
+        assertEquals(Optional.empty(), grid.cellOf(null));
+        assertEquals("10001", grid.key(" 10001 "));
+    }
+
+    @Test
+    void centerLiesInsideTheCell() {
+        GeoPoint center = grid.centerOf("gh-dr5ru");
+        assertEquals("gh-dr5ru", grid.cellOf(center.getLatitude(), center.getLongitude()));
+        assertTrue(grid.isCell("gh-dr5ru"));
+    }
+
+    @Test
+    void precisionIsBounded() {
+        assertThrows(IllegalArgumentException.class, () -> new GeoGrid(0));
+        assertThrows(IllegalArgumentException.class, () -> new GeoGrid(GeoHash.MAX_PRECISION + 1));
+    }
+}
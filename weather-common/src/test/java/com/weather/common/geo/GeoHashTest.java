@@ -0,0 +1,48 @@
+package com.weather.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownPoints() {
+        assertEquals("dr5ru", GeoHash.encode(40.7484, -73.9857, 5));
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("s0000", GeoHash.encode(0, 0, 5));
+    }
+
+    @Test
+    void boundsContainTheEncodedPoint() {
+        double latitude = -33.8688;
+        double longitude = 151.2093;
+        for (int precision = 1; precision <= GeoHash.MAX_PRECISION; precision++) {
+            double[] bounds = GeoHash.bounds(GeoHash.encode(latitude, longitude, precision));
+            assertTrue(bounds[0] <= latitude && latitude <= bounds[1], "latitude at precision " + precision);
+            assertTrue(bounds[2] <= longitude && longitude <= bounds[3], "longitude at precision " + precision);
+        }
+    }
+
+    @Test
+    void longerHashesRefineShorterOnes() {
+        String hash = GeoHash.encode(51.5074, -0.1278, 9);
+        for (int precision = 1; precision < 9; precision++) {
+            assertEquals(hash.substring(0, precision), GeoHash.encode(51.5074, -0.1278, precision));
+        }
+    }
+
+    @Test
+    void validatesAlphabetAndLength() {
+        assertTrue(GeoHash.isValid("dr5ru"));
+        assertTrue(GeoHash.isValid("DR5RU"));
+        assertFalse(GeoHash.isValid("dr5ra"));
+        assertFalse(GeoHash.isValid(""));
+        assertFalse(GeoHash.isValid("0123456789bcd"));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.bounds("dr5ri"));
+    }
+}
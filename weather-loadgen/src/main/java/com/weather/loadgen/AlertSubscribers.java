@@ -0,0 +1,206 @@
+package com.weather.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// WebSocket clients on the alert stream, as the UI's connectToAlerts opens them, or STOMP clients
+// subscribed to one destination of the /weather-alerts broker. Frames (or STOMP MESSAGE bodies)
+// carry one notification or an array of them; delivery lag is the time from the notification's
+// timestamp to its receipt here, which assumes the services share this machine's clock.
+class AlertSubscribers {
+    private final HttpClient client;
+    private final URI uri;
+    private final String stompDestination; // null on the raw stream
+    private final ObjectMapper mapper;
+    private final List<WebSocket> sockets = new ArrayList<>();
+    private final Histogram deliveryLag = new ConcurrentHistogram(3);
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder disconnects = new LongAdder(); // lost while recording
+    private final LongAdder failedConnects = new LongAdder();
+    private volatile boolean recording;
+
+    private AlertSubscribers(HttpClient client, URI uri, String stompDestination, ObjectMapper mapper) {
+        this.client = client;
+        this.uri = uri;
+        this.stompDestination = stompDestination;
+        this.mapper = mapper;
+    }
+
+    static AlertSubscribers raw(HttpClient client, String target, ObjectMapper mapper) {
+        return new AlertSubscribers(client, URI.create(target.replaceFirst("^http", "ws") + "/api/alerts/ws"), null, mapper);
+    }
+
+    // SockJS also serves plain WebSocket clients at <endpoint>/websocket
+    static AlertSubscribers stomp(HttpClient client, String target, String destination, ObjectMapper mapper) {
+        return new AlertSubscribers(client,
+                URI.create(target.replaceFirst("^http", "ws") + "/weather-alerts/websocket"), destination, mapper);
+    }
+
+    void connect(int count, Duration timeout) throws InterruptedException {
+        List<CompletableFuture<WebSocket>> pending = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pending.add(client.newWebSocketBuilder()
+                    .connectTimeout(timeout)
+                    .buildAsync(uri, new Listener()));
+        }
+        for (CompletableFuture<WebSocket> socket : pending) {
+            try {
+                sockets.add(socket.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (ExecutionException | TimeoutException e) {
+                failedConnects.increment();
+            }
+        }
+    }
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void close() {
+        recording = false;
+        for (WebSocket socket : sockets) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done").exceptionally(e -> null);
+        }
+    }
+
+    int getConnected() {
+        return sockets.size();
+    }
+
+    long getFailedConnects() {
+        return failedConnects.sum();
+    }
+
+    long getDisconnects() {
+        return disconnects.sum();
+    }
+
+    long getFrames() {
+        return frames.sum();
+    }
+
+    long getNotifications() {
+        return notifications.sum();
+    }
+
+    Histogram getDeliveryLag() {
+        return deliveryLag;
+    }
+
+    private void onMessage(String text) {
+        if (!recording) {
+            return;
+        }
+        if (stompDestination != null) {
+            onStompFrames(text);
+            return;
+        }
+        frames.increment();
+        onPayload(text);
+    }
+
+    // One WebSocket message can hold several STOMP frames, each ending in a NUL; only MESSAGE frames count
+    private void onStompFrames(String text) {
+        int start = 0;
+        int end;
+        while ((end = text.indexOf('\0', start)) >= 0) {
+            String frame = text.substring(start, end).replaceFirst("^[\r\n]+", "");
+            start = end + 1;
+            int body = frame.indexOf("\n\n");
+            if (frame.startsWith("MESSAGE\n") && body >= 0) {
+                frames.increment();
+                onPayload(frame.substring(body + 2));
+            }
+        }
+    }
+
+    private void onPayload(String text) {
+        LocalDateTime received = LocalDateTime.now();
+        try {
+            JsonNode payload = mapper.readTree(text);
+            if (payload.isArray()) {
+                for (JsonNode notification : payload) {
+                    onNotification(notification, received);
+                }
+            } else {
+                onNotification(payload, received);
+            }
+        } catch (Exception e) {
+            // Counted as a frame; an unreadable payload has no timestamp to measure
+        }
+    }
+
+    private void onNotification(JsonNode notification, LocalDateTime received) {
+        notifications.increment();
+        JsonNode timestamp = notification.get("timestamp");
+        if (timestamp == null || !timestamp.isTextual()) {
+            return;
+        }
+        try {
+            long lagMicros = Duration.between(LocalDateTime.parse(timestamp.asText()), received).toNanos() / 1000;
+            deliveryLag.recordValue(Math.max(0, lagMicros));
+        } catch (DateTimeParseException e) {
+            // Not an ISO timestamp, so nothing to measure
+        }
+    }
+
+    private class Listener implements WebSocket.Listener {
+        private final StringBuilder partial = new StringBuilder();
+
+        // A STOMP client connects and subscribes before reading; no heart-beats, so none to answer
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            if (stompDestination != null) {
+                webSocket.sendText("CONNECT\naccept-version:1.2\nhost:" + uri.getHost() + "\nheart-beat:0,0\n\n\0", true)
+                        .thenCompose(socket -> socket.sendText("SUBSCRIBE\nid:sub-0\ndestination:" + stompDestination
+                                + "\nack:auto\n\n\0", true))
+                        .exceptionally(e -> null);
+            }
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                onMessage(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (recording) {
+                disconnects.increment();
+            }
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            if (recording) {
+                disconnects.increment();
+            }
+        }
+    }
+}
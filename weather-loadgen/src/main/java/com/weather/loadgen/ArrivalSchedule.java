@@ -0,0 +1,28 @@
+package com.weather.loadgen;
+
+import java.util.SplittableRandom;
+
+// Open-loop arrival times, in nanoseconds from the start of the run. They depend only on the
+// rate, never on how quickly earlier requests completed, so a slow system sees the same offered
+// load as a fast one. Constant spacing is 1/rate; Poisson arrivals have exponentially
+// distributed gaps with the same mean, which gives the bursts real clients produce.
+class ArrivalSchedule {
+    private final double meanIntervalNanos;
+    private final boolean poisson;
+    private final SplittableRandom random;
+    private double next;
+
+    ArrivalSchedule(double ratePerSecond, boolean poisson, SplittableRandom random) {
+        this.meanIntervalNanos = 1_000_000_000.0 / ratePerSecond;
+        this.poisson = poisson;
+        this.random = random;
+    }
+
+    long next() {
+        long arrival = (long) next;
+        next += poisson
+                ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+        return arrival;
+    }
+}
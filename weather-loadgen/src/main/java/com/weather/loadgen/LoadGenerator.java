@@ -0,0 +1,204 @@
+package com.weather.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives the services through the gateway with an open-loop arrival schedule: requests go
+// out at their scheduled times whether or not earlier ones have returned, the way independent
+// users arrive. Typical local run, with every service started and the report service pointed
+// at the stub (--weather.openweather.base-url=http://localhost:8090):
+//   java -jar weather-loadgen/target/loadgen.jar --stub-port=8090 --rate=200 --duration=2m
+// Or start the stub on its own first and run the load separately:
+//   java -jar weather-loadgen/target/loadgen.jar --stub-port=8090 --stub-only
+// The alert service polls every minute by default; run it with --alert.check.interval=5000
+// so alerts created during the run notify the WebSocket subscribers within the run.
+// Subscribers use the raw alert stream through the gateway; --subscriber-protocol=stomp
+// subscribes them to --stomp-destination on the alert service's STOMP endpoint instead.
+// Exits 1 when a step misses its SLO, so runs can gate a build.
+public class LoadGenerator {
+    private static final String USAGE = "Options: --target=http://localhost:8080 --scenario=ui-mix|<file.json> "
+            + "--rate=50 --arrival=poisson|constant --duration=60s --warmup=10s --subscribers=N "
+            + "--subscriber-protocol=raw|stomp --stomp-target=http://localhost:8083 --stomp-destination=/topic/alerts "
+            + "--max-in-flight=2000 --timeout=10s --seed=N --output=loadgen-results "
+            + "--stub-port=N --stub-latency=100ms --stub-jitter=50ms --stub-only";
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        StubUpstream stub = null;
+        if (options.getStubPort() >= 0) {
+            stub = new StubUpstream(options.getStubPort(), options.getStubLatency(), options.getStubJitter());
+            stub.start();
+            System.out.printf("Stub upstream listening on port %d%n", stub.getPort());
+        }
+        if (options.isStubOnly()) {
+            StubUpstream running = stub;
+            Runtime.getRuntime().addShutdownHook(new Thread(running::stop));
+            new CountDownLatch(1).await();
+        }
+
+        boolean passed;
+        try {
+            passed = run(options, stub);
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(LoadOptions options, StubUpstream stub) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Scenario scenario = Scenario.load(options.getScenario(), mapper);
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        RequestFactory requests = new RequestFactory(options.getTarget(), options.getTimeout(), scenario, random, mapper);
+
+        // Responses complete on a small pool; nothing here blocks, so it doesn't bound concurrency
+        ExecutorService responseThreads = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "loadgen-response");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .executor(responseThreads)
+                .build();
+
+        List<StepStats> stats = new ArrayList<>();
+        for (Scenario.Step step : scenario.getSteps()) {
+            stats.add(new StepStats(step.getName()));
+        }
+
+        int subscriberCount = options.getSubscribers() != null ? options.getSubscribers() : scenario.getSubscribers();
+        AlertSubscribers subscribers = null;
+        if (subscriberCount > 0) {
+            subscribers = options.getSubscriberProtocol().equals("stomp")
+                    ? AlertSubscribers.stomp(client, options.getStompTarget(), options.getStompDestination(), mapper)
+                    : AlertSubscribers.raw(client, options.getTarget(), mapper);
+            subscribers.connect(subscriberCount, options.getTimeout());
+            System.out.printf("%d of %d alert subscribers connected%n", subscribers.getConnected(), subscriberCount);
+        }
+
+        System.out.printf("Running %s at %.1f req/s (%s) for %ds after %ds warmup against %s%n",
+                scenario.getName(), options.getRate(), options.getArrival(),
+                options.getDuration().getSeconds(), options.getWarmup().getSeconds(), options.getTarget());
+
+        ArrivalSchedule schedule = new ArrivalSchedule(options.getRate(), options.getArrival().equals("poisson"), random.split());
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(10);
+        long sent = 0;
+        boolean recording = false;
+
+        while (true) {
+            long intended = start + schedule.next();
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!recording && intended >= measureFrom) {
+                recording = true;
+                if (subscribers != null) {
+                    subscribers.startRecording();
+                }
+            }
+            if (intended >= nextProgress) {
+                System.out.printf("%4ds  sent %d, in flight %d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(intended - start), sent, inFlight.get());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+
+            int stepIndex = requests.nextStep();
+            StepStats step = stats.get(stepIndex);
+            boolean measured = recording;
+            HttpRequest request = requests.build(stepIndex);
+            if (request == null) {
+                if (measured) {
+                    step.skip();
+                }
+                continue;
+            }
+            if (inFlight.get() >= options.getMaxInFlight()) {
+                if (measured) {
+                    step.drop();
+                }
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            sent++;
+            String capture = scenario.getSteps().get(stepIndex).getCapture();
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+                long completedAt = System.nanoTime();
+                inFlight.decrementAndGet();
+                int status = error != null ? StepStats.TRANSPORT_ERROR : response.statusCode();
+                if (measured) {
+                    step.record(intended, sentAt, completedAt, status);
+                }
+                if (capture != null && error == null && status < 400) {
+                    captureId(requests, capture, response.body(), mapper);
+                }
+            });
+        }
+
+        // Requests still out after their own timeout have already been recorded as failures
+        long drainDeadline = System.nanoTime() + options.getTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (subscribers != null) {
+            subscribers.close();
+        }
+        responseThreads.shutdownNow();
+
+        LoadReport report = new LoadReport(scenario, stats, subscribers, options.getDuration(),
+                stub != null ? stub.getForecasts() + stub.getGeocodes() : -1);
+        report.print(System.out);
+        Path output = Path.of(options.getOutput());
+        report.write(output, mapper);
+        System.out.printf("Results written to %s%n", output.toAbsolutePath());
+        return report.passed();
+    }
+
+    private static void captureId(RequestFactory requests, String name, byte[] body, ObjectMapper mapper) {
+        try {
+            JsonNode id = mapper.readTree(body).get("id");
+            if (id != null && id.isTextual()) {
+                requests.capture(name, id.asText());
+            }
+        } catch (Exception e) {
+            // Not JSON with an id; nothing to capture
+        }
+    }
+}
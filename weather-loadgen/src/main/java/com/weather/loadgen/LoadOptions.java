@@ -0,0 +1,136 @@
+package com.weather.loadgen;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line options, all given as --name=value
+@Getter
+public class LoadOptions {
+    private String target = "http://localhost:8080";
+    private String scenario = "ui-mix";
+    private double rate = 50; // arrivals per second, across all steps
+    private String arrival = "poisson"; // or constant
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10); // sent but not recorded
+    private Integer subscribers; // overrides the scenario's WebSocket subscriber count
+    private String subscriberProtocol = "raw"; // raw: /api/alerts/ws via target; stomp: /weather-alerts
+    private String stompTarget = "http://localhost:8083"; // the gateway doesn't route STOMP, so straight to the alert service
+    private String stompDestination = "/topic/alerts";
+    private int maxInFlight = 2000; // arrivals beyond this are counted as dropped, not queued
+    private Duration timeout = Duration.ofSeconds(10);
+    private long seed = System.nanoTime();
+    private String output = "loadgen-results";
+    private int stubPort = -1; // starts the stub upstream on this port when set
+    private Duration stubLatency = Duration.ofMillis(100);
+    private Duration stubJitter = Duration.ofMillis(50);
+    private boolean stubOnly; // runs only the stub until interrupted
+
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+
+        LoadOptions options = new LoadOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "target":
+                    options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "scenario":
+                    options.scenario = value;
+                    break;
+                case "rate":
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case "arrival":
+                    if (!value.equals("poisson") && !value.equals("constant")) {
+                        throw new IllegalArgumentException("--arrival must be poisson or constant");
+                    }
+                    options.arrival = value;
+                    break;
+                case "duration":
+                    options.duration = parseDuration(value);
+                    break;
+                case "warmup":
+                    options.warmup = parseDuration(value);
+                    break;
+                case "subscribers":
+                    options.subscribers = Integer.parseInt(value);
+                    break;
+                case "subscriber-protocol":
+                    if (!value.equals("raw") && !value.equals("stomp")) {
+                        throw new IllegalArgumentException("--subscriber-protocol must be raw or stomp");
+                    }
+                    options.subscriberProtocol = value;
+                    break;
+                case "stomp-target":
+                    options.stompTarget = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "stomp-destination":
+                    options.stompDestination = value;
+                    break;
+                case "max-in-flight":
+                    options.maxInFlight = Integer.parseInt(value);
+                    break;
+                case "timeout":
+                    options.timeout = parseDuration(value);
+                    break;
+                case "seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                case "output":
+                    options.output = value;
+                    break;
+                case "stub-port":
+                    options.stubPort = Integer.parseInt(value);
+                    break;
+                case "stub-latency":
+                    options.stubLatency = parseDuration(value);
+                    break;
+                case "stub-jitter":
+                    options.stubJitter = parseDuration(value);
+                    break;
+                case "stub-only":
+                    options.stubOnly = Boolean.parseBoolean(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (options.stubOnly && options.stubPort < 0) {
+            throw new IllegalArgumentException("--stub-only needs --stub-port");
+        }
+        return options;
+    }
+
+    // Accepts 250ms, 30s or 5m
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 1000));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)) * 60);
+        }
+        throw new IllegalArgumentException("Expected a duration like 250ms, 30s or 5m but got " + value);
+    }
+}
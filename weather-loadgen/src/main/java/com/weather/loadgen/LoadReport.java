@@ -0,0 +1,194 @@
+package com.weather.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Percentile tables against each step's SLO, printed and written to the output directory as
+// summary.json plus one HdrHistogram percentile distribution (.hgrm) per step, which
+// HdrHistogram's plotter and the usual hgrm tooling read directly.
+class LoadReport {
+    private final Scenario scenario;
+    private final List<StepStats> steps;
+    private final AlertSubscribers subscribers;
+    private final Duration measured;
+    private final long upstreamCalls;
+    private final List<String> violations = new ArrayList<>();
+
+    LoadReport(Scenario scenario, List<StepStats> steps, AlertSubscribers subscribers,
+               Duration measured, long upstreamCalls) {
+        this.scenario = scenario;
+        this.steps = steps;
+        this.subscribers = subscribers;
+        this.measured = measured;
+        this.upstreamCalls = upstreamCalls;
+        for (int i = 0; i < steps.size(); i++) {
+            StepStats stats = steps.get(i);
+            check(stats.getName(), stats.getResponseTime(), stats.getErrorRate(), scenario.getSteps().get(i).getSlo());
+        }
+        if (subscribers != null) {
+            check("alert-delivery", subscribers.getDeliveryLag(), 0, scenario.getDeliverySlo());
+        }
+    }
+
+    boolean passed() {
+        return violations.isEmpty();
+    }
+
+    void print(PrintStream out) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf(Locale.ROOT, "%nScenario %s, %.0fs measured; response time from scheduled arrival, in ms%n%n",
+                scenario.getName(), seconds);
+        out.printf(Locale.ROOT, "%-18s %9s %8s %8s %8s %8s %8s %8s %8s %8s%n",
+                "step", "requests", "rps", "p50", "p90", "p99", "p99.9", "max", "svc p99", "errors");
+        for (StepStats stats : steps) {
+            Histogram latency = stats.getResponseTime();
+            out.printf(Locale.ROOT, "%-18s %9d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %7.2f%%%n",
+                    stats.getName(), stats.getCompleted(), stats.getCompleted() / seconds,
+                    millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                    latency.getMaxValue() / 1000.0, millis(stats.getServiceTime(), 99),
+                    stats.getErrorRate() * 100);
+        }
+        out.println();
+        for (StepStats stats : steps) {
+            if (stats.getDropped() > 0 || stats.getSkipped() > 0 || stats.getFailed() > 0) {
+                out.printf("%s: statuses %s, dropped %d, skipped %d%n",
+                        stats.getName(), statuses(stats.getStatuses()), stats.getDropped(), stats.getSkipped());
+            }
+        }
+        if (subscribers != null) {
+            Histogram lag = subscribers.getDeliveryLag();
+            out.printf(Locale.ROOT, "alert stream: %d subscribers (%d failed to connect, %d lost), %d frames, "
+                            + "%d notifications, delivery p50 %.1fms p99 %.1fms%n",
+                    subscribers.getConnected(), subscribers.getFailedConnects(), subscribers.getDisconnects(),
+                    subscribers.getFrames(), subscribers.getNotifications(), millis(lag, 50), millis(lag, 99));
+        }
+        if (upstreamCalls >= 0) {
+            out.printf("stub upstream: %d calls%n", upstreamCalls);
+        }
+        out.println();
+        if (violations.isEmpty()) {
+            out.println("All SLOs met");
+        } else {
+            out.println("SLO violations:");
+            violations.forEach(violation -> out.println("  " + violation));
+        }
+    }
+
+    void write(Path directory, ObjectMapper mapper) throws IOException {
+        Files.createDirectories(directory);
+        ObjectNode summary = mapper.createObjectNode();
+        summary.put("scenario", scenario.getName());
+        summary.put("measuredSeconds", measured.toMillis() / 1000.0);
+        summary.put("passed", passed());
+        summary.set("violations", mapper.valueToTree(violations));
+        ArrayNode stepNodes = summary.putArray("steps");
+        for (StepStats stats : steps) {
+            ObjectNode node = stepNodes.addObject();
+            node.put("name", stats.getName());
+            node.put("completed", stats.getCompleted());
+            node.put("failed", stats.getFailed());
+            node.put("dropped", stats.getDropped());
+            node.put("skipped", stats.getSkipped());
+            node.put("errorRate", stats.getErrorRate());
+            node.set("statuses", mapper.valueToTree(statusCounts(stats.getStatuses())));
+            node.set("responseTimeMs", percentiles(stats.getResponseTime(), mapper));
+            node.set("serviceTimeMs", percentiles(stats.getServiceTime(), mapper));
+            writeHgrm(directory.resolve(stats.getName() + ".hgrm"), stats.getResponseTime());
+        }
+        if (subscribers != null) {
+            ObjectNode node = summary.putObject("alertStream");
+            node.put("subscribers", subscribers.getConnected());
+            node.put("failedConnects", subscribers.getFailedConnects());
+            node.put("disconnects", subscribers.getDisconnects());
+            node.put("frames", subscribers.getFrames());
+            node.put("notifications", subscribers.getNotifications());
+            node.set("deliveryLagMs", percentiles(subscribers.getDeliveryLag(), mapper));
+            writeHgrm(directory.resolve("alert-delivery.hgrm"), subscribers.getDeliveryLag());
+        }
+        if (upstreamCalls >= 0) {
+            summary.put("upstreamCalls", upstreamCalls);
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    private void check(String name, Histogram latency, double errorRate, Scenario.Slo slo) {
+        if (slo == null) {
+            return;
+        }
+        checkPercentile(name, latency, 50, slo.getP50());
+        checkPercentile(name, latency, 99, slo.getP99());
+        checkPercentile(name, latency, 99.9, slo.getP999());
+        if (slo.getMaxErrorRate() != null && errorRate > slo.getMaxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "%s error rate %.2f%% > %.2f%%",
+                    name, errorRate * 100, slo.getMaxErrorRate() * 100));
+        }
+    }
+
+    private void checkPercentile(String name, Histogram latency, double percentile, String limit) {
+        if (limit == null || latency.getTotalCount() == 0) {
+            return;
+        }
+        long limitMillis = LoadOptions.parseDuration(limit).toMillis();
+        double actual = millis(latency, percentile);
+        if (actual > limitMillis) {
+            violations.add(String.format(Locale.ROOT, "%s p%s %.1fms > %dms",
+                    name, percentile == 99.9 ? "99.9" : String.valueOf((int) percentile), actual, limitMillis));
+        }
+    }
+
+    private static ObjectNode percentiles(Histogram histogram, ObjectMapper mapper) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("count", histogram.getTotalCount());
+        node.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000.0);
+        node.put("p50", millis(histogram, 50));
+        node.put("p90", millis(histogram, 90));
+        node.put("p99", millis(histogram, 99));
+        node.put("p99.9", millis(histogram, 99.9));
+        node.put("max", histogram.getMaxValue() / 1000.0);
+        return node;
+    }
+
+    private static void writeHgrm(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String statuses(Map<Integer, LongAdder> statuses) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Long> entry : statusCounts(statuses).entrySet()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Long> statusCounts(Map<Integer, LongAdder> statuses) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            counts.put(entry.getKey() == StepStats.TRANSPORT_ERROR ? "transport" : entry.getKey().toString(),
+                    entry.getValue().sum());
+        }
+        return counts;
+    }
+}
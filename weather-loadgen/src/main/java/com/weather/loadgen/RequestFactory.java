@@ -0,0 +1,152 @@
+package com.weather.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Picks the next step by weight and fills in its placeholders:
+//   {location}      one of the scenario's locations
+//   {today}         today's date; {daysAgo:N} the date N days back
+//   {latitude}      a random point in the continental US, with {longitude}
+//   {active}        true or false
+//   {<captured>}    a value an earlier step captured, such as {alertId}
+// Only the dispatcher thread picks and builds requests; captures arrive from response threads.
+class RequestFactory {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z]+)(?::(\\d+))?}");
+    private static final int CAPTURED_PER_NAME = 1024;
+
+    private final String target;
+    private final Duration timeout;
+    private final List<Scenario.Step> steps;
+    private final List<String> locations;
+    private final double[] cumulativeWeights;
+    private final String[] bodies;
+    private final SplittableRandom random;
+    private final Map<String, Captured> captured = new ConcurrentHashMap<>();
+
+    RequestFactory(String target, Duration timeout, Scenario scenario, SplittableRandom random,
+                   ObjectMapper mapper) throws JsonProcessingException {
+        this.target = target;
+        this.timeout = timeout;
+        this.steps = scenario.getSteps();
+        this.locations = scenario.getLocations().isEmpty() ? List.of("10001") : scenario.getLocations();
+        this.random = random;
+
+        cumulativeWeights = new double[steps.size()];
+        bodies = new String[steps.size()];
+        double total = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            total += steps.get(i).getWeight();
+            cumulativeWeights[i] = total;
+            if (steps.get(i).getBody() != null) {
+                bodies[i] = mapper.writeValueAsString(steps.get(i).getBody());
+            }
+        }
+    }
+
+    int nextStep() {
+        double pick = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    // Null when the step needs a captured value that no earlier response has provided yet
+    HttpRequest build(int stepIndex) {
+        Scenario.Step step = steps.get(stepIndex);
+        if (step.getRequires() != null && !captured.containsKey(step.getRequires())) {
+            return null;
+        }
+        Map<String, String> values = new HashMap<>();
+        String path = fill(step.getPath(), values, true);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + path)).timeout(timeout);
+        if (bodies[stepIndex] != null) {
+            request.header("Content-Type", "application/json")
+                    .method(step.getMethod(), HttpRequest.BodyPublishers.ofString(fill(bodies[stepIndex], values, false)));
+        } else {
+            request.method(step.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+        return request.build();
+    }
+
+    void capture(String name, String value) {
+        Captured values = captured.get(name);
+        if (values == null) {
+            // Published only once it holds a value, so build() never sees an empty one
+            values = new Captured();
+            values.add(value);
+            values = captured.putIfAbsent(name, values);
+            if (values == null) {
+                return;
+            }
+        }
+        values.add(value);
+    }
+
+    // Placeholders repeated within one request (path and body) get the same value
+    private String fill(String template, Map<String, String> values, boolean encode) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder filled = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.computeIfAbsent(matcher.group(), key -> resolve(matcher.group(1), matcher.group(2)));
+            matcher.appendReplacement(filled, Matcher.quoteReplacement(
+                    encode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value));
+        }
+        matcher.appendTail(filled);
+        return filled.toString();
+    }
+
+    private String resolve(String name, String argument) {
+        switch (name) {
+            case "location":
+                return locations.get(random.nextInt(locations.size()));
+            case "today":
+                return LocalDate.now().toString();
+            case "daysAgo":
+                return LocalDate.now().minusDays(argument == null ? 0 : Long.parseLong(argument)).toString();
+            case "latitude":
+                return String.format(Locale.ROOT, "%.4f", 25 + random.nextDouble() * 24);
+            case "longitude":
+                return String.format(Locale.ROOT, "%.4f", -124 + random.nextDouble() * 57);
+            case "active":
+                return Boolean.toString(random.nextBoolean());
+            default:
+                Captured values = captured.get(name);
+                if (values == null) {
+                    throw new IllegalArgumentException("Unknown placeholder {" + name + "}");
+                }
+                return values.pick(random);
+        }
+    }
+
+    // The most recent captures for one name, overwritten in a ring
+    private static class Captured {
+        private final String[] values = new String[CAPTURED_PER_NAME];
+        private long written;
+
+        synchronized void add(String value) {
+            values[(int) (written++ % CAPTURED_PER_NAME)] = value;
+        }
+
+        synchronized String pick(SplittableRandom random) {
+            return values[random.nextInt((int) Math.min(written, CAPTURED_PER_NAME))];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.weather.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// A weighted mix of requests, loaded from JSON: a file path, or the name of one of the
+// bundled scripts under scenarios/. Paths and bodies may use the placeholders that
+// RequestFactory fills in per request.
+@Data
+public class Scenario {
+    private String name;
+    private String description;
+    private List<String> locations = new ArrayList<>();
+    private int subscribers; // WebSocket clients listening for alert notifications
+    private Slo slo = new Slo(); // for steps without their own
+    private Slo deliverySlo = new Slo(); // notification timestamp to WebSocket receipt
+    private List<Step> steps = new ArrayList<>();
+
+    @Data
+    public static class Step {
+        private String name;
+        private double weight = 1;
+        private String method = "GET";
+        private String path;
+        private JsonNode body;
+        private String capture; // keeps the response's id under this name for later steps
+        private String requires; // skipped until a value has been captured under this name
+        private Slo slo;
+    }
+
+    @Data
+    public static class Slo {
+        private String p50;
+        private String p99;
+        private String p999;
+        private Double maxErrorRate;
+    }
+
+    static Scenario load(String nameOrPath, ObjectMapper mapper) throws IOException {
+        ObjectMapper reader = mapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+        Scenario scenario;
+        Path file = Path.of(nameOrPath);
+        if (Files.isRegularFile(file)) {
+            scenario = reader.readValue(file.toFile(), Scenario.class);
+        } else {
+            try (InputStream bundled = Scenario.class.getResourceAsStream("/scenarios/" + nameOrPath + ".json")) {
+                if (bundled == null) {
+                    throw new IllegalArgumentException("No scenario file or bundled scenario named " + nameOrPath);
+                }
+                scenario = reader.readValue(bundled, Scenario.class);
+            }
+        }
+
+        if (scenario.getSteps().isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + scenario.getName() + " has no steps");
+        }
+        for (Step step : scenario.getSteps()) {
+            if (step.getName() == null || step.getPath() == null || step.getWeight() <= 0) {
+                throw new IllegalArgumentException("Every step needs a name, a path and a positive weight");
+            }
+            if (step.getSlo() == null) {
+                step.setSlo(scenario.getSlo());
+            }
+        }
+        return scenario;
+    }
+}
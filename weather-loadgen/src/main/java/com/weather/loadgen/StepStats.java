@@ -0,0 +1,87 @@
+package com.weather.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Recorded outcomes of one scenario step after warmup, in microseconds. Response time runs
+// from the request's scheduled arrival, so time spent queued behind a stalled system or a
+// late dispatcher counts against the latency; this is what removes coordinated omission.
+// Service time runs from the actual send and is kept alongside to show the difference.
+class StepStats {
+    static final int TRANSPORT_ERROR = 0; // status key for timeouts and refused connections
+
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, int status) {
+        responseTime.recordValue(Math.max(0, (completedNanos - intendedNanos) / 1000));
+        serviceTime.recordValue(Math.max(0, (completedNanos - sentNanos) / 1000));
+        completed.increment();
+        if (status == TRANSPORT_ERROR || status >= 400) {
+            failed.increment();
+        }
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    // The arrival came while max-in-flight requests were outstanding and was never sent
+    void drop() {
+        dropped.increment();
+    }
+
+    // The step needed a captured value that didn't exist yet
+    void skip() {
+        skipped.increment();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    Map<Integer, LongAdder> getStatuses() {
+        return statuses;
+    }
+
+    // Dropped arrivals count as errors: they are load the system was offered but never served
+    double getErrorRate() {
+        long attempted = getCompleted() + getDropped();
+        return attempted == 0 ? 0 : (double) (getFailed() + getDropped()) / attempted;
+    }
+}
@@ -0,0 +1,133 @@
+package com.weather.loadgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Stands in for the OpenWeather API so load runs never leave the machine. Start the report
+// service with --weather.openweather.base-url=http://localhost:<stub-port>. Serves the 5-day
+// forecast and zip geocoding endpoints with deterministic values per location, after a
+// configurable delay that plays the part of the real upstream's latency.
+class StubUpstream {
+    private static final DateTimeFormatter DT_TXT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final LongAdder forecasts = new LongAdder();
+    private final LongAdder geocodes = new LongAdder();
+
+    StubUpstream(int port, Duration latency, Duration jitter) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.jitterMillis = jitter.toMillis();
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        // Handlers sleep out the simulated latency, so each in-flight request holds a thread
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-upstream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/data/2.5/forecast", this::forecast);
+        server.createContext("/geo/1.0/zip", this::geocode);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    long getForecasts() {
+        return forecasts.sum();
+    }
+
+    long getGeocodes() {
+        return geocodes.sum();
+    }
+
+    private void forecast(HttpExchange exchange) throws IOException {
+        forecasts.increment();
+        String query = exchange.getRequestURI().getRawQuery();
+        int seed = query == null ? 0 : (param(query, "zip") + param(query, "lat") + param(query, "lon")).hashCode();
+
+        StringBuilder json = new StringBuilder("{\"cod\":\"200\",\"message\":0,\"cnt\":40,\"list\":[");
+        LocalDateTime time = LocalDate.now().atStartOfDay();
+        double base = 10 + Math.floorMod(seed, 20);
+        for (int i = 0; i < 40; i++, time = time.plusHours(3)) {
+            if (i > 0) {
+                json.append(',');
+            }
+            double temp = base + 6 * Math.sin(i / 2.5);
+            json.append(String.format(Locale.ROOT,
+                    "{\"dt\":%d,\"main\":{\"temp\":%.2f,\"temp_min\":%.2f,\"temp_max\":%.2f,\"humidity\":%d},"
+                            + "\"wind\":{\"speed\":%.2f,\"deg\":%d},%s\"dt_txt\":\"%s\"}",
+                    1_700_000_000L + i * 10_800L, temp, temp - 2, temp + 2, 40 + Math.floorMod(seed + i, 50),
+                    2 + Math.floorMod(seed + i, 9) * 0.9, Math.floorMod(seed * 31 + i * 37, 360),
+                    Math.floorMod(seed + i, 4) == 0 ? "\"rain\":{\"3h\":0.6}," : "",
+                    time.format(DT_TXT)));
+        }
+        json.append("]}");
+        respond(exchange, json.toString());
+    }
+
+    // Zip codes land on stable points inside the continental US
+    private void geocode(HttpExchange exchange) throws IOException {
+        geocodes.increment();
+        String query = exchange.getRequestURI().getRawQuery();
+        String zip = query == null ? "" : param(query, "zip").split(",")[0];
+        int hash = zip.hashCode();
+        double lat = 30 + Math.floorMod(hash, 1500) / 100.0;
+        double lon = -120 + Math.floorMod(hash / 1500, 4500) / 100.0;
+        respond(exchange, String.format(Locale.ROOT,
+                "{\"zip\":\"%s\",\"name\":\"Stub %s\",\"lat\":%.4f,\"lon\":%.4f,\"country\":\"US\"}",
+                zip, zip, lat, lon));
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        try {
+            long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String param(String query, String name) {
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return "";
+    }
+}
@@ -2,7 +2,12 @@ import React, { useState, useEffect } from "react";
 import { Alert, AlertRequest, Condition, alertService } from "../../services/alertService";
 import { useWebSocket } from "../../hooks/useWebSocket";
 
-const AlertSection = () => {
+interface AlertSectionProps {
+    // Active alerts as loaded with the dashboard; fetched separately until then
+    initialAlerts?: Alert[];
+}
+
+const AlertSection: React.FC<AlertSectionProps> = ({ initialAlerts }) => {
     const [alerts, setAlerts] = useState<Alert[]>([]);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState<string | null>(null);
@@ -35,8 +40,12 @@ const AlertSection = () => {
     }, []);
 
     useEffect(() => {
-        fetchAlerts();
-    }, []);
+        if (initialAlerts) {
+            setAlerts(initialAlerts);
+        } else {
+            fetchAlerts();
+        }
+    }, [initialAlerts]);
 
     useEffect(() => {
         if (messages.length > 0) {
@@ -1,15 +1,18 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { format } from 'date-fns';
 import { weatherService, WeatherStatistics } from '../../services/weatherService';
 
 interface StatisticsSectionProps {
     initialLocation: string;
     initialStartDate: Date;
+    // All four metrics over the last 30 days, as loaded with the dashboard
+    initialStatistics?: WeatherStatistics | null;
 }
 
 const StatisticsSection: React.FC<StatisticsSectionProps> = ({
                                                                  initialLocation,
-                                                                 initialStartDate
+                                                                 initialStartDate,
+                                                                 initialStatistics
                                                              }) => {
     const [selectedMetrics, setSelectedMetrics] = useState<Set<string>>(new Set());
     const [statistics, setStatistics] = useState<WeatherStatistics | null>(null);
@@ -19,6 +22,13 @@ const StatisticsSection: React.FC<StatisticsSectionProps> = ({
     const [startDate, setStartDate] = useState(initialStartDate);
     const [endDate, setEndDate] = useState(new Date());
 
+    useEffect(() => {
+        if (initialStatistics) {
+            setStatistics(initialStatistics);
+            setSelectedMetrics(new Set(['temps', 'precipitate', 'wind', 'humidity']));
+        }
+    }, [initialStatistics]);
+
     const metrics = [
         { id: 'temps', label: 'Temps' },
         { id: 'precipitate', label: 'Precipitate' },
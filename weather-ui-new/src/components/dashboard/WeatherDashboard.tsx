@@ -1,6 +1,6 @@
 ﻿import React, { useState, useEffect } from 'react';
 import { format, addDays } from 'date-fns';
-import { weatherService, WeatherReport } from '../../services/weatherService';
+import { weatherService, WeatherReport, DashboardData } from '../../services/weatherService';
 import AlertSection from './AlertSection';
 import StatisticsSection from './StatisticsSection';
 import axios from "axios";
@@ -140,15 +140,14 @@ const ForecastView: React.FC<ForecastViewProps> = ({ onBack }) => {
 
         try {
             const formattedDate = format(selectedDate, 'yyyy-MM-dd');
-            console.log('Fetching forecast for:', location, formattedDate);
+            console.log('Fetching dashboard for:', location, formattedDate);
 
-            const weeklyForecast = await weatherService.getWeeklyForecast(
-                location,
-                formattedDate
-            );
-            console.log('Response received:', weeklyForecast);
+            // Forecast, statistics and alerts in one gateway round-trip
+            const data = await weatherService.getDashboard(location, formattedDate);
+            console.log('Response received:', data);
 
-            setWeeklyData(weeklyForecast);
+            setWeeklyData(data.forecast);
+            setDashboard(data);
         } catch (error) {
             console.error('Error details:', error);
             if (axios.isAxiosError(error)) {
@@ -167,6 +166,8 @@ const ForecastView: React.FC<ForecastViewProps> = ({ onBack }) => {
     });
 
     const [weeklyData, setWeeklyData] = useState<WeatherReport[]>([]);
+    const [dashboard, setDashboard] = useState<DashboardData | null>(null);
+    const degradedSections = dashboard ? Object.keys(dashboard.degraded) : [];
 
     return (
         <div className="bg-white shadow-lg rounded-lg p-6">
@@ -205,6 +206,12 @@ const ForecastView: React.FC<ForecastViewProps> = ({ onBack }) => {
                 </button>
             </div>
 
+            {degradedSections.length > 0 && (
+                <div className="bg-yellow-100 border border-yellow-400 text-yellow-800 px-4 py-3 rounded mb-4">
+                    Some sections could not be loaded: {degradedSections.join(', ')}
+                </div>
+            )}
+
             {/* Forecast Panel */}
             <div className="grid grid-cols-7 gap-4 p-4">
                 {weekDays.map((day, index) => {
@@ -257,8 +264,9 @@ const ForecastView: React.FC<ForecastViewProps> = ({ onBack }) => {
             </div>
 
             <StatisticsSection initialLocation={location}
-                               initialStartDate={selectedDate} />
-            <AlertSection />
+                               initialStartDate={selectedDate}
+                               initialStatistics={dashboard?.statistics ?? null} />
+            <AlertSection initialAlerts={dashboard?.alerts} />
         </div>
     );
 };
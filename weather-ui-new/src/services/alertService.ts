@@ -26,6 +26,7 @@ export interface AlertRequest {
 export interface AlertNotification {
     id: string;
     alertId: string;
+    cell?: string;
     message: string;
     timestamp: string;
     acknowledged: boolean;
@@ -60,8 +61,9 @@ export const alertService = {
         socket.onopen = () => console.log('Connected to WebSocket');
         socket.onmessage = (event) => {
             try {
-                const notification: AlertNotification = JSON.parse(event.data);
-                onMessage(notification);
+                // Notifications arriving close together are batched into one array frame
+                const payload: AlertNotification | AlertNotification[] = JSON.parse(event.data);
+                (Array.isArray(payload) ? payload : [payload]).forEach(onMessage);
             } catch (error) {
                 console.error('Error parsing WebSocket message', error);
             }
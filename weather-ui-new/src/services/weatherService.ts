@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { Alert, AlertNotification } from './alertService';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -30,7 +31,27 @@ export interface StatisticsRequest {
     metrics: string[];
 }
 
+// Sections that fell back (timeout or error) are listed in `degraded` with the reason
+export interface DashboardData {
+    location: string;
+    date: string;
+    current: WeatherReport | null;
+    forecast: WeatherReport[];
+    statistics: WeatherStatistics | null;
+    alerts: Alert[];
+    notifications: AlertNotification[];
+    degraded: Record<string, string>;
+}
+
 export const weatherService = {
+    // One gateway round-trip for everything the dashboard shows on load
+    getDashboard: async (location: string, date?: string): Promise<DashboardData> => {
+        const response = await axios.get(`${API_BASE_URL}/dashboard`, {
+            params: { location, date }
+        });
+        return response.data;
+    },
+
     getWeatherReport: async (location: string, date: string): Promise<WeatherReport> => {
         const response = await axios.get(`${API_BASE_URL}/weather/report`, {
             params: { location, date }